@@ -0,0 +1,139 @@
+/**
+ * Resizing Array Bag
+ *
+ * @author Cullen Kelley
+ */
+package ds.bag;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Implementation: a bag of the Bag ADT using an array that doubles when full.
+ * Specification: same behavior as FixedCapacityBag, but add never fails; the
+ * initial capacity is only a sizing hint.
+ *
+ * @param <Item> the type of values in the bag
+ */
+public class ResizingArrayBag<Item> implements Bag<Item> {
+
+    /**
+     * Array to store bag items; replaced by a larger copy when full.
+     */
+    private Item[] elements;
+
+    /**
+     * Current size of the bag i.e. number of elements in the bag
+     */
+    private int numberOfElements;
+
+    /**
+     * Constructor: creates an empty bag with the given initial capacity.
+     *
+     * @param initialCapacity the number of items the bag holds before it first
+     * grows
+     * @throws IllegalArgumentException if initialCapacity is negative
+     */
+    @SuppressWarnings("unchecked")
+    public ResizingArrayBag(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity must be non-negative: " + initialCapacity);
+        }
+        elements = (Item[]) new Object[Math.max(1, initialCapacity)];
+        numberOfElements = 0;
+    }
+
+    /**
+     * Default constructor: creates an empty bag with a small initial capacity.
+     */
+    public ResizingArrayBag() {
+        this(4);
+    }
+
+    /**
+     * Returns the number of elements in the bag.
+     *
+     * @return the number of elements in the bag
+     */
+    @Override
+    public int size() {
+        return numberOfElements;
+    }
+
+    /**
+     * Returns true if the bag is empty, false otherwise.
+     *
+     * @return true if the bag is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return numberOfElements == 0;
+    }
+
+    /**
+     * Adds an item to the bag, doubling the array first if it is full
+     * (amortized constant time).
+     *
+     * @param item the item to add
+     */
+    @Override
+    public void add(Item item) {
+        if (numberOfElements == elements.length) {
+            elements = Arrays.copyOf(elements, 2 * elements.length);
+        }
+        elements[numberOfElements++] = item;
+    }
+
+    /**
+     * Returns true if the bag holds exactly one item.
+     *
+     * @return true if the bag is a singleton, false otherwise
+     */
+    @Override
+    public boolean isSingleton() {
+        return numberOfElements == 1;
+    }
+
+    /**
+     * Returns an iterator over the items in insertion order.
+     *
+     * @return an iterator over the items in the bag
+     */
+    @Override
+    public Iterator<Item> iterator() {
+        return new Iterator<Item>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < numberOfElements;
+            }
+
+            @Override
+            public Item next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("No more elements in the bag");
+                }
+                return elements[index++];
+            }
+        };
+    }
+
+    /**
+     * Returns the items as a bracketed, comma-separated list.
+     *
+     * @return string representation of the bag
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("[");
+        for (int i = 0; i < numberOfElements; i++) {
+            if (i > 0) {
+                result.append(", ");
+            }
+            result.append(elements[i]);
+        }
+        return result.append("]").toString();
+    }
+}
@@ -170,6 +170,26 @@ public class TestBags {
         System.out.println("There are " + count + " items that start with a.");
     }
 
+    /**
+     * Description: test ResizingArrayBag by creating a bag with capacity 2 and
+     * adding more items than the initial capacity. Implementation: adds the
+     * integers 1 to 10, STDOUT the bag, its size and the sum of its items to
+     * verify nothing was lost while the array grew.
+     */
+    public static void testResizingArrayBag() {
+        System.out.println("Test 6: Create ResizingArrayBag<Integer> with initial capacity 2 and add 10 items");
+        ResizingArrayBag<Integer> bag = new ResizingArrayBag<>(2);
+        System.out.println("Bag: " + bag.toString() + " | Size: " + bag.size() + " | Is Singleton? " + bag.isSingleton());
+        for (int i = 1; i <= 10; i++) {
+            bag.add(i);
+        }
+        int sum = 0;
+        for (int item : bag) {
+            sum += item;
+        }
+        System.out.println("Bag: " + bag.toString() + " | Size: " + bag.size() + " | Sum: " + sum + " (expected 55)");
+    }
+
     /**
      * Main method to run tests.
      *
@@ -183,6 +203,7 @@ public class TestBags {
         //test3FixedCapacityBag();
         //test4FixedCapacityBag();
         testFixedCapacityBagofStrings("apple", "banana", "cherry", "date", "elderberry");
+        testResizingArrayBag();
     }
 
 }
@@ -0,0 +1,228 @@
+/**
+ * Immutable compressed bit set
+ *
+ * @author Cullen Kelley
+ */
+package ds.bitset;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Implementation of an immutable set of non-negative ints that is stored in
+ * whichever of two forms is smaller:
+ *
+ * - sparse: the members as a sorted int array (4 bytes per member)
+ * - windowed: a bitmap of 64-bit words covering only the words between the
+ * lowest and the highest member (8 bytes per 64 positions of that span)
+ *
+ * Small neighborhoods of a large graph are far smaller than a java.util.BitSet
+ * sized to the whole graph, and clustered sets (as produced by numbering
+ * stations in spatial order) stay bitmaps with no empty leading words.
+ * Membership is a binary search or a bit test; the bulk operations combine the
+ * set with a java.util.BitSet without decompressing it.
+ * Operations: fromSorted, fromBitSet, get, cardinality, andCardinality,
+ * andNotCardinality, and, orInto, toBitSet, memoryBytes
+ */
+public class CompactBitSet {
+
+    /**
+     * sorted members (sparse form), or null
+     */
+    private final int[] members;
+    /**
+     * bitmap words (windowed form), or null; words[i] holds positions
+     * 64 * (firstWord + i) .. 64 * (firstWord + i) + 63
+     */
+    private final long[] words;
+    /**
+     * index of the first bitmap word
+     */
+    private final int firstWord;
+    /**
+     * number of members
+     */
+    private final int cardinality;
+
+    private CompactBitSet(int[] members, long[] words, int firstWord, int cardinality) {
+        this.members = members;
+        this.words = words;
+        this.firstWord = firstWord;
+        this.cardinality = cardinality;
+    }
+
+    /**
+     * Creates a set from members given in increasing order without repeats.
+     *
+     * @param sorted the members
+     * @param length the number of members to take from sorted
+     * @return the set
+     * @throws IllegalArgumentException if a member is negative
+     */
+    public static CompactBitSet fromSorted(int[] sorted, int length) {
+        if (length == 0) {
+            return new CompactBitSet(new int[0], null, 0, 0);
+        }
+        if (sorted[0] < 0) {
+            throw new IllegalArgumentException("Negative member: " + sorted[0]);
+        }
+        int first = sorted[0] >>> 6;
+        int last = sorted[length - 1] >>> 6;
+        long windowBytes = 8L * (last - first + 1);
+        long sparseBytes = 4L * length;
+        if (sparseBytes <= windowBytes) {
+            return new CompactBitSet(Arrays.copyOf(sorted, length), null, 0, length);
+        }
+        long[] bitmap = new long[last - first + 1];
+        for (int i = 0; i < length; i++) {
+            bitmap[(sorted[i] >>> 6) - first] |= 1L << sorted[i];
+        }
+        return new CompactBitSet(null, bitmap, first, length);
+    }
+
+    /**
+     * Creates a set with the members of a java.util.BitSet.
+     *
+     * @param bits the members
+     * @return the set
+     */
+    public static CompactBitSet fromBitSet(BitSet bits) {
+        int[] sorted = bits.stream().toArray();
+        return fromSorted(sorted, sorted.length);
+    }
+
+    /**
+     * Returns true if i is a member.
+     *
+     * @param i a non-negative int
+     * @return true if i is in the set
+     */
+    public boolean get(int i) {
+        if (members != null) {
+            return Arrays.binarySearch(members, i) >= 0;
+        }
+        int w = (i >>> 6) - firstWord;
+        return i >= 0 && w >= 0 && w < words.length && (words[w] & (1L << i)) != 0;
+    }
+
+    /**
+     * Returns the number of members.
+     *
+     * @return the cardinality
+     */
+    public int cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Returns the number of members that are also in other.
+     *
+     * @param other a bit set
+     * @return |this AND other|
+     */
+    public int andCardinality(BitSet other) {
+        int count = 0;
+        if (members != null) {
+            for (int member : members) {
+                if (other.get(member)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+        long[] otherWords = window(other);
+        for (int w = 0; w < otherWords.length; w++) {
+            count += Long.bitCount(words[w] & otherWords[w]);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of members that are not in other.
+     *
+     * @param other a bit set
+     * @return |this AND NOT other|
+     */
+    public int andNotCardinality(BitSet other) {
+        return cardinality - andCardinality(other);
+    }
+
+    /**
+     * Returns the members that are also in other.
+     *
+     * @param other a bit set
+     * @return a new java.util.BitSet holding this AND other
+     */
+    public BitSet and(BitSet other) {
+        BitSet result = new BitSet();
+        if (members != null) {
+            for (int member : members) {
+                if (other.get(member)) {
+                    result.set(member);
+                }
+            }
+            return result;
+        }
+        long[] otherWords = window(other);
+        for (int w = 0; w < otherWords.length; w++) {
+            long word = words[w] & otherWords[w];
+            while (word != 0) {
+                result.set(64 * (firstWord + w) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds all members to target.
+     *
+     * @param target the bit set to update
+     */
+    public void orInto(BitSet target) {
+        if (members != null) {
+            for (int member : members) {
+                target.set(member);
+            }
+            return;
+        }
+        for (int w = 0; w < words.length; w++) {
+            long word = words[w];
+            while (word != 0) {
+                target.set(64 * (firstWord + w) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    /**
+     * Returns the members as a java.util.BitSet.
+     *
+     * @return a new bit set
+     */
+    public BitSet toBitSet() {
+        BitSet result = new BitSet();
+        orInto(result);
+        return result;
+    }
+
+    /**
+     * Returns the number of bytes used by the member array or bitmap words
+     * (object headers not included).
+     *
+     * @return payload size in bytes
+     */
+    public long memoryBytes() {
+        return (members != null) ? 4L * members.length : 8L * words.length;
+    }
+
+    /**
+     * Returns the words of other over this set's window, aligned so that
+     * element 0 lines up with words[0]; trailing zero words are dropped, so
+     * the result may be shorter than the window.
+     */
+    private long[] window(BitSet other) {
+        int from = 64 * firstWord;
+        return other.get(from, from + 64 * words.length).toLongArray();
+    }
+}
@@ -0,0 +1,176 @@
+/**
+ * Memory-mapped reader for binary files made of primitive array sections
+ *
+ * @author Cullen Kelley
+ */
+package ds.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Implementation of a reader for files written by SectionFileWriter. The file
+ * is mapped read-only with FileChannel.map and every section is returned as a
+ * typed view of the mapped bytes: nothing is copied and nothing is allocated
+ * per element, so opening a file costs a few views regardless of its size.
+ * Pages are loaded by the operating system when first touched.
+ *
+ * Sections must be read in the order they were written. A single mapping is
+ * limited to 2 GB.
+ * Operations: open, nextInts, nextLongs, nextDoubles, nextBytes, nextStrings
+ */
+public class SectionFileReader {
+
+    private final MappedByteBuffer mapped;
+
+    private SectionFileReader(MappedByteBuffer mapped) {
+        this.mapped = mapped;
+    }
+
+    /**
+     * Maps a file and checks its header.
+     *
+     * @param path the file to read
+     * @param magic the expected magic number
+     * @param version the expected format version
+     * @return a reader positioned at the first section
+     * @throws IOException if the file cannot be read, is larger than 2 GB, or
+     * has the wrong magic number or version
+     */
+    public static SectionFileReader open(Path path, int magic, int version) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("File larger than 2 GB: " + path);
+            }
+            // The mapping stays valid after the channel is closed
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+        if (mapped.remaining() < 2 * Integer.BYTES || mapped.getInt() != magic) {
+            throw new IOException("Not a recognized file: " + path);
+        }
+        int fileVersion = mapped.getInt();
+        if (fileVersion != version) {
+            throw new IOException("Unsupported format version " + fileVersion + ": " + path);
+        }
+        return new SectionFileReader(mapped);
+    }
+
+    /**
+     * Returns the next section as ints.
+     *
+     * @return read-only view of the section
+     * @throws IOException if the file ends early
+     */
+    public IntBuffer nextInts() throws IOException {
+        return nextSection(Integer.BYTES).asIntBuffer();
+    }
+
+    /**
+     * Returns the next section as longs.
+     *
+     * @return read-only view of the section
+     * @throws IOException if the file ends early
+     */
+    public LongBuffer nextLongs() throws IOException {
+        return nextSection(Long.BYTES).asLongBuffer();
+    }
+
+    /**
+     * Returns the next section as doubles.
+     *
+     * @return read-only view of the section
+     * @throws IOException if the file ends early
+     */
+    public DoubleBuffer nextDoubles() throws IOException {
+        return nextSection(Double.BYTES).asDoubleBuffer();
+    }
+
+    /**
+     * Returns the next section as bytes.
+     *
+     * @return read-only view of the section
+     * @throws IOException if the file ends early
+     */
+    public ByteBuffer nextBytes() throws IOException {
+        return nextSection(1);
+    }
+
+    /**
+     * Returns the next string section.
+     *
+     * @return the strings, decoded on access
+     * @throws IOException if the file ends early
+     */
+    public Strings nextStrings() throws IOException {
+        IntBuffer offsets = nextInts();
+        ByteBuffer bytes = nextBytes();
+        if (offsets.limit() == 0 || offsets.get(offsets.limit() - 1) != bytes.limit()) {
+            throw new IOException("Corrupt string section");
+        }
+        return new Strings(offsets, bytes);
+    }
+
+    private ByteBuffer nextSection(int elementSize) throws IOException {
+        if (mapped.remaining() < Long.BYTES) {
+            throw new IOException("Unexpected end of file");
+        }
+        long count = mapped.getLong();
+        long length = count * elementSize;
+        if (count < 0 || length > mapped.remaining()) {
+            throw new IOException("Unexpected end of file");
+        }
+        ByteBuffer section = mapped.slice().limit((int) length);
+        section = section.asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+        mapped.position(mapped.position() + (int) ((length + 7) & ~7L));
+        return section;
+    }
+
+    /**
+     * A string section: strings are decoded from UTF-8 each time they are
+     * requested.
+     */
+    public static class Strings {
+
+        private final IntBuffer offsets;
+        private final ByteBuffer bytes;
+
+        private Strings(IntBuffer offsets, ByteBuffer bytes) {
+            this.offsets = offsets;
+            this.bytes = bytes;
+        }
+
+        /**
+         * Returns the number of strings.
+         *
+         * @return string count
+         */
+        public int size() {
+            return offsets.limit() - 1;
+        }
+
+        /**
+         * Decodes a string.
+         *
+         * @param index the string index
+         * @return the string
+         */
+        public String get(int index) {
+            int start = offsets.get(index);
+            int end = offsets.get(index + 1);
+            byte[] encoded = new byte[end - start];
+            bytes.get(start, encoded);
+            return new String(encoded, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/**
+ * Writer for binary files made of primitive array sections
+ *
+ * @author Cullen Kelley
+ */
+package ds.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Implementation of a writer for the section file format read by
+ * SectionFileReader. A file starts with a magic number and a format version
+ * (two little-endian ints) and continues with sections. Every section is a
+ * long element count followed by the elements, padded with zero bytes to a
+ * multiple of 8, so each section starts 8-byte aligned and can be viewed in
+ * place as an IntBuffer, LongBuffer or DoubleBuffer after mapping the file. A
+ * string section is an int section of UTF-8 byte offsets (count + 1 entries)
+ * followed by a byte section holding the encoded strings back to back.
+ *
+ * Data goes through one reusable direct buffer, so writing allocates nothing
+ * per element.
+ * Operations: writeInts, writeLongs, writeDoubles, writeBytes, writeStrings,
+ * close
+ */
+public class SectionFileWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+
+    /**
+     * Constructor: creates (or truncates) the file and writes the file header.
+     *
+     * @param path the file to write
+     * @param magic the format's magic number
+     * @param version the format version
+     * @throws IOException if the file cannot be opened or written
+     */
+    public SectionFileWriter(Path path, int magic, int version) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(magic);
+        buffer.putInt(version);
+    }
+
+    /**
+     * Writes an int section with the first length elements of values.
+     *
+     * @param values the source array
+     * @param length the number of elements to write
+     * @throws IOException if the file cannot be written
+     */
+    public void writeInts(int[] values, int length) throws IOException {
+        startSection(length);
+        for (int i = 0; i < length; i++) {
+            ensureRoom(Integer.BYTES);
+            buffer.putInt(values[i]);
+        }
+        pad();
+    }
+
+    /**
+     * Writes a long section with the first length elements of values.
+     *
+     * @param values the source array
+     * @param length the number of elements to write
+     * @throws IOException if the file cannot be written
+     */
+    public void writeLongs(long[] values, int length) throws IOException {
+        startSection(length);
+        for (int i = 0; i < length; i++) {
+            ensureRoom(Long.BYTES);
+            buffer.putLong(values[i]);
+        }
+        pad();
+    }
+
+    /**
+     * Writes a double section with the first length elements of values.
+     *
+     * @param values the source array
+     * @param length the number of elements to write
+     * @throws IOException if the file cannot be written
+     */
+    public void writeDoubles(double[] values, int length) throws IOException {
+        startSection(length);
+        for (int i = 0; i < length; i++) {
+            ensureRoom(Double.BYTES);
+            buffer.putDouble(values[i]);
+        }
+        pad();
+    }
+
+    /**
+     * Writes a byte section with the first length elements of values.
+     *
+     * @param values the source array
+     * @param length the number of elements to write
+     * @throws IOException if the file cannot be written
+     */
+    public void writeBytes(byte[] values, int length) throws IOException {
+        startSection(length);
+        int written = 0;
+        while (written < length) {
+            ensureRoom(1);
+            int chunk = Math.min(buffer.remaining(), length - written);
+            buffer.put(values, written, chunk);
+            written += chunk;
+        }
+        pad();
+    }
+
+    /**
+     * Writes a string section with the first count elements of strings (null
+     * is written as the empty string).
+     *
+     * @param strings the source array
+     * @param count the number of strings to write
+     * @throws IOException if the file cannot be written
+     */
+    public void writeStrings(String[] strings, int count) throws IOException {
+        byte[][] encoded = new byte[count][];
+        int[] offsets = new int[count + 1];
+        for (int i = 0; i < count; i++) {
+            encoded[i] = (strings[i] == null) ? new byte[0] : strings[i].getBytes(StandardCharsets.UTF_8);
+            if ((long) offsets[i] + encoded[i].length > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("String section larger than 2 GB");
+            }
+            offsets[i + 1] = offsets[i] + encoded[i].length;
+        }
+        writeInts(offsets, count + 1);
+        startSection(offsets[count]);
+        for (byte[] bytes : encoded) {
+            int written = 0;
+            while (written < bytes.length) {
+                ensureRoom(1);
+                int chunk = Math.min(buffer.remaining(), bytes.length - written);
+                buffer.put(bytes, written, chunk);
+                written += chunk;
+            }
+        }
+        pad();
+    }
+
+    /**
+     * Flushes the remaining data and closes the file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void startSection(long count) throws IOException {
+        ensureRoom(Long.BYTES);
+        buffer.putLong(count);
+    }
+
+    /**
+     * Pads with zero bytes up to the next multiple of 8. The header and every
+     * element size divide the buffer size, so buffer position and file
+     * position agree modulo 8.
+     */
+    private void pad() throws IOException {
+        while ((buffer.position() & 7) != 0) {
+            ensureRoom(1);
+            buffer.put((byte) 0);
+        }
+    }
+
+    private void ensureRoom(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,222 @@
+/**
+ * Indexed minimum priority queue with primitive double keys
+ *
+ * @author Cullen Kelley
+ */
+package ds.queue;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Implementation of an indexed minimum priority queue over the integer handles
+ * 0..capacity-1. Each handle carries a primitive double key, and the queue
+ * supports decreasing the key of a handle already on the queue. Uses a binary
+ * heap of handles plus an inverse index (handle to heap position), so the heap
+ * never holds more than capacity entries and no key objects are allocated.
+ * Operations: insert, decreaseKey, delMin, contains, keyOf, clear, isEmpty,
+ * size
+ */
+public class IndexMinPriorityQueue {
+
+    /**
+     * binary heap of handles (1-based, position 0 unused)
+     */
+    private final int[] heap;
+    /**
+     * inverse of heap: position of each handle in heap, -1 if not on queue
+     */
+    private final int[] position;
+    /**
+     * key associated with each handle
+     */
+    private final double[] keys;
+    /**
+     * current number of handles in queue (size)
+     */
+    private int numberOfElements;
+
+    /**
+     * Constructor: creates an empty queue accepting handles 0..capacity-1.
+     *
+     * @param capacity the number of distinct handles the queue can hold
+     * @throws IllegalArgumentException if capacity is negative
+     */
+    public IndexMinPriorityQueue(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must be non-negative: " + capacity);
+        }
+        heap = new int[capacity + 1];
+        position = new int[capacity];
+        keys = new double[capacity];
+        Arrays.fill(position, -1);
+        numberOfElements = 0;
+    }
+
+    /**
+     * Returns true if the queue is empty.
+     *
+     * @return true if no handle is on the queue
+     */
+    public boolean isEmpty() {
+        return numberOfElements == 0;
+    }
+
+    /**
+     * Returns the number of handles on the queue.
+     *
+     * @return the number of handles on the queue
+     */
+    public int size() {
+        return numberOfElements;
+    }
+
+    /**
+     * Returns true if the handle is currently on the queue.
+     *
+     * @param handle the handle to check
+     * @return true if the handle is on the queue
+     */
+    public boolean contains(int handle) {
+        checkHandle(handle);
+        return position[handle] != -1;
+    }
+
+    /**
+     * Returns the key associated with a handle on the queue.
+     *
+     * @param handle the handle
+     * @return the key of the handle
+     * @throws NoSuchElementException if the handle is not on the queue
+     */
+    public double keyOf(int handle) {
+        if (!contains(handle)) {
+            throw new NoSuchElementException("Handle is not on the queue: " + handle);
+        }
+        return keys[handle];
+    }
+
+    /**
+     * Inserts a handle with the given key.
+     *
+     * @param handle the handle to insert
+     * @param key the key associated with the handle
+     * @throws IllegalArgumentException if the handle is already on the queue
+     */
+    public void insert(int handle, double key) {
+        if (contains(handle)) {
+            throw new IllegalArgumentException("Handle is already on the queue: " + handle);
+        }
+        numberOfElements++;
+        position[handle] = numberOfElements;
+        heap[numberOfElements] = handle;
+        keys[handle] = key;
+        swim(numberOfElements);
+    }
+
+    /**
+     * Decreases the key associated with a handle on the queue.
+     *
+     * @param handle the handle whose key is decreased
+     * @param key the new key, must not be greater than the current key
+     * @throws NoSuchElementException if the handle is not on the queue
+     * @throws IllegalArgumentException if the new key is greater
+     */
+    public void decreaseKey(int handle, double key) {
+        if (!contains(handle)) {
+            throw new NoSuchElementException("Handle is not on the queue: " + handle);
+        }
+        if (key > keys[handle]) {
+            throw new IllegalArgumentException("decreaseKey() would increase the key of handle " + handle);
+        }
+        keys[handle] = key;
+        swim(position[handle]);
+    }
+
+    /**
+     * Returns the handle with the minimum key without removing it.
+     *
+     * @return the handle with the minimum key
+     * @throws NoSuchElementException if the queue is empty
+     */
+    public int minHandle() {
+        if (numberOfElements == 0) {
+            throw new NoSuchElementException("Priority queue is empty");
+        }
+        return heap[1];
+    }
+
+    /**
+     * Removes the handle with the minimum key and returns it.
+     *
+     * @return the handle with the minimum key
+     * @throws NoSuchElementException if the queue is empty
+     */
+    public int delMin() {
+        if (numberOfElements == 0) {
+            throw new NoSuchElementException("Priority queue is empty");
+        }
+        int min = heap[1];
+        exchange(1, numberOfElements--);
+        sink(1);
+        position[min] = -1;
+        return min;
+    }
+
+    /**
+     * Removes every handle from the queue. Runs in time proportional to the
+     * number of handles on the queue, not the capacity, so a queue can be
+     * reused cheaply between searches that stop early.
+     */
+    public void clear() {
+        for (int k = 1; k <= numberOfElements; k++) {
+            position[heap[k]] = -1;
+        }
+        numberOfElements = 0;
+    }
+
+    /**
+     * Moves the handle at heap position k up until heap order is restored.
+     */
+    private void swim(int k) {
+        while (k > 1 && greater(k / 2, k)) {
+            exchange(k, k / 2);
+            k = k / 2;
+        }
+    }
+
+    /**
+     * Moves the handle at heap position k down until heap order is restored.
+     */
+    private void sink(int k) {
+        while (2 * k <= numberOfElements) {
+            int j = 2 * k;
+            if (j < numberOfElements && greater(j, j + 1)) {
+                j++;
+            }
+            if (!greater(k, j)) {
+                break;
+            }
+            exchange(k, j);
+            k = j;
+        }
+    }
+
+    private boolean greater(int i, int j) {
+        return keys[heap[i]] > keys[heap[j]];
+    }
+
+    private void exchange(int i, int j) {
+        int swap = heap[i];
+        heap[i] = heap[j];
+        heap[j] = swap;
+        position[heap[i]] = i;
+        position[heap[j]] = j;
+    }
+
+    private void checkHandle(int handle) {
+        if (handle < 0 || handle >= position.length) {
+            throw new IllegalArgumentException("Handle out of range: " + handle);
+        }
+    }
+}
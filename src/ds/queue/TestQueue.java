@@ -96,6 +96,27 @@ public class TestQueue {
         printQueue(queue, name);
     }
 
+    /**
+     * Test: insert handles into an indexed min priority queue, decrease one
+     * key and remove all handles, printing them in key order.
+     */
+    private static void testIndexMinPriorityQueue() {
+        System.out.println("Indexed min priority queue of 5 handles");
+        IndexMinPriorityQueue pq = new IndexMinPriorityQueue(5);
+        double[] keys = {4.5, 2.0, 9.0, 7.25, 3.0};
+        for (int i = 0; i < keys.length; i++) {
+            pq.insert(i, keys[i]);
+        }
+        System.out.println("  - size = " + pq.size());
+        System.out.println("  - decreaseKey(2, 1.0)");
+        pq.decreaseKey(2, 1.0);
+        System.out.print("  - delMin order: ");
+        while (!pq.isEmpty()) {
+            System.out.print(pq.delMin() + " ");
+        }
+        System.out.println("\n  - expected order: 2 1 4 0 3");
+    }
+
     /**
      * Main method to execute the queue tests.
      *
@@ -120,6 +141,8 @@ public class TestQueue {
         testDequeueItem(fcq3, fcq3Name);
         testDequeueItem(fcq3, fcq3Name);
         testDequeueItem(fcq3, fcq3Name);
+
+        testIndexMinPriorityQueue();
     }
 
 }
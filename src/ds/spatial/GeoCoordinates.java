@@ -0,0 +1,211 @@
+/**
+ * Array-backed store of site coordinates with cached trigonometry
+ *
+ * @author Cullen Kelley
+ */
+package ds.spatial;
+
+import java.util.Arrays;
+
+/**
+ * Implementation of a growable store of sites given by latitude and longitude
+ * (degrees). Each site receives an integer index (0, 1, 2, ... in insertion
+ * order) and its latitude/longitude in radians and cos(latitude) are computed
+ * once, in parallel primitive arrays. Distance queries between stored sites
+ * then cost one haversine evaluation with no degree conversion and no cosine
+ * of the latitudes. Each site also keeps its unit vector (x, y, z) so nearest
+ * neighbor searches can rank sites by squared chord length, which needs only
+ * multiplications.
+ *
+ * The bulk kernels compute the distances from one location to many sites in a
+ * single pass over the arrays, for use in routing and cost generation loops.
+ * Operations: add, size, latitude, longitude, haversine, haversineTo,
+ * equirectangular, chordSquaredTo, distancesFrom
+ */
+public class GeoCoordinates {
+
+    private double[] latitudes;     // Degrees, as given
+    private double[] longitudes;
+    private double[] phi;           // Latitude in radians
+    private double[] lambda;        // Longitude in radians
+    private double[] cosPhi;        // cos(latitude)
+    private double[] x;             // Unit vector on the sphere
+    private double[] y;
+    private double[] z;
+    private int numberOfSites;
+
+    /**
+     * Constructor: creates an empty store.
+     *
+     * @param initialCapacity expected number of sites
+     */
+    public GeoCoordinates(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        latitudes = new double[capacity];
+        longitudes = new double[capacity];
+        phi = new double[capacity];
+        lambda = new double[capacity];
+        cosPhi = new double[capacity];
+        x = new double[capacity];
+        y = new double[capacity];
+        z = new double[capacity];
+        numberOfSites = 0;
+    }
+
+    /**
+     * Default constructor.
+     */
+    public GeoCoordinates() {
+        this(16);
+    }
+
+    /**
+     * Adds a site and returns its index.
+     *
+     * @param latitude latitude in degrees
+     * @param longitude longitude in degrees
+     * @return the index of the site (equal to the previous size)
+     */
+    public int add(double latitude, double longitude) {
+        if (numberOfSites == latitudes.length) {
+            int capacity = numberOfSites * 2;
+            latitudes = Arrays.copyOf(latitudes, capacity);
+            longitudes = Arrays.copyOf(longitudes, capacity);
+            phi = Arrays.copyOf(phi, capacity);
+            lambda = Arrays.copyOf(lambda, capacity);
+            cosPhi = Arrays.copyOf(cosPhi, capacity);
+            x = Arrays.copyOf(x, capacity);
+            y = Arrays.copyOf(y, capacity);
+            z = Arrays.copyOf(z, capacity);
+        }
+        int index = numberOfSites++;
+        latitudes[index] = latitude;
+        longitudes[index] = longitude;
+        phi[index] = GeoDistance.toRadians(latitude);
+        lambda[index] = GeoDistance.toRadians(longitude);
+        cosPhi[index] = Math.cos(phi[index]);
+        x[index] = cosPhi[index] * Math.cos(lambda[index]);
+        y[index] = cosPhi[index] * Math.sin(lambda[index]);
+        z[index] = Math.sin(phi[index]);
+        return index;
+    }
+
+    /**
+     * Returns the number of sites.
+     *
+     * @return the number of sites
+     */
+    public int size() {
+        return numberOfSites;
+    }
+
+    /**
+     * Returns the latitude of a site.
+     *
+     * @param index site index
+     * @return latitude in degrees
+     */
+    public double latitude(int index) {
+        return latitudes[index];
+    }
+
+    /**
+     * Returns the longitude of a site.
+     *
+     * @param index site index
+     * @return longitude in degrees
+     */
+    public double longitude(int index) {
+        return longitudes[index];
+    }
+
+    /**
+     * Haversine distance between two sites.
+     *
+     * @param i first site index
+     * @param j second site index
+     * @return distance in kilometers
+     */
+    public double haversine(int i, int j) {
+        return GeoDistance.haversineRadians(phi[i], lambda[i], cosPhi[i], phi[j], lambda[j], cosPhi[j]);
+    }
+
+    /**
+     * Haversine distance between a site and a location.
+     *
+     * @param index site index
+     * @param latitude latitude in degrees
+     * @param longitude longitude in degrees
+     * @return distance in kilometers
+     */
+    public double haversineTo(int index, double latitude, double longitude) {
+        double phi0 = GeoDistance.toRadians(latitude);
+        return GeoDistance.haversineRadians(phi[index], lambda[index], cosPhi[index],
+                phi0, GeoDistance.toRadians(longitude), Math.cos(phi0));
+    }
+
+    /**
+     * Equirectangular approximation of the distance between two sites.
+     *
+     * @param i first site index
+     * @param j second site index
+     * @return approximate distance in kilometers
+     */
+    public double equirectangular(int i, int j) {
+        return GeoDistance.equirectangularRadians(phi[i], lambda[i], phi[j], lambda[j]);
+    }
+
+    /**
+     * Squared chord length between a site and a point on the unit sphere. The
+     * value grows with great-circle distance (see GeoDistance.chordToKm).
+     *
+     * @param index site index
+     * @param px x of the unit vector of the point
+     * @param py y of the unit vector of the point
+     * @param pz z of the unit vector of the point
+     * @return squared chord length (0..4)
+     */
+    public double chordSquaredTo(int index, double px, double py, double pz) {
+        double dx = x[index] - px;
+        double dy = y[index] - py;
+        double dz = z[index] - pz;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Bulk kernel: haversine distances from a location to every site.
+     *
+     * @param latitude latitude in degrees
+     * @param longitude longitude in degrees
+     * @param distances output array of length at least size(); distances[i]
+     * receives the distance to site i
+     */
+    public void distancesFrom(double latitude, double longitude, double[] distances) {
+        double phi0 = GeoDistance.toRadians(latitude);
+        double lambda0 = GeoDistance.toRadians(longitude);
+        double cosPhi0 = Math.cos(phi0);
+        for (int i = 0; i < numberOfSites; i++) {
+            distances[i] = GeoDistance.haversineRadians(phi0, lambda0, cosPhi0, phi[i], lambda[i], cosPhi[i]);
+        }
+    }
+
+    /**
+     * Bulk kernel: haversine distances from one site to a list of sites.
+     *
+     * @param source source site index
+     * @param sites site indices in sites[from] .. sites[to - 1]
+     * @param from first position in sites (inclusive)
+     * @param to last position in sites (exclusive)
+     * @param distances output array; distances[p] receives the distance to
+     * sites[p] for every position p in the range
+     */
+    public void distancesFrom(int source, int[] sites, int from, int to, double[] distances) {
+        double phi0 = phi[source];
+        double lambda0 = lambda[source];
+        double cosPhi0 = cosPhi[source];
+        for (int p = from; p < to; p++) {
+            int j = sites[p];
+            distances[p] = GeoDistance.haversineRadians(phi0, lambda0, cosPhi0, phi[j], lambda[j], cosPhi[j]);
+        }
+    }
+}
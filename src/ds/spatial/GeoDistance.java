@@ -0,0 +1,135 @@
+/**
+ * Geodesic distance formulas
+ *
+ * @author Cullen Kelley
+ */
+package ds.spatial;
+
+/**
+ * Great-circle distance between points on the Earth given by latitude and
+ * longitude. Two formulas are provided:
+ *
+ * - haversine: accurate for any distance on a sphere of mean Earth radius
+ * - equirectangular: projects the pair onto a plane scaled by the cosine of
+ * the mean latitude; cheaper (one square root, no inverse trig) and within a
+ * fraction of a percent of haversine for the few hundred kilometers between
+ * neighboring stations
+ *
+ * Each formula has a degree form for one-off calls and a radian form taking
+ * precomputed radians and cos(latitude), so callers that cache these per site
+ * (see {@link GeoCoordinates}) avoid repeating the trigonometry in tight
+ * loops.
+ * Operations: haversine, equirectangular, chordToKm, kmToChord, toRadians
+ */
+public final class GeoDistance {
+
+    /**
+     * Mean Earth radius in kilometers.
+     */
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private GeoDistance() {
+    }
+
+    /**
+     * Converts degrees to radians.
+     *
+     * @param degrees angle in degrees
+     * @return angle in radians
+     */
+    public static double toRadians(double degrees) {
+        return degrees * (Math.PI / 180.0);
+    }
+
+    /**
+     * Haversine distance between two points given in degrees.
+     *
+     * @param latitude1 latitude of the first point in degrees
+     * @param longitude1 longitude of the first point in degrees
+     * @param latitude2 latitude of the second point in degrees
+     * @param longitude2 longitude of the second point in degrees
+     * @return distance in kilometers
+     */
+    public static double haversine(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double phi1 = toRadians(latitude1);
+        double phi2 = toRadians(latitude2);
+        return haversineRadians(phi1, toRadians(longitude1), Math.cos(phi1),
+                phi2, toRadians(longitude2), Math.cos(phi2));
+    }
+
+    /**
+     * Haversine distance between two points given in radians with their
+     * precomputed cos(latitude).
+     *
+     * @param phi1 latitude of the first point in radians
+     * @param lambda1 longitude of the first point in radians
+     * @param cosPhi1 cos(phi1)
+     * @param phi2 latitude of the second point in radians
+     * @param lambda2 longitude of the second point in radians
+     * @param cosPhi2 cos(phi2)
+     * @return distance in kilometers
+     */
+    public static double haversineRadians(double phi1, double lambda1, double cosPhi1,
+            double phi2, double lambda2, double cosPhi2) {
+        double sinHalfDeltaPhi = Math.sin((phi2 - phi1) * 0.5);
+        double sinHalfDeltaLambda = Math.sin((lambda2 - lambda1) * 0.5);
+        double h = sinHalfDeltaPhi * sinHalfDeltaPhi
+                + cosPhi1 * cosPhi2 * sinHalfDeltaLambda * sinHalfDeltaLambda;
+        return 2.0 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(Math.min(1.0, h)));
+    }
+
+    /**
+     * Converts the straight-line (chord) distance between two points on the
+     * unit sphere into the great-circle distance. Chord length grows with
+     * great-circle distance, so comparisons can be made on squared chords
+     * (no trigonometry) and converted only at the end.
+     *
+     * @param chord chord length on the unit sphere (0..2)
+     * @return distance in kilometers
+     */
+    public static double chordToKm(double chord) {
+        return 2.0 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, chord * 0.5));
+    }
+
+    /**
+     * Converts a great-circle distance into the chord length on the unit
+     * sphere (inverse of chordToKm).
+     *
+     * @param km distance in kilometers
+     * @return chord length on the unit sphere (0..2)
+     */
+    public static double kmToChord(double km) {
+        return 2.0 * Math.sin(Math.min(Math.PI, km / EARTH_RADIUS_KM) * 0.5);
+    }
+
+    /**
+     * Equirectangular approximation of the distance between two points given
+     * in degrees.
+     *
+     * @param latitude1 latitude of the first point in degrees
+     * @param longitude1 longitude of the first point in degrees
+     * @param latitude2 latitude of the second point in degrees
+     * @param longitude2 longitude of the second point in degrees
+     * @return approximate distance in kilometers
+     */
+    public static double equirectangular(double latitude1, double longitude1, double latitude2, double longitude2) {
+        return equirectangularRadians(toRadians(latitude1), toRadians(longitude1),
+                toRadians(latitude2), toRadians(longitude2));
+    }
+
+    /**
+     * Equirectangular approximation of the distance between two points given
+     * in radians.
+     *
+     * @param phi1 latitude of the first point in radians
+     * @param lambda1 longitude of the first point in radians
+     * @param phi2 latitude of the second point in radians
+     * @param lambda2 longitude of the second point in radians
+     * @return approximate distance in kilometers
+     */
+    public static double equirectangularRadians(double phi1, double lambda1, double phi2, double lambda2) {
+        double x = (lambda2 - lambda1) * Math.cos((phi1 + phi2) * 0.5);
+        double y = phi2 - phi1;
+        return EARTH_RADIUS_KM * Math.sqrt(x * x + y * y);
+    }
+}
@@ -0,0 +1,478 @@
+/**
+ * Uniform grid spatial index over latitude/longitude points
+ *
+ * @author Cullen Kelley
+ */
+package ds.spatial;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * Implementation of a uniform grid spatial index over points given by latitude
+ * and longitude (degrees). Each point receives an integer handle
+ * (0, 1, 2, ... in insertion order); coordinates are kept in a
+ * {@link GeoCoordinates} store and each grid cell holds a primitive int array
+ * of handles, so queries do not box or allocate per point. Supports k-nearest and radius queries with
+ * an optional handle filter, searching rings of cells outward from the query
+ * point and stopping as soon as no unvisited cell can hold a closer point.
+ * When the points per occupied cell grow past a threshold the cell size is
+ * halved and the grid rebuilt, so queries keep scanning a few points per cell
+ * as a network grows. A split is skipped when the cells over the occupied
+ * bounding box would outnumber the points by more than a fixed factor, and
+ * undone when it does not spread the points over more cells (co-located
+ * points); a query that has probed as many cells as are occupied scans the
+ * occupied cells instead, so clustered points cost at most a linear scan.
+ *
+ * Distances are great-circle distances ({@link GeoDistance}); candidates are
+ * ranked by squared chord length on the unit sphere, which orders points the
+ * same way but needs no trigonometry per point.
+ * Operations: add, size, nearest, withinRadius
+ */
+public class PointGrid {
+
+    /**
+     * Growable array of point handles stored in one grid cell.
+     */
+    private static class Cell {
+
+        private int[] handles = new int[4];
+        private int size = 0;
+
+        void add(int handle) {
+            if (size == handles.length) {
+                handles = Arrays.copyOf(handles, size * 2);
+            }
+            handles[size++] = handle;
+        }
+    }
+
+    /**
+     * Mean points per occupied cell above which the cells are split.
+     */
+    private static final int MAX_MEAN_OCCUPANCY = 8;
+
+    /**
+     * Smallest cell edge length in degrees (about 11 m); limits splitting when
+     * many points share a location.
+     */
+    private static final double MIN_CELL_SIZE = 1e-4;
+
+    /**
+     * Cells over the occupied bounding box allowed per point after a split.
+     */
+    private static final int MAX_BOX_CELLS_PER_POINT = 4;
+
+    private double cellSize;                // Cell edge length in degrees
+    private Map<Long, Cell> cells;          // Cell key -> handles in the cell
+    private final GeoCoordinates coordinates;
+    private double maxAbsLatitude = 0.0;    // Largest |latitude| of any point
+    private int minRow = Integer.MAX_VALUE; // Bounding box of occupied cells
+    private int maxRow = Integer.MIN_VALUE;
+    private int minColumn = Integer.MAX_VALUE;
+    private int maxColumn = Integer.MIN_VALUE;
+    private int nextSplitSize = 0;          // No split is tried below this size
+
+    /**
+     * Constructor: creates an empty grid.
+     *
+     * @param cellSizeDegrees initial edge length of a grid cell in degrees
+     * @throws IllegalArgumentException if the cell size is not positive
+     */
+    public PointGrid(double cellSizeDegrees) {
+        if (!(cellSizeDegrees > 0)) {
+            throw new IllegalArgumentException("Cell size must be positive: " + cellSizeDegrees);
+        }
+        this.cellSize = cellSizeDegrees;
+        this.cells = new HashMap<>();
+        this.coordinates = new GeoCoordinates();
+    }
+
+    /**
+     * Default constructor with 0.25 degree cells (about 28 km).
+     */
+    public PointGrid() {
+        this(0.25);
+    }
+
+    /**
+     * Returns the number of points in the grid.
+     *
+     * @return the number of points
+     */
+    public int size() {
+        return coordinates.size();
+    }
+
+    /**
+     * Adds a point and returns its handle.
+     *
+     * @param latitude latitude in degrees
+     * @param longitude longitude in degrees
+     * @return the handle of the point (equal to the previous size)
+     */
+    public int add(double latitude, double longitude) {
+        int handle = coordinates.add(latitude, longitude);
+        maxAbsLatitude = Math.max(maxAbsLatitude, Math.abs(latitude));
+        insert(handle);
+        int size = coordinates.size();
+        if (size > MAX_MEAN_OCCUPANCY * cells.size() && size >= nextSplitSize && canSplit()) {
+            double oldCellSize = cellSize;
+            int occupied = cells.size();
+            do {
+                rebuild(Math.max(MIN_CELL_SIZE, cellSize * 0.5));
+            } while (cells.size() == occupied && canSplit());
+            if (cells.size() == occupied) {
+                // The points share cells at any size: undo, and wait until the grid doubles
+                rebuild(oldCellSize);
+                nextSplitSize = 2 * size;
+            }
+        }
+        return handle;
+    }
+
+    /**
+     * Checks that halving the cells keeps them above the minimum size and
+     * keeps the cells over the occupied bounding box within the budget.
+     */
+    private boolean canSplit() {
+        return cellSize > MIN_CELL_SIZE
+                && 4.0 * boxCells() <= (double) MAX_BOX_CELLS_PER_POINT * coordinates.size();
+    }
+
+    /**
+     * Returns the number of cells in the bounding box of the occupied cells.
+     */
+    private double boxCells() {
+        return ((double) maxRow - minRow + 1) * ((double) maxColumn - minColumn + 1);
+    }
+
+    /**
+     * Returns the current cell edge length.
+     *
+     * @return cell size in degrees
+     */
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Places a stored point into its cell and widens the occupied bounding box.
+     */
+    private void insert(int handle) {
+        int row = row(coordinates.latitude(handle));
+        int column = column(coordinates.longitude(handle));
+        cells.computeIfAbsent(key(row, column), k -> new Cell()).add(handle);
+        minRow = Math.min(minRow, row);
+        maxRow = Math.max(maxRow, row);
+        minColumn = Math.min(minColumn, column);
+        maxColumn = Math.max(maxColumn, column);
+    }
+
+    /**
+     * Redistributes every point into cells of a new size.
+     */
+    private void rebuild(double newCellSize) {
+        cellSize = newCellSize;
+        cells = new HashMap<>();
+        minRow = Integer.MAX_VALUE;
+        maxRow = Integer.MIN_VALUE;
+        minColumn = Integer.MAX_VALUE;
+        maxColumn = Integer.MIN_VALUE;
+        for (int handle = 0; handle < coordinates.size(); handle++) {
+            insert(handle);
+        }
+    }
+
+    /**
+     * Returns the distance in kilometers between a point and a location.
+     *
+     * @param handle point handle
+     * @param latitude latitude in degrees
+     * @param longitude longitude in degrees
+     * @return haversine distance in kilometers
+     */
+    public double distanceTo(int handle, double latitude, double longitude) {
+        return coordinates.haversineTo(handle, latitude, longitude);
+    }
+
+    /**
+     * Finds the k points nearest to a location that pass the filter.
+     *
+     * @param latitude latitude in degrees
+     * @param longitude longitude in degrees
+     * @param k maximum number of points to return
+     * @param filter accepted handles (null accepts every point)
+     * @return handles ordered by increasing distance (fewer than k if fewer
+     * points pass the filter)
+     */
+    public int[] nearest(double latitude, double longitude, int k, IntPredicate filter) {
+        if (k <= 0 || coordinates.size() == 0) {
+            return new int[0];
+        }
+        // Bounded max-heap of the best k candidates by squared chord (root = farthest kept)
+        int[] heapHandles = new int[k];
+        double[] heapDistances = new double[k];
+        int heapSize = 0;
+        double phi = GeoDistance.toRadians(latitude);
+        double lambda = GeoDistance.toRadians(longitude);
+        double qx = Math.cos(phi) * Math.cos(lambda);
+        double qy = Math.cos(phi) * Math.sin(lambda);
+        double qz = Math.sin(phi);
+
+        int row = row(latitude);
+        int column = column(longitude);
+        int maxRing = Math.max(Math.max(Math.abs(row - minRow), Math.abs(row - maxRow)),
+                Math.max(Math.abs(column - minColumn), Math.abs(column - maxColumn)));
+        double minCos = minCosLatitude(latitude);
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            if ((long) (2 * ring - 1) * (2 * ring - 1) >= cells.size()) {
+                // Probed as many cells as are occupied: scan the occupied cells outside the rings
+                for (Map.Entry<Long, Cell> entry : cells.entrySet()) {
+                    long key = entry.getKey();
+                    if (Math.abs(rowOf(key) - row) >= ring || Math.abs(columnOf(key) - column) >= ring) {
+                        heapSize = offerCell(entry.getValue(), filter, qx, qy, qz, k, heapHandles,
+                                heapDistances, heapSize);
+                    }
+                }
+                break;
+            }
+            for (int r = row - ring; r <= row + ring; r++) {
+                boolean edgeRow = (r == row - ring || r == row + ring);
+                int step = edgeRow ? 1 : 2 * ring;
+                for (int c = column - ring; c <= column + ring; c += step) {
+                    Cell cell = cells.get(key(r, c));
+                    if (cell != null) {
+                        heapSize = offerCell(cell, filter, qx, qy, qz, k, heapHandles, heapDistances, heapSize);
+                    }
+                }
+            }
+            // Every point outside rings 0..ring is at least ring cells away
+            if (heapSize == k) {
+                double boundChord = GeoDistance.kmToChord(minDistanceForCells(ring, minCos));
+                if (heapDistances[0] <= boundChord * boundChord) {
+                    break;
+                }
+            }
+        }
+
+        // Pop the max-heap from the back to get increasing distances
+        int[] result = new int[heapSize];
+        for (int i = heapSize - 1; i >= 0; i--) {
+            result[i] = heapHandles[0];
+            heapHandles[0] = heapHandles[i];
+            heapDistances[0] = heapDistances[i];
+            siftDown(heapHandles, heapDistances, i);
+        }
+        return result;
+    }
+
+    /**
+     * Offers the points of a cell to the bounded max-heap of the k nearest
+     * candidates.
+     *
+     * @return the new heap size
+     */
+    private int offerCell(Cell cell, IntPredicate filter, double qx, double qy, double qz, int k,
+            int[] heapHandles, double[] heapDistances, int heapSize) {
+        for (int i = 0; i < cell.size; i++) {
+            int handle = cell.handles[i];
+            if (filter != null && !filter.test(handle)) {
+                continue;
+            }
+            double distance = coordinates.chordSquaredTo(handle, qx, qy, qz);
+            if (heapSize < k) {
+                heapHandles[heapSize] = handle;
+                heapDistances[heapSize] = distance;
+                siftUp(heapHandles, heapDistances, heapSize++);
+            } else if (distance < heapDistances[0]) {
+                heapHandles[0] = handle;
+                heapDistances[0] = distance;
+                siftDown(heapHandles, heapDistances, heapSize);
+            }
+        }
+        return heapSize;
+    }
+
+    /**
+     * Finds all points within a radius of a location that pass the filter.
+     *
+     * @param latitude latitude in degrees
+     * @param longitude longitude in degrees
+     * @param radiusKm radius in kilometers
+     * @param filter accepted handles (null accepts every point)
+     * @return handles ordered by increasing distance
+     */
+    public int[] withinRadius(double latitude, double longitude, double radiusKm, IntPredicate filter) {
+        int row = row(latitude);
+        int column = column(longitude);
+        double minCos = minCosLatitude(latitude);
+        double radiusRadians = radiusKm / GeoDistance.EARTH_RADIUS_KM;
+        // A longitude gap dLambda costs at least 2R * minCos * sin(dLambda / 2)
+        double lambdaRadians = (2.0 * minCos >= radiusRadians)
+                ? 2.0 * Math.asin(radiusRadians / (2.0 * minCos))
+                : Math.PI;
+        int rowRings = (int) Math.ceil(Math.toDegrees(radiusRadians) / cellSize);
+        int columnRings = (int) Math.ceil(Math.toDegrees(lambdaRadians) / cellSize);
+        int rowFrom = Math.max(row - rowRings, minRow);
+        int rowTo = Math.min(row + rowRings, maxRow);
+        int columnFrom = Math.max(column - columnRings, minColumn);
+        int columnTo = Math.min(column + columnRings, maxColumn);
+
+        Matches matches = new Matches();
+        if ((double) (rowTo - rowFrom + 1) * (columnTo - columnFrom + 1) > cells.size()) {
+            // The rectangle has more cells than are occupied: scan the occupied cells
+            for (Map.Entry<Long, Cell> entry : cells.entrySet()) {
+                int r = rowOf(entry.getKey());
+                int c = columnOf(entry.getKey());
+                if (r >= rowFrom && r <= rowTo && c >= columnFrom && c <= columnTo) {
+                    collectWithinRadius(entry.getValue(), latitude, longitude, radiusKm, filter, matches);
+                }
+            }
+        } else {
+            for (int r = rowFrom; r <= rowTo; r++) {
+                for (int c = columnFrom; c <= columnTo; c++) {
+                    Cell cell = cells.get(key(r, c));
+                    if (cell != null) {
+                        collectWithinRadius(cell, latitude, longitude, radiusKm, filter, matches);
+                    }
+                }
+            }
+        }
+
+        // Order by distance with an in-place heap sort on the parallel arrays
+        int[] found = matches.handles;
+        double[] distances = matches.distances;
+        int count = matches.size;
+        for (int i = 1; i < count; i++) {
+            siftUp(found, distances, i);
+        }
+        int[] result = new int[count];
+        for (int i = count - 1; i >= 0; i--) {
+            result[i] = found[0];
+            found[0] = found[i];
+            distances[0] = distances[i];
+            siftDown(found, distances, i);
+        }
+        return result;
+    }
+
+    /**
+     * Growable parallel arrays of handles and distances found by a radius
+     * query.
+     */
+    private static class Matches {
+
+        private int[] handles = new int[16];
+        private double[] distances = new double[16];
+        private int size = 0;
+
+        void add(int handle, double distance) {
+            if (size == handles.length) {
+                handles = Arrays.copyOf(handles, size * 2);
+                distances = Arrays.copyOf(distances, size * 2);
+            }
+            handles[size] = handle;
+            distances[size] = distance;
+            size++;
+        }
+    }
+
+    /**
+     * Adds the points of a cell within the radius that pass the filter.
+     */
+    private void collectWithinRadius(Cell cell, double latitude, double longitude, double radiusKm,
+            IntPredicate filter, Matches matches) {
+        for (int i = 0; i < cell.size; i++) {
+            int handle = cell.handles[i];
+            double distance = distanceTo(handle, latitude, longitude);
+            if (distance <= radiusKm && (filter == null || filter.test(handle))) {
+                matches.add(handle, distance);
+            }
+        }
+    }
+
+    /**
+     * Lowest cos(latitude) over the points and the query location, used to
+     * bound how short a longitude gap can be in kilometers.
+     */
+    private double minCosLatitude(double latitude) {
+        return Math.cos(GeoDistance.toRadians(Math.min(90.0, Math.max(maxAbsLatitude, Math.abs(latitude)))));
+    }
+
+    /**
+     * Lower bound on the distance to any point more than the given number of
+     * cells away in latitude or longitude: a latitude gap d costs R * d and a
+     * longitude gap d costs at least 2R * minCos * sin(d / 2).
+     */
+    private double minDistanceForCells(int cellCount, double minCos) {
+        double gap = Math.min(Math.PI, GeoDistance.toRadians(cellCount * cellSize));
+        double latitudeBound = GeoDistance.EARTH_RADIUS_KM * gap;
+        double longitudeBound = 2.0 * GeoDistance.EARTH_RADIUS_KM * minCos * Math.sin(gap * 0.5);
+        return Math.min(latitudeBound, longitudeBound);
+    }
+
+    private int row(double latitude) {
+        return (int) Math.floor(latitude / cellSize);
+    }
+
+    private int column(double longitude) {
+        return (int) Math.floor(longitude / cellSize);
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) | (column & 0xFFFFFFFFL);
+    }
+
+    private static int rowOf(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int columnOf(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Restores max-heap order upward from position i.
+     */
+    private static void siftUp(int[] handles, double[] distances, int i) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (distances[parent] >= distances[i]) {
+                break;
+            }
+            swap(handles, distances, i, parent);
+            i = parent;
+        }
+    }
+
+    /**
+     * Restores max-heap order downward from the root of a heap of given size.
+     */
+    private static void siftDown(int[] handles, double[] distances, int size) {
+        int i = 0;
+        while (2 * i + 1 < size) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && distances[child + 1] > distances[child]) {
+                child++;
+            }
+            if (distances[i] >= distances[child]) {
+                break;
+            }
+            swap(handles, distances, i, child);
+            i = child;
+        }
+    }
+
+    private static void swap(int[] handles, double[] distances, int i, int j) {
+        int handle = handles[i];
+        handles[i] = handles[j];
+        handles[j] = handle;
+        double distance = distances[i];
+        distances[i] = distances[j];
+        distances[j] = distance;
+    }
+}
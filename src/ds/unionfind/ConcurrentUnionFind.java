@@ -0,0 +1,130 @@
+/**
+ * Lock-free union-find for concurrent use
+ *
+ * @author Cullen Kelley
+ */
+package ds.unionfind;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Implementation of the union-find (disjoint sets) ADT over the elements
+ * 0..n-1 that many threads may use at once without locks. Parent links live
+ * in an AtomicIntegerArray:
+ *
+ * - find follows parent links and shortens the path as it goes (path halving);
+ * each shortcut is a compare-and-set, so a lost race only skips the shortcut
+ * - union links the root with the larger index under the root with the
+ * smaller index by compare-and-set on the root's link, retrying if another
+ * thread changed that root first; linking by index order never forms a cycle
+ *
+ * Every successful union returns true exactly once per merge, so concurrent
+ * callers can use the result to claim the merge.
+ * Operations: find, union, connected, count
+ */
+public class ConcurrentUnionFind {
+
+    /**
+     * parent link of each element (a root is its own parent)
+     */
+    private final AtomicIntegerArray parent;
+    /**
+     * current number of disjoint sets (components)
+     */
+    private final AtomicInteger count;
+
+    /**
+     * Constructor: creates n singleton sets 0..n-1.
+     *
+     * @param n the number of elements
+     * @throws IllegalArgumentException if n is negative
+     */
+    public ConcurrentUnionFind(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Number of elements must be non-negative: " + n);
+        }
+        parent = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++) {
+            parent.set(i, i);
+        }
+        count = new AtomicInteger(n);
+    }
+
+    /**
+     * Returns the number of disjoint sets.
+     *
+     * @return the number of components
+     */
+    public int count() {
+        return count.get();
+    }
+
+    /**
+     * Returns the root of the set containing p at the time of the call.
+     *
+     * @param p an element
+     * @return the root of the set containing p
+     */
+    public int find(int p) {
+        if (p < 0 || p >= parent.length()) {
+            throw new IllegalArgumentException("Element out of range: " + p);
+        }
+        while (true) {
+            int q = parent.get(p);
+            if (q == p) {
+                return p;
+            }
+            int r = parent.get(q);
+            if (q != r) {
+                parent.compareAndSet(p, q, r); // Path halving; losing the race is harmless
+            }
+            p = r;
+        }
+    }
+
+    /**
+     * Returns true if p and q are in the same set. Retries if a root changes
+     * during the check.
+     *
+     * @param p an element
+     * @param q an element
+     * @return true if p and q are connected
+     */
+    public boolean connected(int p, int q) {
+        while (true) {
+            int rootP = find(p);
+            int rootQ = find(q);
+            if (rootP == rootQ) {
+                return true;
+            }
+            if (parent.get(rootP) == rootP) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Merges the sets containing p and q.
+     *
+     * @param p an element
+     * @param q an element
+     * @return true if this call merged two different sets, false if they were
+     * already joined
+     */
+    public boolean union(int p, int q) {
+        while (true) {
+            int rootP = find(p);
+            int rootQ = find(q);
+            if (rootP == rootQ) {
+                return false;
+            }
+            int child = Math.max(rootP, rootQ);
+            int newParent = Math.min(rootP, rootQ);
+            if (parent.compareAndSet(child, child, newParent)) {
+                count.decrementAndGet();
+                return true;
+            }
+        }
+    }
+}
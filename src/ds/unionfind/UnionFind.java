@@ -0,0 +1,116 @@
+/**
+ * Union-find (disjoint sets) over primitive int arrays
+ *
+ * @author Cullen Kelley
+ */
+package ds.unionfind;
+
+/**
+ * Implementation of the union-find (disjoint sets) ADT over the elements
+ * 0..n-1 using weighted quick-union with path compression. The forest is stored
+ * in primitive int arrays (parent links and subtree sizes), so find and union
+ * run in near-constant amortized time without allocating objects.
+ * Operations: find, union, connected, count
+ */
+public class UnionFind {
+
+    /**
+     * parent link of each element (a root is its own parent)
+     */
+    private final int[] parent;
+    /**
+     * number of elements in the tree rooted at each root
+     */
+    private final int[] size;
+    /**
+     * current number of disjoint sets (components)
+     */
+    private int count;
+
+    /**
+     * Constructor: creates n singleton sets 0..n-1.
+     *
+     * @param n the number of elements
+     * @throws IllegalArgumentException if n is negative
+     */
+    public UnionFind(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Number of elements must be non-negative: " + n);
+        }
+        parent = new int[n];
+        size = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+        count = n;
+    }
+
+    /**
+     * Returns the number of disjoint sets.
+     *
+     * @return the number of components
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Returns the root (canonical element) of the set containing p. Compresses
+     * the path by pointing every visited element at the root.
+     *
+     * @param p an element
+     * @return the root of the set containing p
+     */
+    public int find(int p) {
+        if (p < 0 || p >= parent.length) {
+            throw new IllegalArgumentException("Element out of range: " + p);
+        }
+        int root = p;
+        while (root != parent[root]) {
+            root = parent[root];
+        }
+        while (p != root) {
+            int next = parent[p];
+            parent[p] = root;
+            p = next;
+        }
+        return root;
+    }
+
+    /**
+     * Returns true if p and q are in the same set.
+     *
+     * @param p an element
+     * @param q an element
+     * @return true if p and q are connected
+     */
+    public boolean connected(int p, int q) {
+        return find(p) == find(q);
+    }
+
+    /**
+     * Merges the sets containing p and q, linking the smaller tree under the
+     * root of the larger one.
+     *
+     * @param p an element
+     * @param q an element
+     * @return true if two different sets were merged, false if already joined
+     */
+    public boolean union(int p, int q) {
+        int rootP = find(p);
+        int rootQ = find(q);
+        if (rootP == rootQ) {
+            return false;
+        }
+        if (size[rootP] < size[rootQ]) {
+            parent[rootP] = rootQ;
+            size[rootQ] += size[rootP];
+        } else {
+            parent[rootQ] = rootP;
+            size[rootP] += size[rootQ];
+        }
+        count--;
+        return true;
+    }
+}
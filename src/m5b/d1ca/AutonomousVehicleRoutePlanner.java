@@ -1,6 +1,9 @@
 package m5b.d1ca;
 
 import ds.bag.Bag;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -22,8 +25,9 @@ public class AutonomousVehicleRoutePlanner {
         // Display required program header
         displayProgramHeader();
 
-        // Create and populate the gas station network
-        GasStationNetwork network = createRegionalGasStationNetwork();
+        // Create and populate the gas station network (or load it from the network file given as argument)
+        GasStationNetwork network = (args.length > 0) ? loadOrCreateNetwork(Path.of(args[0]))
+                : createRegionalGasStationNetwork();
 
         // Display the network structure
         network.displayNetwork();
@@ -77,6 +81,32 @@ public class AutonomousVehicleRoutePlanner {
         System.out.println();
     }
 
+    /**
+     * Loads the network from a binary station network file, or builds it in
+     * code and saves it there if the file does not exist yet.
+     *
+     * @param path Station network file
+     * @return Gas station network
+     */
+    private static GasStationNetwork loadOrCreateNetwork(Path path) {
+        try {
+            if (Files.exists(path)) {
+                long start = System.nanoTime();
+                GasStationNetwork network = StationNetworkFile.open(path).toNetwork();
+                System.out.println(String.format("Loaded %d stations and %d routes from %s in %.1f ms\n",
+                        network.getStationCount(), network.getRouteCount(), path, (System.nanoTime() - start) / 1e6));
+                return network;
+            }
+            GasStationNetwork network = createRegionalGasStationNetwork();
+            StationNetworkFile.write(network, path);
+            System.out.println("Saved network to " + path + "\n");
+            return network;
+        } catch (IOException e) {
+            System.err.println("Cannot use network file " + path + ": " + e.getMessage());
+            return createRegionalGasStationNetwork();
+        }
+    }
+
     /**
      * Creates a comprehensive gas station network for demonstration. Models a
      * realistic regional highway network with major gas station brands.
@@ -254,6 +284,21 @@ public class AutonomousVehicleRoutePlanner {
         System.out.println("Required Fuel: Diesel for commercial vehicle");
         RouteManager.RouteRecommendation route3 = routeManager.findOptimalRoute(3, 9, "Diesel");
         routeManager.displayRouteDetails(route3);
+        System.out.println();
+
+        // Scenario 4: Distance-optimal routing (weighted by geographic distance)
+        System.out.println("SCENARIO 4: Distance-Optimal Routing");
+        System.out.println("====================================");
+        System.out.println("Objective: Minimize kilometers driven instead of stops");
+        System.out.println("From: Station 1 (Shell at I-95 Exit 42)");
+        System.out.println("To: Station 10 (Exxon at Manassas Junction)");
+        System.out.println("Required Fuel: Electric charging capability");
+        RouteManager.RouteRecommendation route4 = routeManager.findShortestDistanceRoute(1, 10, "Electric",
+                WeightedRouter.Mode.DIJKSTRA);
+        routeManager.displayRouteDetails(route4);
+        RouteManager.RouteRecommendation route5 = routeManager.findShortestDistanceRoute(1, 10, "Electric",
+                WeightedRouter.Mode.A_STAR);
+        routeManager.displayRouteDetails(route5);
     }
 
     /**
@@ -0,0 +1,229 @@
+package m5b.d1ca;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bidirectional breadth-first search for point-to-point routing over a
+ * {@link CompactStationGraph}. One search grows from the start and one from
+ * the target, always expanding the smaller frontier one full level at a time,
+ * and the two meet in the middle. On large networks this explores a small
+ * fraction of the stations a one-sided BFS would visit for the same query.
+ *
+ * Work arrays are allocated once per engine and validated by an epoch stamp,
+ * so nothing is cleared between queries. Each query records how many stations
+ * were expanded and how large the frontiers grew. An engine is not
+ * thread-safe; use one engine per thread.
+ */
+public class BidirectionalStationBFS {
+
+    private final CompactStationGraph graph;
+
+    // Forward (from start) and backward (from target) search state
+    private final int[] forwardParent;
+    private final int[] backwardParent;
+    private final int[] forwardDistance;
+    private final int[] backwardDistance;
+    private final int[] forwardStamp;
+    private final int[] backwardStamp;
+    private final int[] forwardQueue;
+    private final int[] backwardQueue;
+    private int epoch;
+
+    // Instrumentation for the last query
+    private int nodesExpanded;
+    private int maxFrontierSize;
+    private int levelsExpanded;
+
+    /**
+     * Creates an engine sized for the given snapshot.
+     *
+     * @param graph CSR snapshot to search
+     */
+    public BidirectionalStationBFS(CompactStationGraph graph) {
+        this.graph = graph;
+        int stationCount = graph.getStationCount();
+        forwardParent = new int[stationCount];
+        backwardParent = new int[stationCount];
+        forwardDistance = new int[stationCount];
+        backwardDistance = new int[stationCount];
+        forwardStamp = new int[stationCount];
+        backwardStamp = new int[stationCount];
+        forwardQueue = new int[stationCount];
+        backwardQueue = new int[stationCount];
+        epoch = 0;
+    }
+
+    /**
+     * Gets the snapshot this engine searches.
+     *
+     * @return CSR snapshot
+     */
+    public CompactStationGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Finds a minimum-hop route between two stations.
+     *
+     * @param startId Starting gas station ID
+     * @param targetId Target gas station ID
+     * @return List of station IDs from start to target, or null if no route
+     * exists
+     */
+    public List<Integer> findRoute(int startId, int targetId) {
+        nodesExpanded = 0;
+        maxFrontierSize = 0;
+        levelsExpanded = 0;
+        int start = graph.indexOf(startId);
+        int target = graph.indexOf(targetId);
+        if (start < 0 || target < 0) {
+            return null;
+        }
+        if (start == target) {
+            List<Integer> samePath = new ArrayList<>();
+            samePath.add(startId);
+            return samePath;
+        }
+
+        nextEpoch();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+
+        forwardStamp[start] = epoch;
+        forwardDistance[start] = 0;
+        forwardParent[start] = start;
+        forwardQueue[0] = start;
+        int forwardHead = 0;
+        int forwardTail = 1;
+
+        backwardStamp[target] = epoch;
+        backwardDistance[target] = 0;
+        backwardParent[target] = target;
+        backwardQueue[0] = target;
+        int backwardHead = 0;
+        int backwardTail = 1;
+
+        int bestLength = Integer.MAX_VALUE;
+        int meetForward = -1;   // Last station of the forward half of the best route
+        int meetBackward = -1;  // First station of the backward half of the best route
+
+        while (forwardHead < forwardTail && backwardHead < backwardTail) {
+            boolean expandForward = (forwardTail - forwardHead) <= (backwardTail - backwardHead);
+            int[] queue = expandForward ? forwardQueue : backwardQueue;
+            int[] parent = expandForward ? forwardParent : backwardParent;
+            int[] distance = expandForward ? forwardDistance : backwardDistance;
+            int[] stamp = expandForward ? forwardStamp : backwardStamp;
+            int[] otherDistance = expandForward ? backwardDistance : forwardDistance;
+            int[] otherStamp = expandForward ? backwardStamp : forwardStamp;
+            int head = expandForward ? forwardHead : backwardHead;
+            int tail = expandForward ? forwardTail : backwardTail;
+
+            // Expand exactly one level of the chosen side
+            int levelEnd = tail;
+            maxFrontierSize = Math.max(maxFrontierSize, levelEnd - head);
+            levelsExpanded++;
+            while (head < levelEnd) {
+                int v = queue[head++];
+                nodesExpanded++;
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    int w = targets[e];
+                    if (otherStamp[w] == epoch) {
+                        int length = distance[v] + 1 + otherDistance[w];
+                        if (length < bestLength) {
+                            bestLength = length;
+                            meetForward = expandForward ? v : w;
+                            meetBackward = expandForward ? w : v;
+                        }
+                    }
+                    if (stamp[w] != epoch) {
+                        stamp[w] = epoch;
+                        distance[w] = distance[v] + 1;
+                        parent[w] = v;
+                        queue[tail++] = w;
+                    }
+                }
+            }
+
+            if (expandForward) {
+                forwardHead = head;
+                forwardTail = tail;
+            } else {
+                backwardHead = head;
+                backwardTail = tail;
+            }
+
+            // The first level that connects the searches contains a shortest route
+            if (meetForward != -1) {
+                return buildPath(start, target, meetForward, meetBackward);
+            }
+        }
+        return null; // No route found
+    }
+
+    /**
+     * Gets the number of stations expanded (dequeued) by the last query, over
+     * both directions.
+     *
+     * @return Expanded station count
+     */
+    public int getNodesExpanded() {
+        return nodesExpanded;
+    }
+
+    /**
+     * Gets the largest frontier (one BFS level of one direction) expanded by
+     * the last query.
+     *
+     * @return Maximum frontier size
+     */
+    public int getMaxFrontierSize() {
+        return maxFrontierSize;
+    }
+
+    /**
+     * Gets the number of BFS levels expanded by the last query, over both
+     * directions.
+     *
+     * @return Level count
+     */
+    public int getLevelsExpanded() {
+        return levelsExpanded;
+    }
+
+    /**
+     * Joins the forward half (start..meetForward) and the backward half
+     * (meetBackward..target) into one path of station IDs, filled front to
+     * back in linear time.
+     */
+    private List<Integer> buildPath(int start, int target, int meetForward, int meetBackward) {
+        int forwardLength = forwardDistance[meetForward] + 1;
+        int backwardLength = backwardDistance[meetBackward] + 1;
+        Integer[] path = new Integer[forwardLength + backwardLength];
+
+        int node = meetForward;
+        for (int i = forwardLength - 1; i >= 0; i--) {
+            path[i] = graph.stationIdAt(node);
+            node = forwardParent[node];
+        }
+        node = meetBackward;
+        for (int i = forwardLength; i < path.length; i++) {
+            path[i] = graph.stationIdAt(node);
+            node = backwardParent[node];
+        }
+        return new ArrayList<>(Arrays.asList(path));
+    }
+
+    /**
+     * Advances the epoch stamp, resetting the stamp arrays only on overflow.
+     */
+    private void nextEpoch() {
+        epoch++;
+        if (epoch == Integer.MAX_VALUE) {
+            Arrays.fill(forwardStamp, 0);
+            Arrays.fill(backwardStamp, 0);
+            epoch = 1;
+        }
+    }
+}
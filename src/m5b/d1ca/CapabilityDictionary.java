@@ -0,0 +1,117 @@
+package m5b.d1ca;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Global dictionary that interns station capability names (fuel types,
+ * amenities) into small integer codes. A code is a bit position, so the set of
+ * capabilities of a station fits in a single long bitmask and membership tests
+ * become a bit test instead of a String comparison per entry. The dictionary
+ * has no fixed capacity: codes from 64 on (rare in practice) are kept by the
+ * stations in a BitSet next to the long mask.
+ *
+ * Interning is synchronized; lookups of already interned names are safe from
+ * any thread.
+ */
+public class CapabilityDictionary {
+
+    /**
+     * Number of codes that fit in a long mask.
+     */
+    public static final int MASK_BITS = 64;
+
+    /**
+     * Shared dictionary for fuel types (e.g. "Regular", "Diesel").
+     */
+    public static final CapabilityDictionary FUEL_TYPES = new CapabilityDictionary("fuel type");
+
+    /**
+     * Shared dictionary for amenities (e.g. "Car Wash", "Restrooms").
+     */
+    public static final CapabilityDictionary AMENITIES = new CapabilityDictionary("amenity");
+
+    private final String kind;
+    private volatile Map<String, Integer> codes;   // Replaced (copy-on-write) when a name is added
+    private final List<String> names;
+
+    private CapabilityDictionary(String kind) {
+        this.kind = kind;
+        this.codes = new HashMap<>();
+        this.names = new ArrayList<>();
+    }
+
+    /**
+     * Returns the code of a name, assigning the next free code if the name is
+     * new.
+     *
+     * @param name Capability name
+     * @return Code (bit position), 0 for the first name
+     */
+    public int intern(String name) {
+        Integer code = codes.get(name);
+        if (code != null) {
+            return code;
+        }
+        synchronized (this) {
+            code = codes.get(name);
+            if (code != null) {
+                return code;
+            }
+            Map<String, Integer> updated = new HashMap<>(codes);
+            updated.put(name, names.size());
+            names.add(name);
+            codes = updated;
+            return names.size() - 1;
+        }
+    }
+
+    /**
+     * Returns the code of a name without interning it.
+     *
+     * @param name Capability name
+     * @return Code, or -1 if the name has never been interned
+     */
+    public int codeOf(String name) {
+        Integer code = codes.get(name);
+        return (code == null) ? -1 : code;
+    }
+
+    /**
+     * Returns the bitmask with only the bit of a name set.
+     *
+     * @param name Capability name
+     * @return Single-bit mask, or 0 if the name has never been interned or its
+     * code does not fit in a long mask
+     */
+    public long maskOf(String name) {
+        int code = codeOf(name);
+        return (code < 0 || code >= MASK_BITS) ? 0L : (1L << code);
+    }
+
+    /**
+     * Returns the name interned under a code.
+     *
+     * @param code Code 0..size()-1
+     * @return Capability name
+     */
+    public synchronized String nameOf(int code) {
+        return names.get(code);
+    }
+
+    /**
+     * Gets the number of interned names.
+     *
+     * @return Number of codes in use
+     */
+    public synchronized int size() {
+        return names.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "CapabilityDictionary[" + kind + ", " + names.size() + " names]";
+    }
+}
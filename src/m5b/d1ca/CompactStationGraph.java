@@ -0,0 +1,165 @@
+package m5b.d1ca;
+
+import ds.bag.Bag;
+import ds.spatial.GeoCoordinates;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Read-only compressed sparse row (CSR) snapshot of a gas station network.
+ * Stations are renumbered with dense indices 0..V-1 (in increasing station ID
+ * order) and the neighbors of station index v are stored in
+ * targets[offsets[v]] .. targets[offsets[v + 1] - 1], in the same order as the
+ * Bag adjacency list they were copied from. Traversals over the snapshot touch
+ * only primitive arrays: no boxing, no HashMap lookups and no iterators.
+ * Station coordinates are copied into a {@link GeoCoordinates} store in the
+ * same dense order, so distances can be computed by index.
+ *
+ * Snapshots are built with {@link GasStationNetwork#freeze()} and do not see
+ * later changes to the network.
+ */
+public class CompactStationGraph {
+
+    private final int[] offsets;        // V + 1 row offsets into targets
+    private final int[] targets;        // 2E neighbor indices (undirected)
+    private final int[] stationIds;     // Dense index -> station ID
+    private final int[] indexOfId;      // Station ID -> dense index (-1 if absent)
+    private final GasStation[] stations; // Dense index -> GasStation object
+    private final GeoCoordinates coordinates; // Dense index -> cached coordinates
+
+    /**
+     * Builds a snapshot from the station map and Bag adjacency lists of a
+     * network.
+     *
+     * @param network The network to snapshot
+     * @param adjacencyList The network's adjacency lists keyed by station ID
+     */
+    CompactStationGraph(GasStationNetwork network, Map<Integer, Bag<Integer>> adjacencyList) {
+        int stationCount = network.getStationCount();
+        stationIds = new int[stationCount];
+        stations = new GasStation[stationCount];
+
+        int i = 0;
+        int maxId = -1;
+        for (GasStation station : network.getAllGasStations()) {
+            stationIds[i++] = station.getStationId();
+            maxId = Math.max(maxId, station.getStationId());
+        }
+        Arrays.sort(stationIds);
+
+        indexOfId = new int[maxId + 1];
+        Arrays.fill(indexOfId, -1);
+        coordinates = new GeoCoordinates(stationCount);
+        for (int v = 0; v < stationCount; v++) {
+            indexOfId[stationIds[v]] = v;
+            stations[v] = network.getGasStation(stationIds[v]);
+            coordinates.add(stations[v].getLatitude(), stations[v].getLongitude());
+        }
+
+        // First pass: degrees become row offsets
+        offsets = new int[stationCount + 1];
+        for (int v = 0; v < stationCount; v++) {
+            offsets[v + 1] = offsets[v] + adjacencyList.get(stationIds[v]).size();
+        }
+
+        // Second pass: copy neighbor IDs as dense indices
+        targets = new int[offsets[stationCount]];
+        for (int v = 0; v < stationCount; v++) {
+            int e = offsets[v];
+            for (int neighborId : adjacencyList.get(stationIds[v])) {
+                targets[e++] = indexOfId[neighborId];
+            }
+        }
+    }
+
+    /**
+     * Gets the number of stations (vertices) in the snapshot.
+     *
+     * @return Number of stations
+     */
+    public int getStationCount() {
+        return stationIds.length;
+    }
+
+    /**
+     * Gets the number of routes (undirected edges) in the snapshot.
+     *
+     * @return Number of routes
+     */
+    public int getRouteCount() {
+        return targets.length / 2;
+    }
+
+    /**
+     * Converts a station ID to its dense index.
+     *
+     * @param stationId Station ID
+     * @return Dense index, or -1 if the station is not in the snapshot
+     */
+    public int indexOf(int stationId) {
+        if (stationId < 0 || stationId >= indexOfId.length) {
+            return -1;
+        }
+        return indexOfId[stationId];
+    }
+
+    /**
+     * Converts a dense index back to the station ID.
+     *
+     * @param index Dense index
+     * @return Station ID
+     */
+    public int stationIdAt(int index) {
+        return stationIds[index];
+    }
+
+    /**
+     * Gets the GasStation object at a dense index.
+     *
+     * @param index Dense index
+     * @return GasStation object
+     */
+    public GasStation stationAt(int index) {
+        return stations[index];
+    }
+
+    /**
+     * Gets the station coordinates, indexed by dense index.
+     *
+     * @return Coordinate store of the snapshot
+     */
+    public GeoCoordinates getCoordinates() {
+        return coordinates;
+    }
+
+    /**
+     * Gets the number of direct routes of a station.
+     *
+     * @param index Dense index
+     * @return Degree of the station
+     */
+    public int degree(int index) {
+        return offsets[index + 1] - offsets[index];
+    }
+
+    /**
+     * Gets the row offsets array (length V + 1). The neighbors of index v are
+     * targets[offsets[v]] up to (excluding) targets[offsets[v + 1]]. The array
+     * is shared, not copied, and must not be modified.
+     *
+     * @return Row offsets
+     */
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    /**
+     * Gets the neighbor array (length 2E) holding dense indices. The array is
+     * shared, not copied, and must not be modified.
+     *
+     * @return Neighbor indices
+     */
+    public int[] getTargets() {
+        return targets;
+    }
+}
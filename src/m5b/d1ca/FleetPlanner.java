@@ -0,0 +1,183 @@
+package m5b.d1ca;
+
+import ds.bitset.CompactBitSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.PriorityQueue;
+
+/**
+ * Fleet placement engine over a {@link CompactStationGraph}: chooses the
+ * stations at which to park vehicles so that as many stations as possible are
+ * within maxHops of some vehicle (greedy maximum coverage).
+ *
+ * The k-hop neighborhood of every station comes from a {@link KHopTable},
+ * computed once (or shared with the network's precomputed table). Placement is
+ * lazy greedy: every candidate sits in a priority queue keyed by an upper
+ * bound of its marginal gain (coverage only shrinks, so an old gain is a valid
+ * bound). The top candidate's gain is recomputed with one bit set operation;
+ * if it is still at least the next bound it is selected, otherwise it goes
+ * back with the new bound. Most candidates are therefore evaluated only once
+ * or twice per placement run instead of once per vehicle. Greedy coverage is
+ * within a factor 1 - 1/e of the best possible.
+ *
+ * Only stations operational at the time of a placement run host vehicles
+ * (opening or closing a station does not change the snapshot, so the flags are
+ * read on every run); every station counts for coverage. An engine is not
+ * thread-safe.
+ */
+public class FleetPlanner {
+
+    private final KHopTable table;
+
+    /**
+     * Result of a placement run.
+     */
+    public static class Placement {
+
+        private final int[] stations;
+        private final int[] gains;
+        private final int coveredStations;
+        private final int evaluations;
+
+        private Placement(int[] stations, int[] gains, int coveredStations, int evaluations) {
+            this.stations = stations;
+            this.gains = gains;
+            this.coveredStations = coveredStations;
+            this.evaluations = evaluations;
+        }
+
+        /**
+         * Gets the chosen stations, in the order they were chosen.
+         *
+         * @return Dense station indices
+         */
+        public int[] getStations() {
+            return stations.clone();
+        }
+
+        /**
+         * Gets the number of stations each vehicle newly covered when placed.
+         *
+         * @return Marginal gains, parallel to getStations()
+         */
+        public int[] getGains() {
+            return gains.clone();
+        }
+
+        /**
+         * Gets the number of stations within reach of at least one vehicle.
+         *
+         * @return Covered station count
+         */
+        public int getCoveredStations() {
+            return coveredStations;
+        }
+
+        /**
+         * Gets the number of marginal gain evaluations the lazy greedy search
+         * needed.
+         *
+         * @return Evaluation count
+         */
+        public int getEvaluations() {
+            return evaluations;
+        }
+    }
+
+    /**
+     * Creates an engine and precomputes the neighborhoods of all stations.
+     *
+     * @param graph CSR snapshot to plan on
+     * @param maxHops Coverage radius in hops
+     */
+    public FleetPlanner(CompactStationGraph graph, int maxHops) {
+        this(new KHopTable(graph, maxHops));
+    }
+
+    /**
+     * Creates an engine over an existing k-hop table.
+     *
+     * @param table Precomputed neighborhoods; its radius is the coverage radius
+     */
+    public FleetPlanner(KHopTable table) {
+        this.table = table;
+    }
+
+    /**
+     * Gets the snapshot this engine plans on.
+     *
+     * @return CSR snapshot
+     */
+    public CompactStationGraph getGraph() {
+        return table.getGraph();
+    }
+
+    /**
+     * Gets the coverage radius.
+     *
+     * @return Hops
+     */
+    public int getMaxHops() {
+        return table.getMaxHops();
+    }
+
+    /**
+     * Places up to fleetSize vehicles, one per operational station, by lazy
+     * greedy maximum coverage. Ties go to the lower station index.
+     *
+     * @param fleetSize Number of vehicles
+     * @return Placement of min(fleetSize, operational stations) vehicles
+     */
+    public Placement place(int fleetSize) {
+        int[] candidates = operationalStations();
+        int vehicles = Math.max(0, Math.min(fleetSize, candidates.length));
+        int[] chosen = new int[vehicles];
+        int[] gains = new int[vehicles];
+        BitSet covered = new BitSet(table.getGraph().getStationCount());
+        int evaluations = 0;
+
+        // Key = (Integer.MAX_VALUE - bound) << 32 | candidate: smallest key = largest bound, lowest index
+        PriorityQueue<Long> queue = new PriorityQueue<>(Math.max(1, candidates.length));
+        for (int c = 0; c < candidates.length; c++) {
+            queue.add(key(table.reachableCount(candidates[c]), c));
+        }
+
+        for (int vehicle = 0; vehicle < vehicles; vehicle++) {
+            while (true) {
+                int c = (int) (long) queue.poll();
+                CompactBitSet neighborhood = table.neighborhood(candidates[c]);
+                int gain = neighborhood.andNotCardinality(covered);
+                evaluations++;
+                long updated = key(gain, c);
+                if (queue.isEmpty() || updated <= queue.peek()) {
+                    chosen[vehicle] = candidates[c];
+                    gains[vehicle] = gain;
+                    neighborhood.orInto(covered);
+                    break;
+                }
+                queue.add(updated);
+            }
+        }
+        return new Placement(chosen, gains, covered.cardinality(), evaluations);
+    }
+
+    /**
+     * Returns the currently operational stations, in increasing dense index.
+     */
+    private int[] operationalStations() {
+        CompactStationGraph graph = table.getGraph();
+        int stationCount = graph.getStationCount();
+        int[] operational = new int[stationCount];
+        int count = 0;
+        for (int v = 0; v < stationCount; v++) {
+            if (graph.stationAt(v).isOperational()) {
+                operational[count++] = v;
+            }
+        }
+        return Arrays.copyOf(operational, count);
+    }
+
+    private static long key(int bound, int candidate) {
+        return ((long) (Integer.MAX_VALUE - bound) << 32) | candidate;
+    }
+}
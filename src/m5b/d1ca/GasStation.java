@@ -2,12 +2,17 @@ package m5b.d1ca;
 
 import ds.bag.Bag;
 import ds.bag.FixedCapacityBag;
+import ds.spatial.GeoDistance;
+import java.util.BitSet;
 
 /**
  * Represents a gas station in the autonomous vehicle route planning network.
  * Each gas station serves as a vertex in the undirected graph, containing
  * location information, available fuel types, and station amenities. Uses the
- * standard Bag implementation for storing fuel types and amenities.
+ * standard Bag implementation for storing fuel types and amenities, and mirrors
+ * them as bitmasks over the global CapabilityDictionary codes for constant-time
+ * lookups. Codes 0..63 live in a long; any higher codes go to a BitSet that is
+ * only allocated when needed.
  */
 public class GasStation {
 
@@ -16,9 +21,17 @@ public class GasStation {
     private String location;
     private double latitude;
     private double longitude;
+    private final double latitudeRadians;   // Cached for GeoDistance
+    private final double longitudeRadians;
+    private final double cosLatitude;
     private Bag<String> fuelTypes;      // Uses standard Bag implementation
     private Bag<String> amenities;      // Uses standard Bag implementation
+    private long fuelTypeMask;          // Bits from CapabilityDictionary.FUEL_TYPES
+    private long amenityMask;           // Bits from CapabilityDictionary.AMENITIES
+    private BitSet fuelTypeOverflow;    // Fuel type codes from 64 on, or null
+    private BitSet amenityOverflow;     // Amenity codes from 64 on, or null
     private boolean isOperational;
+    private GasStationNetwork network;  // Owning network, notified of capability changes
 
     /**
      * Constructs a new gas station with specified properties.
@@ -36,6 +49,9 @@ public class GasStation {
         this.location = location;
         this.latitude = latitude;
         this.longitude = longitude;
+        this.latitudeRadians = GeoDistance.toRadians(latitude);
+        this.longitudeRadians = GeoDistance.toRadians(longitude);
+        this.cosLatitude = Math.cos(latitudeRadians);
         this.fuelTypes = new FixedCapacityBag<>(10);    // Max 10 fuel types
         this.amenities = new FixedCapacityBag<>(20);    // Max 20 amenities
         this.isOperational = true;
@@ -52,7 +68,18 @@ public class GasStation {
             fuelTypes.add(fuelType);
         } catch (RuntimeException e) {
             System.err.println("Cannot add fuel type - bag is full: " + fuelType);
+            return;
         }
+        int code = CapabilityDictionary.FUEL_TYPES.intern(fuelType);
+        if (code < CapabilityDictionary.MASK_BITS) {
+            fuelTypeMask |= 1L << code;
+        } else {
+            if (fuelTypeOverflow == null) {
+                fuelTypeOverflow = new BitSet();
+            }
+            fuelTypeOverflow.set(code);
+        }
+        capabilitiesChanged();
     }
 
     /**
@@ -65,7 +92,18 @@ public class GasStation {
             amenities.add(amenity);
         } catch (RuntimeException e) {
             System.err.println("Cannot add amenity - bag is full: " + amenity);
+            return;
         }
+        int code = CapabilityDictionary.AMENITIES.intern(amenity);
+        if (code < CapabilityDictionary.MASK_BITS) {
+            amenityMask |= 1L << code;
+        } else {
+            if (amenityOverflow == null) {
+                amenityOverflow = new BitSet();
+            }
+            amenityOverflow.set(code);
+        }
+        capabilitiesChanged();
     }
 
     /**
@@ -75,12 +113,8 @@ public class GasStation {
      * @return true if fuel type is available, false otherwise
      */
     public boolean hasFuelType(String fuelType) {
-        for (String fuel : fuelTypes) {
-            if (fuel.equals(fuelType)) {
-                return true;
-            }
-        }
-        return false;
+        int code = CapabilityDictionary.FUEL_TYPES.codeOf(fuelType);
+        return code >= 0 && hasFuelTypeCode(code);
     }
 
     /**
@@ -90,12 +124,55 @@ public class GasStation {
      * @return true if amenity is available, false otherwise
      */
     public boolean hasAmenity(String amenity) {
-        for (String available : amenities) {
-            if (available.equals(amenity)) {
-                return true;
-            }
+        int code = CapabilityDictionary.AMENITIES.codeOf(amenity);
+        return code >= 0 && hasAmenityCode(code);
+    }
+
+    /**
+     * Checks if this station offers the fuel type with a given code.
+     *
+     * @param code Code in CapabilityDictionary.FUEL_TYPES
+     * @return true if fuel type is available, false otherwise
+     */
+    public boolean hasFuelTypeCode(int code) {
+        return hasCode(fuelTypeMask, fuelTypeOverflow, code);
+    }
+
+    /**
+     * Checks if this station has the amenity with a given code.
+     *
+     * @param code Code in CapabilityDictionary.AMENITIES
+     * @return true if amenity is available, false otherwise
+     */
+    public boolean hasAmenityCode(int code) {
+        return hasCode(amenityMask, amenityOverflow, code);
+    }
+
+    private static boolean hasCode(long mask, BitSet overflow, int code) {
+        if (code < CapabilityDictionary.MASK_BITS) {
+            return (mask & (1L << code)) != 0;
         }
-        return false;
+        return overflow != null && overflow.get(code);
+    }
+
+    /**
+     * Notifies the owning network (if any) that fuel types or amenities
+     * changed, so its capability index is rebuilt on next use.
+     */
+    private void capabilitiesChanged() {
+        if (network != null) {
+            network.capabilitiesChanged();
+        }
+    }
+
+    /**
+     * Registers the network that owns this station. Called by
+     * GasStationNetwork when the station is created.
+     *
+     * @param network Owning network
+     */
+    void attachTo(GasStationNetwork network) {
+        this.network = network;
     }
 
     // Getter methods for station properties
@@ -131,6 +208,44 @@ public class GasStation {
         return amenities;
     }
 
+    /**
+     * Gets the fuel types of this station as a bitmask over the codes of
+     * CapabilityDictionary.FUEL_TYPES below 64.
+     *
+     * @return Fuel type bitmask
+     */
+    public long getFuelTypeMask() {
+        return fuelTypeMask;
+    }
+
+    /**
+     * Gets the amenities of this station as a bitmask over the codes of
+     * CapabilityDictionary.AMENITIES below 64.
+     *
+     * @return Amenity bitmask
+     */
+    public long getAmenityMask() {
+        return amenityMask;
+    }
+
+    /**
+     * Gets the fuel type codes of 64 and above (shared, not copied).
+     *
+     * @return Bit set of codes, or null if there are none
+     */
+    BitSet getFuelTypeOverflow() {
+        return fuelTypeOverflow;
+    }
+
+    /**
+     * Gets the amenity codes of 64 and above (shared, not copied).
+     *
+     * @return Bit set of codes, or null if there are none
+     */
+    BitSet getAmenityOverflow() {
+        return amenityOverflow;
+    }
+
     // Setter methods
     public void setOperational(boolean operational) {
         this.isOperational = operational;
@@ -145,16 +260,15 @@ public class GasStation {
     }
 
     /**
-     * Calculates approximate distance to another gas station using coordinates.
-     * This is a simplified distance calculation for route planning purposes.
+     * Calculates the great-circle (haversine) distance to another gas station
+     * using the radians and cos(latitude) cached at construction.
      *
      * @param other Another gas station
-     * @return Approximate distance in kilometers
+     * @return Distance in kilometers
      */
     public double getDistanceTo(GasStation other) {
-        double latDiff = this.latitude - other.latitude;
-        double lonDiff = this.longitude - other.longitude;
-        return Math.sqrt(latDiff * latDiff + lonDiff * lonDiff) * 111.0; // Rough km conversion
+        return GeoDistance.haversineRadians(latitudeRadians, longitudeRadians, cosLatitude,
+                other.latitudeRadians, other.longitudeRadians, other.cosLatitude);
     }
 
     /**
@@ -2,7 +2,9 @@ package m5b.d1ca;
 
 import ds.bag.Bag;
 import ds.bag.FixedCapacityBag;
+import ds.spatial.PointGrid;
 import java.util.*;
+import java.util.function.IntPredicate;
 
 /**
  * Represents a gas station network as an undirected graph for autonomous
@@ -16,6 +18,15 @@ public class GasStationNetwork {
     private Map<Integer, GasStation> stations;      // Maps station ID to GasStation object
     private Map<Integer, Bag<Integer>> adjacencyList; // Uses standard Bag for neighbors
     private int nextStationId;                       // Auto-incrementing station ID
+    private int modificationCount;                   // Bumped on every structural change
+    private CompactStationGraph snapshot;            // Cached CSR snapshot (see freeze())
+    private int snapshotModificationCount;           // modificationCount when snapshot was built
+    private int capabilityModificationCount;         // Bumped when a station's fuel/amenities change
+    private CapabilityIndex capabilityIndex;         // Cached inverted index (see getStationsWithFuelType())
+    private StationConnectivity connectivity;        // Cached components and critical stations
+    private KHopTable kHopTable;                     // Optional precomputed reachability (see precomputeKHopTable())
+    private PointGrid spatialIndex;                  // Station coordinates, maintained on addGasStation
+    private List<GasStation> stationsBySpatialHandle; // Spatial index handle -> GasStation
 
     /**
      * Constructs an empty gas station network. Initializes the graph structure
@@ -26,6 +37,10 @@ public class GasStationNetwork {
         stations = new HashMap<>();
         adjacencyList = new HashMap<>();
         nextStationId = 1;
+        modificationCount = 0;
+        snapshot = null;
+        spatialIndex = new PointGrid();
+        stationsBySpatialHandle = new ArrayList<>();
     }
 
     /**
@@ -42,11 +57,15 @@ public class GasStationNetwork {
         GasStation newStation = new GasStation(nextStationId, stationName, location,
                 latitude, longitude);
         stations.put(nextStationId, newStation);
+        newStation.attachTo(this);
+        spatialIndex.add(latitude, longitude);
+        stationsBySpatialHandle.add(newStation);
 
         // Initialize adjacency bag with reasonable capacity for gas station connections
         adjacencyList.put(nextStationId, new FixedCapacityBag<>(50));
 
         nextStationId++;
+        modificationCount++;
         return newStation;
     }
 
@@ -82,6 +101,7 @@ public class GasStationNetwork {
             // Add undirected edge using Bag implementation
             adjacencyList.get(stationId1).add(stationId2);
             adjacencyList.get(stationId2).add(stationId1);
+            modificationCount++;
             return true;
         } catch (RuntimeException e) {
             System.err.println("Error adding route: " + e.getMessage());
@@ -89,6 +109,20 @@ public class GasStationNetwork {
         }
     }
 
+    /**
+     * Appends one direction of a route to a station's adjacency list, without
+     * the validation and duplicate check of addRoute. Used by
+     * StationNetworkFile, which stores both directions of every route in
+     * adjacency list order.
+     *
+     * @param stationId ID of the station
+     * @param neighborId ID of the neighboring station
+     */
+    void appendNeighbor(int stationId, int neighborId) {
+        adjacencyList.get(stationId).add(neighborId);
+        modificationCount++;
+    }
+
     /**
      * Removes a direct route between two gas stations. Note: Since Bag ADT
      * doesn't support removal, this creates a new Bag without the specified
@@ -106,6 +140,7 @@ public class GasStationNetwork {
         // Since Bag doesn't support removal, we reconstruct the bags
         adjacencyList.put(stationId1, rebuildBagWithout(adjacencyList.get(stationId1), stationId2));
         adjacencyList.put(stationId2, rebuildBagWithout(adjacencyList.get(stationId2), stationId1));
+        modificationCount++;
 
         return true;
     }
@@ -183,61 +218,77 @@ public class GasStationNetwork {
     /**
      * Performs Breadth-First Search starting from a specific gas station. This
      * is the core algorithm for autonomous vehicle route planning, finding the
-     * shortest path (minimum hops) between stations.
+     * shortest path (minimum hops) between stations. This variant traces every
+     * explored station and discovered route to the console; hot paths should
+     * use {@link #breadthFirstSearch(int, int, StationVisitor)} or a
+     * {@link StationBFS} engine directly.
      *
      * @param startStationId ID of the starting gas station
      * @param maxDistance Maximum number of hops to explore
      * @return Map of station IDs to their distance from start station
      */
     public Map<Integer, Integer> breadthFirstSearch(int startStationId, int maxDistance) {
-        Map<Integer, Integer> distances = new HashMap<>();
-        Queue<Integer> queue = new LinkedList<>();
-        Set<Integer> visited = new HashSet<>();
-
-        // Initialize BFS from starting station
-        queue.offer(startStationId);
-        visited.add(startStationId);
-        distances.put(startStationId, 0);
-
+        CompactStationGraph graph = freeze();
         System.out.println("\n=== BFS ROUTE EXPLORATION ===");
         System.out.println("Starting from: " + stations.get(startStationId).getCompactInfo());
         System.out.println("Maximum exploration distance: " + maxDistance + " hops");
         System.out.println("\nBFS Traversal Progress:");
 
-        while (!queue.isEmpty()) {
-            int currentStationId = queue.poll();
-            int currentDistance = distances.get(currentStationId);
-
-            System.out.println("  Exploring: " + stations.get(currentStationId).getCompactInfo()
-                    + " (Distance: " + currentDistance + " hops)");
-
-            // Stop if we've reached maximum distance
-            if (currentDistance >= maxDistance) {
-                continue;
+        Map<Integer, Integer> distances = breadthFirstSearch(startStationId, maxDistance, new StationVisitor() {
+            @Override
+            public void onExplore(int index, int distance) {
+                System.out.println("  Exploring: " + graph.stationAt(index).getCompactInfo()
+                        + " (Distance: " + distance + " hops)");
             }
 
-            // Explore all directly connected stations using Bag
-            Bag<Integer> neighbors = adjacencyList.get(currentStationId);
-            for (int neighborId : neighbors) {
-                if (!visited.contains(neighborId)) {
-                    visited.add(neighborId);
-                    distances.put(neighborId, currentDistance + 1);
-                    queue.offer(neighborId);
-
-                    System.out.println("    Found route to: "
-                            + stations.get(neighborId).getCompactInfo()
-                            + " (Distance: " + (currentDistance + 1) + " hops)");
-                }
+            @Override
+            public void onDiscover(int fromIndex, int toIndex, int distance) {
+                System.out.println("    Found route to: " + graph.stationAt(toIndex).getCompactInfo()
+                        + " (Distance: " + distance + " hops)");
             }
-        }
+        });
 
         System.out.println("BFS Complete. Explored " + distances.size() + " stations.");
         return distances;
     }
 
+    /**
+     * Performs a silent Breadth-First Search starting from a specific gas
+     * station. Events are only reported to the visitor, if one is given.
+     *
+     * @param startStationId ID of the starting gas station
+     * @param maxDistance Maximum number of hops to explore
+     * @param visitor Optional trace listener (null for no tracing)
+     * @return Map of station IDs to their distance from start station
+     */
+    public Map<Integer, Integer> breadthFirstSearch(int startStationId, int maxDistance, StationVisitor visitor) {
+        StationBFS engine = createSearchEngine();
+        CompactStationGraph graph = engine.getGraph();
+        int reached = engine.search(graph.indexOf(startStationId), maxDistance, visitor);
+
+        Map<Integer, Integer> distances = new HashMap<>();
+        for (int i = 0; i < reached; i++) {
+            int index = engine.reachedAt(i);
+            distances.put(graph.stationIdAt(index), engine.distanceTo(index));
+        }
+        return distances;
+    }
+
+    /**
+     * Creates a reusable, silent BFS engine over the current CSR snapshot.
+     * Callers that search repeatedly should keep the engine and reuse it.
+     *
+     * @return New search engine for the current network
+     */
+    public StationBFS createSearchEngine() {
+        return new StationBFS(freeze());
+    }
+
     /**
      * Finds the shortest route between two gas stations using BFS. Critical for
-     * autonomous vehicles to plan efficient refueling routes.
+     * autonomous vehicles to plan efficient refueling routes. Runs over the CSR
+     * snapshot with primitive parent and queue arrays, and rebuilds the path in
+     * linear time.
      *
      * @param startId Starting gas station ID
      * @param targetId Target gas station ID
@@ -255,37 +306,34 @@ public class GasStationNetwork {
             return samePath;
         }
 
-        Map<Integer, Integer> parent = new HashMap<>();
-        Queue<Integer> queue = new LinkedList<>();
-        Set<Integer> visited = new HashSet<>();
+        CompactStationGraph graph = freeze();
+        int start = graph.indexOf(startId);
+        int target = graph.indexOf(targetId);
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] parent = new int[graph.getStationCount()];
+        int[] queue = new int[graph.getStationCount()];
+        Arrays.fill(parent, -1);
 
-        queue.offer(startId);
-        visited.add(startId);
-        parent.put(startId, null);
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        parent[start] = start;
 
         // BFS to find shortest path
-        while (!queue.isEmpty()) {
-            int current = queue.poll();
-
-            if (current == targetId) {
-                // Reconstruct path from target back to start
-                List<Integer> path = new ArrayList<>();
-                int node = targetId;
-                while (node != -1) {
-                    path.add(0, node); // Add to beginning
-                    Integer parentNode = parent.get(node);
-                    node = (parentNode == null) ? -1 : parentNode;
-                }
-                return path;
+        while (head < tail) {
+            int current = queue[head++];
+
+            if (current == target) {
+                return buildPath(graph, parent, start, target);
             }
 
-            // Explore neighbors using Bag
-            Bag<Integer> neighbors = adjacencyList.get(current);
-            for (int neighbor : neighbors) {
-                if (!visited.contains(neighbor)) {
-                    visited.add(neighbor);
-                    parent.put(neighbor, current);
-                    queue.offer(neighbor);
+            // Explore neighbors in the CSR row
+            for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                int neighbor = targets[e];
+                if (parent[neighbor] == -1) {
+                    parent[neighbor] = current;
+                    queue[tail++] = neighbor;
                 }
             }
         }
@@ -293,6 +341,326 @@ public class GasStationNetwork {
         return null; // No path found
     }
 
+    /**
+     * Finds the shortest route between two gas stations using bidirectional
+     * BFS: searches from both ends and meets in the middle, which explores far
+     * fewer stations than {@link #findShortestRoute} on large networks.
+     * Callers issuing many queries should keep a
+     * {@link BidirectionalStationBFS} engine and reuse it; the engine also
+     * reports frontier sizes and expanded station counts.
+     *
+     * @param startId Starting gas station ID
+     * @param targetId Target gas station ID
+     * @return List of station IDs representing the shortest path, or null if no
+     * path exists
+     */
+    public List<Integer> findShortestRouteBidirectional(int startId, int targetId) {
+        if (!stations.containsKey(startId) || !stations.containsKey(targetId)) {
+            return null;
+        }
+        return new BidirectionalStationBFS(freeze()).findRoute(startId, targetId);
+    }
+
+    /**
+     * Rebuilds a start-to-target path of station IDs from a parent array of
+     * dense indices (parent[start] == start). Counts the hops first so the
+     * path can be filled front to back without shifting elements.
+     *
+     * @param graph Snapshot the indices refer to
+     * @param parent Parent index of every reached station
+     * @param start Dense index of the start station
+     * @param target Dense index of the target station
+     * @return List of station IDs from start to target
+     */
+    private List<Integer> buildPath(CompactStationGraph graph, int[] parent, int start, int target) {
+        int length = 1;
+        for (int node = target; node != start; node = parent[node]) {
+            length++;
+        }
+        Integer[] path = new Integer[length];
+        int node = target;
+        for (int i = length - 1; i >= 0; i--) {
+            path[i] = graph.stationIdAt(node);
+            node = parent[node];
+        }
+        return new ArrayList<>(Arrays.asList(path));
+    }
+
+    /**
+     * Returns a compressed sparse row snapshot of the network with dense
+     * station indices. The snapshot is built on demand and cached; it is only
+     * rebuilt after stations or routes have been added or removed.
+     *
+     * @return Read-only CSR snapshot of the current network
+     */
+    public CompactStationGraph freeze() {
+        if (snapshot == null || snapshotModificationCount != modificationCount) {
+            snapshot = new CompactStationGraph(this, adjacencyList);
+            snapshotModificationCount = modificationCount;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Gets the connected components, articulation points and bridges of the
+     * network, over the dense indices of {@link #freeze()}. The analysis is
+     * cached and only redone after stations or routes change.
+     *
+     * @return Connectivity analysis of the current snapshot
+     */
+    public StationConnectivity getConnectivity() {
+        CompactStationGraph graph = freeze();
+        if (connectivity == null || connectivity.getGraph() != graph) {
+            connectivity = new StationConnectivity(graph);
+        }
+        return connectivity;
+    }
+
+    /**
+     * Inverted capability index for one snapshot: for every fuel type and
+     * amenity code, the set of dense station indices offering it.
+     */
+    private static class CapabilityIndex {
+
+        private final CompactStationGraph graph;
+        private final int capabilityVersion;
+        private BitSet[] stationsByFuelType = new BitSet[CapabilityDictionary.MASK_BITS];
+        private BitSet[] stationsByAmenity = new BitSet[CapabilityDictionary.MASK_BITS];
+
+        CapabilityIndex(CompactStationGraph graph, int capabilityVersion) {
+            this.graph = graph;
+            this.capabilityVersion = capabilityVersion;
+            int stationCount = graph.getStationCount();
+            for (int v = 0; v < stationCount; v++) {
+                GasStation station = graph.stationAt(v);
+                stationsByFuelType = addCodes(stationsByFuelType, station.getFuelTypeMask(),
+                        station.getFuelTypeOverflow(), v, stationCount);
+                stationsByAmenity = addCodes(stationsByAmenity, station.getAmenityMask(),
+                        station.getAmenityOverflow(), v, stationCount);
+            }
+        }
+
+        /**
+         * Adds a station to the sets of its codes, growing the index for codes
+         * beyond its length.
+         *
+         * @return The index (a new array if it had to grow)
+         */
+        private static BitSet[] addCodes(BitSet[] index, long mask, BitSet overflow, int station,
+                int stationCount) {
+            while (mask != 0) {
+                index = addCode(index, Long.numberOfTrailingZeros(mask), station, stationCount);
+                mask &= mask - 1;
+            }
+            if (overflow != null) {
+                for (int code = overflow.nextSetBit(0); code >= 0; code = overflow.nextSetBit(code + 1)) {
+                    index = addCode(index, code, station, stationCount);
+                }
+            }
+            return index;
+        }
+
+        private static BitSet[] addCode(BitSet[] index, int code, int station, int stationCount) {
+            if (code >= index.length) {
+                index = Arrays.copyOf(index, Math.max(code + 1, 2 * index.length));
+            }
+            if (index[code] == null) {
+                index[code] = new BitSet(stationCount);
+            }
+            index[code].set(station);
+            return index;
+        }
+
+        /**
+         * Returns a copy of the set of stations with a code (empty if none).
+         */
+        private static BitSet stationsWith(BitSet[] index, int code) {
+            if (code < 0 || code >= index.length || index[code] == null) {
+                return new BitSet();
+            }
+            return (BitSet) index[code].clone();
+        }
+    }
+
+    /**
+     * Called by a GasStation of this network when its fuel types or amenities
+     * change, invalidating the cached capability index.
+     */
+    void capabilitiesChanged() {
+        capabilityModificationCount++;
+    }
+
+    /**
+     * Returns the capability index for the current snapshot, rebuilding it
+     * only after structural or capability changes.
+     *
+     * @return Up-to-date capability index
+     */
+    private CapabilityIndex capabilityIndex() {
+        CompactStationGraph graph = freeze();
+        if (capabilityIndex == null || capabilityIndex.graph != graph
+                || capabilityIndex.capabilityVersion != capabilityModificationCount) {
+            capabilityIndex = new CapabilityIndex(graph, capabilityModificationCount);
+        }
+        return capabilityIndex;
+    }
+
+    /**
+     * Gets the stations offering a fuel type, as a bit set over the dense
+     * indices of {@link #freeze()}. Combine with other station sets using
+     * BitSet.and/or instead of testing stations one by one.
+     *
+     * @param fuelType Fuel type (e.g. "Diesel")
+     * @return New bit set of dense station indices (empty if unknown fuel type)
+     */
+    public BitSet getStationsWithFuelType(String fuelType) {
+        int code = CapabilityDictionary.FUEL_TYPES.codeOf(fuelType);
+        if (code < 0) {
+            return new BitSet();
+        }
+        return CapabilityIndex.stationsWith(capabilityIndex().stationsByFuelType, code);
+    }
+
+    /**
+     * Gets the stations offering an amenity, as a bit set over the dense
+     * indices of {@link #freeze()}.
+     *
+     * @param amenity Amenity (e.g. "Car Wash")
+     * @return New bit set of dense station indices (empty if unknown amenity)
+     */
+    public BitSet getStationsWithAmenity(String amenity) {
+        int code = CapabilityDictionary.AMENITIES.codeOf(amenity);
+        if (code < 0) {
+            return new BitSet();
+        }
+        return CapabilityIndex.stationsWith(capabilityIndex().stationsByAmenity, code);
+    }
+
+    /**
+     * Precomputes the maxHops neighborhood of every station (in parallel) and
+     * keeps the table until the network changes. While it is valid, k-hop
+     * queries for the same radius are answered from the table instead of by
+     * BFS.
+     *
+     * @param maxHops Radius in hops
+     * @return The table for the current snapshot
+     */
+    public KHopTable precomputeKHopTable(int maxHops) {
+        KHopTable table = getKHopTable(maxHops);
+        if (table == null) {
+            table = new KHopTable(freeze(), maxHops);
+            kHopTable = table;
+        }
+        return table;
+    }
+
+    /**
+     * Gets the precomputed k-hop table if one exists for the current snapshot
+     * and the given radius.
+     *
+     * @param maxHops Radius in hops
+     * @return The table, or null if none was precomputed (or it is out of date)
+     */
+    public KHopTable getKHopTable(int maxHops) {
+        if (kHopTable == null || kHopTable.getGraph() != freeze() || kHopTable.getMaxHops() != maxHops) {
+            return null;
+        }
+        return kHopTable;
+    }
+
+    /**
+     * Finds the stations within maxHops of a station (including itself) that
+     * offer a fuel type. Computed as the reach set intersected with the fuel
+     * type index; the reach set comes from the precomputed k-hop table when
+     * one exists for maxHops, otherwise from a BFS.
+     *
+     * @param stationId ID of the starting gas station
+     * @param maxHops Maximum number of hops
+     * @param fuelType Required fuel type
+     * @return Bit set of dense station indices of {@link #freeze()}
+     */
+    public BitSet findStationsWithFuelWithinHops(int stationId, int maxHops, String fuelType) {
+        BitSet result = getStationsWithFuelType(fuelType);
+        KHopTable table = getKHopTable(maxHops);
+        if (table != null) {
+            return table.withinHops(table.getGraph().indexOf(stationId), result);
+        }
+        StationBFS engine = createSearchEngine();
+        int reached = engine.search(engine.getGraph().indexOf(stationId), maxHops, null);
+        BitSet reachable = new BitSet(engine.getGraph().getStationCount());
+        for (int i = 0; i < reached; i++) {
+            reachable.set(engine.reachedAt(i));
+        }
+        result.and(reachable);
+        return result;
+    }
+
+    /**
+     * Finds the operational stations nearest to a GPS location using the
+     * spatial grid index, optionally restricted to a fuel type.
+     *
+     * @param latitude GPS latitude
+     * @param longitude GPS longitude
+     * @param k Maximum number of stations to return
+     * @param fuelType Required fuel type, or null for any
+     * @return Up to k stations ordered by increasing distance
+     */
+    public List<GasStation> findNearestStations(double latitude, double longitude, int k, String fuelType) {
+        IntPredicate filter = operationalStationFilter(fuelType);
+        if (filter == null) {
+            return new ArrayList<>();
+        }
+        return stationsForHandles(spatialIndex.nearest(latitude, longitude, k, filter));
+    }
+
+    /**
+     * Finds the operational stations within a radius of a GPS location using
+     * the spatial grid index, optionally restricted to a fuel type.
+     *
+     * @param latitude GPS latitude
+     * @param longitude GPS longitude
+     * @param radiusKm Search radius in kilometers
+     * @param fuelType Required fuel type, or null for any
+     * @return Stations within the radius ordered by increasing distance
+     */
+    public List<GasStation> findStationsWithinRadius(double latitude, double longitude, double radiusKm,
+            String fuelType) {
+        IntPredicate filter = operationalStationFilter(fuelType);
+        if (filter == null) {
+            return new ArrayList<>();
+        }
+        return stationsForHandles(spatialIndex.withinRadius(latitude, longitude, radiusKm, filter));
+    }
+
+    /**
+     * Builds the spatial query filter accepting operational stations that
+     * offer the fuel type (any fuel type if null).
+     *
+     * @param fuelType Required fuel type, or null
+     * @return Filter over spatial handles, or null if no station can match
+     */
+    private IntPredicate operationalStationFilter(String fuelType) {
+        if (fuelType == null) {
+            return handle -> stationsBySpatialHandle.get(handle).isOperational();
+        }
+        int fuelCode = CapabilityDictionary.FUEL_TYPES.codeOf(fuelType);
+        if (fuelCode < 0) {
+            return null; // Fuel type never registered by any station
+        }
+        return handle -> {
+            GasStation station = stationsBySpatialHandle.get(handle);
+            return station.isOperational() && station.hasFuelTypeCode(fuelCode);
+        };
+    }
+
+    private List<GasStation> stationsForHandles(int[] handles) {
+        List<GasStation> result = new ArrayList<>(handles.length);
+        for (int handle : handles) {
+            result.add(stationsBySpatialHandle.get(handle));
+        }
+        return result;
+    }
+
     /**
      * Gets a gas station by its ID.
      *
@@ -0,0 +1,144 @@
+package m5b.d1ca;
+
+import ds.bitset.CompactBitSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.stream.IntStream;
+
+/**
+ * Precomputed k-hop reachability of a {@link CompactStationGraph}: for every
+ * station, the set of stations within maxHops (including itself), stored as a
+ * {@link CompactBitSet} over dense station indices. The table is built with
+ * one silent BFS per station, in parallel on the fork-join common pool with a
+ * BFS engine per worker thread.
+ *
+ * Once built, "which stations are within k hops" is a lookup, and "which of
+ * them offer a fuel type" is one AND with the network's fuel type index. The
+ * table is read-only and may be shared across threads. It answers queries for
+ * exactly maxHops; a different radius needs its own table.
+ */
+public class KHopTable {
+
+    private final CompactStationGraph graph;
+    private final int maxHops;
+    private final CompactBitSet[] neighborhoods;
+    private final long memoryBytes;
+
+    /**
+     * Per-thread BFS engine and sort buffer used while building.
+     */
+    private static class Workspace {
+
+        private final StationBFS bfs;
+        private final int[] reached;
+
+        Workspace(CompactStationGraph graph) {
+            this.bfs = new StationBFS(graph);
+            this.reached = new int[graph.getStationCount()];
+        }
+    }
+
+    /**
+     * Builds the table.
+     *
+     * @param graph CSR snapshot to precompute
+     * @param maxHops Radius in hops
+     */
+    public KHopTable(CompactStationGraph graph, int maxHops) {
+        if (maxHops < 0) {
+            throw new IllegalArgumentException("Hop count must be non-negative: " + maxHops);
+        }
+        this.graph = graph;
+        this.maxHops = maxHops;
+        int stationCount = graph.getStationCount();
+        this.neighborhoods = new CompactBitSet[stationCount];
+
+        ThreadLocal<Workspace> workspaces = ThreadLocal.withInitial(() -> new Workspace(graph));
+        IntStream.range(0, stationCount).parallel().forEach(v -> {
+            Workspace workspace = workspaces.get();
+            int count = workspace.bfs.search(v, maxHops, null);
+            for (int i = 0; i < count; i++) {
+                workspace.reached[i] = workspace.bfs.reachedAt(i);
+            }
+            Arrays.sort(workspace.reached, 0, count);
+            neighborhoods[v] = CompactBitSet.fromSorted(workspace.reached, count);
+        });
+
+        long bytes = 0;
+        for (CompactBitSet neighborhood : neighborhoods) {
+            bytes += neighborhood.memoryBytes();
+        }
+        this.memoryBytes = bytes;
+    }
+
+    /**
+     * Gets the snapshot this table describes.
+     *
+     * @return CSR snapshot
+     */
+    public CompactStationGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Gets the radius of the table.
+     *
+     * @return Hops
+     */
+    public int getMaxHops() {
+        return maxHops;
+    }
+
+    /**
+     * Gets the stations within maxHops of a station, including itself.
+     *
+     * @param index Dense station index
+     * @return Read-only neighborhood set
+     */
+    public CompactBitSet neighborhood(int index) {
+        return neighborhoods[index];
+    }
+
+    /**
+     * Gets the number of stations within maxHops of a station, including
+     * itself.
+     *
+     * @param index Dense station index
+     * @return Neighborhood size
+     */
+    public int reachableCount(int index) {
+        return neighborhoods[index].cardinality();
+    }
+
+    /**
+     * Checks whether one station is within maxHops of another.
+     *
+     * @param fromIndex Dense index of the first station
+     * @param toIndex Dense index of the second station
+     * @return true if the stations are at most maxHops apart
+     */
+    public boolean isWithinHops(int fromIndex, int toIndex) {
+        return neighborhoods[fromIndex].get(toIndex);
+    }
+
+    /**
+     * Intersects a station's neighborhood with a station set, such as the
+     * result of GasStationNetwork.getStationsWithFuelType().
+     *
+     * @param index Dense station index
+     * @param stations Bit set of dense station indices
+     * @return New bit set of the stations in both
+     */
+    public BitSet withinHops(int index, BitSet stations) {
+        return neighborhoods[index].and(stations);
+    }
+
+    /**
+     * Gets the memory used by the neighborhood sets (payload only).
+     *
+     * @return Bytes
+     */
+    public long getMemoryBytes() {
+        return memoryBytes;
+    }
+}
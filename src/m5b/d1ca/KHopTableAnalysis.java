@@ -0,0 +1,231 @@
+package m5b.d1ca;
+
+import ds.alg.analysis.Stopwatch;
+import ds.alg.analysis.TimeAnalysis;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.Random;
+
+/**
+ * KHopTableAnalysis measures the precomputed k-hop reachability table on a
+ * large generated station network: for each radius k, the parallel build time,
+ * the memory the compressed neighborhoods take (next to one full-size
+ * java.util.BitSet per station), and the time of "stations with a fuel type
+ * within k hops" queries answered from the table and by BFS.
+ *
+ * Usage: KHopTableAnalysis [stations] [maxHops]
+ *
+ * Author: Cullen Juriskell Course: AIT-512 Data Structures and Algorithms
+ * Assignment: M5B-D1-52 Creative Assignment
+ */
+public class KHopTableAnalysis {
+
+    private static final String[] FUEL_TYPES = {"Regular", "Premium", "Diesel", "Electric"};
+    private static final int QUERIES = 10000;
+    private static long matchesFound;   // Keeps the timed query loops from being optimized away
+
+    /**
+     * Builds a network of random stations over a Virginia-sized area, each
+     * connected to its 4 nearest stations and offering random fuel types.
+     * Stations are added in west-to-east order, so dense indices follow the
+     * map.
+     *
+     * @param numberOfStations Station count
+     * @param seed Random seed
+     * @return Generated network
+     */
+    public static GasStationNetwork generateNetwork(int numberOfStations, long seed) {
+        Random random = new Random(seed);
+        double[] longitudes = new double[numberOfStations];
+        for (int i = 0; i < numberOfStations; i++) {
+            longitudes[i] = -83.0 + random.nextDouble() * 7.0;
+        }
+        Arrays.sort(longitudes);
+
+        GasStationNetwork network = new GasStationNetwork();
+        for (int i = 0; i < numberOfStations; i++) {
+            GasStation station = network.addGasStation("Station " + i, "Generated",
+                    36.5 + random.nextDouble() * 3.0, longitudes[i]);
+            for (String fuelType : FUEL_TYPES) {
+                if (random.nextInt(3) == 0) {
+                    station.addFuelType(fuelType);
+                }
+            }
+        }
+        for (GasStation station : network.getAllGasStations()) {
+            for (GasStation nearest : network.findNearestStations(station.getLatitude(), station.getLongitude(), 5,
+                    null)) {
+                if (nearest != station && !network.areDirectlyConnected(station.getStationId(),
+                        nearest.getStationId())) {
+                    network.addRoute(station.getStationId(), nearest.getStationId());
+                }
+            }
+        }
+        return network;
+    }
+
+    public static TimeAnalysis meanTimeBuild(String name, int numberOfExecutions, CompactStationGraph graph,
+            int maxHops) {
+        Stopwatch watch = new Stopwatch();
+        TimeAnalysis ta = new TimeAnalysis(name, numberOfExecutions);
+        for (int trial = 0; trial < numberOfExecutions; trial++) {
+            watch.startWatch();
+            // tested code - start
+            new KHopTable(graph, maxHops);
+            // tested code - end
+            long time = watch.elapsedTime();
+            ta.add(time);
+        }
+        return ta;
+    }
+
+    public static TimeAnalysis meanTimeTableQueries(String name, int numberOfExecutions, KHopTable table,
+            BitSet withFuel, int[] sources) {
+        Stopwatch watch = new Stopwatch();
+        TimeAnalysis ta = new TimeAnalysis(name, numberOfExecutions);
+        for (int trial = 0; trial < numberOfExecutions; trial++) {
+            watch.startWatch();
+            // tested code - start
+            for (int source : sources) {
+                matchesFound += table.neighborhood(source).andCardinality(withFuel);
+            }
+            // tested code - end
+            long time = watch.elapsedTime();
+            ta.add(time);
+        }
+        return ta;
+    }
+
+    public static TimeAnalysis meanTimeBFSQueries(String name, int numberOfExecutions, CompactStationGraph graph,
+            int maxHops, BitSet withFuel, int[] sources) {
+        Stopwatch watch = new Stopwatch();
+        TimeAnalysis ta = new TimeAnalysis(name, numberOfExecutions);
+        StationBFS bfs = new StationBFS(graph);
+        for (int trial = 0; trial < numberOfExecutions; trial++) {
+            watch.startWatch();
+            // tested code - start
+            for (int source : sources) {
+                int reached = bfs.search(source, maxHops, null);
+                for (int i = 0; i < reached; i++) {
+                    if (withFuel.get(bfs.reachedAt(i))) {
+                        matchesFound++;
+                    }
+                }
+            }
+            // tested code - end
+            long time = watch.elapsedTime();
+            ta.add(time);
+        }
+        return ta;
+    }
+
+    /**
+     * Checks every neighborhood of a table against a BFS from the same
+     * station.
+     *
+     * @param table The table to check
+     * @return True if all neighborhoods match
+     */
+    public static boolean tableMatchesBFS(KHopTable table) {
+        CompactStationGraph graph = table.getGraph();
+        StationBFS bfs = new StationBFS(graph);
+        for (int v = 0; v < graph.getStationCount(); v++) {
+            int reached = bfs.search(v, table.getMaxHops(), null);
+            if (table.reachableCount(v) != reached) {
+                return false;
+            }
+            for (int i = 0; i < reached; i++) {
+                if (!table.isWithinHops(v, bfs.reachedAt(i))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public static void printMemoryTable(int numberOfExecutions, CompactStationGraph graph, int maxHops) {
+        int stationCount = graph.getStationCount();
+        long bitSetBytes = (long) stationCount * (((stationCount + 63) / 64) * 8L);
+        System.out.println("k-hop table build time (ms) and memory per k");
+        System.out.println("  - Method: parallel BFS from each of " + stationCount + " stations, "
+                + Runtime.getRuntime().availableProcessors() + " processors");
+        System.out.println("  - Sample size for time estimation: " + numberOfExecutions);
+        System.out.println("  - Full BitSet per station would take " + formatBytes(bitSetBytes) + " for any k");
+        System.out.println("|---|--------|------|------|------------------|------------|---------|-----------|");
+        System.out.println("| k |   Mean |  Min |  Max |         CI 99.9% |     Memory | B/stat. | Avg reach |");
+        System.out.println("|---|--------|------|------|------------------|------------|---------|-----------|");
+        for (int k = 0; k <= maxHops; k++) {
+            TimeAnalysis ta = meanTimeBuild("Build k=" + k, numberOfExecutions, graph, k);
+            KHopTable table = new KHopTable(graph, k);
+            long reach = 0;
+            for (int v = 0; v < stationCount; v++) {
+                reach += table.reachableCount(v);
+            }
+            System.out.printf("| %1d | %6.1f | %4d | %4d | (%6.1f, %6.1f) | %10s | %7.1f | %9.1f |\n", k,
+                    ta.getMeanTime(), ta.getMinTime(), ta.getMaxTime(), ta.getMinMean999Confidence(),
+                    ta.getMaxMean999Confidence(), formatBytes(table.getMemoryBytes()),
+                    (double) table.getMemoryBytes() / stationCount, (double) reach / stationCount);
+        }
+        System.out.println("|---|--------|------|------|------------------|------------|---------|-----------|");
+    }
+
+    public static void printQueryTable(int numberOfExecutions, GasStationNetwork network, int maxHops) {
+        CompactStationGraph graph = network.freeze();
+        BitSet withFuel = network.getStationsWithFuelType("Diesel");
+        Random random = new Random(7L);
+        int[] sources = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            sources[i] = random.nextInt(graph.getStationCount());
+        }
+        System.out.println("Mean time of " + QUERIES + " Diesel-within-k-hops queries (ms)");
+        System.out.println("  - Sample size for time estimation: " + numberOfExecutions);
+        System.out.println("|---|--------|------|------|------------------|--------|------|------|------------------|");
+        System.out.println("|   |                   Table                  |                   BFS                    |");
+        System.out.println("| k |   Mean |  Min |  Max |         CI 99.9% |   Mean |  Min |  Max |         CI 99.9% |");
+        System.out.println("|---|--------|------|------|------------------|--------|------|------|------------------|");
+        for (int k = 0; k <= maxHops; k++) {
+            KHopTable table = new KHopTable(graph, k);
+            TimeAnalysis lookup = meanTimeTableQueries("Table k=" + k, numberOfExecutions, table, withFuel, sources);
+            TimeAnalysis search = meanTimeBFSQueries("BFS k=" + k, numberOfExecutions, graph, k, withFuel, sources);
+            System.out.printf("| %1d | %6.1f | %4d | %4d | (%6.1f, %6.1f) | %6.1f | %4d | %4d | (%6.1f, %6.1f) |\n", k,
+                    lookup.getMeanTime(), lookup.getMinTime(), lookup.getMaxTime(),
+                    lookup.getMinMean999Confidence(), lookup.getMaxMean999Confidence(), search.getMeanTime(),
+                    search.getMinTime(), search.getMaxTime(), search.getMinMean999Confidence(),
+                    search.getMaxMean999Confidence());
+        }
+        System.out.println("|---|--------|------|------|------------------|--------|------|------|------------------|");
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024L * 1024L) {
+            return String.format("%.1f KB", bytes / 1024.0);
+        }
+        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    public static void main(String[] args) {
+        int numberOfStations = (args.length > 0) ? Integer.parseInt(args[0]) : 100000;
+        int maxHops = (args.length > 1) ? Integer.parseInt(args[1]) : 4;
+        String assignment = "M5B-D1-52: Precomputed k-Hop Reachability Analysis\n";
+        Date date = new Date();
+        String ran = "Date: " + date.toString();
+        String author = "Author: Cullen Juriskell";
+        System.out.println(assignment + ran + "\n" + author + "\n");
+
+        GasStationNetwork network = generateNetwork(numberOfStations, 42L);
+        CompactStationGraph graph = network.freeze();
+        System.out.println("=== Table cross-check (k = " + maxHops + ") ===");
+        boolean match = tableMatchesBFS(new KHopTable(graph, maxHops));
+        System.out.println("  Neighborhoods match BFS: " + (match ? "YES" : "NO") + "\n");
+        if (!match) {
+            return;
+        }
+
+        System.out.println("=== Build time and memory: k = 0.." + maxHops + " ===");
+        printMemoryTable(5, graph, maxHops);
+        System.out.println();
+        System.out.println("=== Queries: table lookup + AND vs BFS ===");
+        printQueryTable(5, network, maxHops);
+    }
+}
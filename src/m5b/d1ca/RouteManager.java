@@ -2,7 +2,9 @@ package m5b.d1ca;
 
 import ds.bag.Bag;
 import ds.bag.FixedCapacityBag;
+import ds.spatial.GeoCoordinates;
 import java.util.*;
+import java.util.stream.IntStream;
 
 /**
  * Route Management System for Autonomous Vehicles. This class provides
@@ -14,6 +16,10 @@ import java.util.*;
 public class RouteManager {
 
     private GasStationNetwork network;
+    private StationBFS searchEngine; // Reused silent BFS engine (rebuilt when the network changes)
+    private WeightedRouter router;   // Reused distance-weighted router (rebuilt when the network changes)
+    private FleetPlanner fleetPlanner; // Reused fleet placement engine (rebuilt when the network or radius changes)
+    private final ThreadLocal<RoutingWorkspace> workspaces = new ThreadLocal<>(); // Per-thread batch state
 
     /**
      * Constructs a new Route Manager for autonomous vehicle planning.
@@ -24,6 +30,52 @@ public class RouteManager {
         this.network = network;
     }
 
+    /**
+     * Returns the silent BFS engine for the current network snapshot, creating
+     * a new one only when the network has changed since the last call.
+     *
+     * @return Search engine over the current snapshot
+     */
+    private StationBFS searchEngine() {
+        CompactStationGraph graph = network.freeze();
+        if (searchEngine == null || searchEngine.getGraph() != graph) {
+            searchEngine = new StationBFS(graph);
+        }
+        return searchEngine;
+    }
+
+    /**
+     * Returns the distance-weighted router for the current network snapshot,
+     * creating a new one only when the network has changed since the last
+     * call.
+     *
+     * @return Router over the current snapshot
+     */
+    private WeightedRouter router() {
+        CompactStationGraph graph = network.freeze();
+        if (router == null || router.getGraph() != graph) {
+            router = new WeightedRouter(graph);
+        }
+        return router;
+    }
+
+    /**
+     * Returns the fleet placement engine for the current network snapshot and
+     * coverage radius, creating a new one only when either has changed since
+     * the last call. A precomputed k-hop table of the network is reused.
+     *
+     * @param maxHops Coverage radius in hops
+     * @return Fleet planner over the current snapshot
+     */
+    private FleetPlanner fleetPlanner(int maxHops) {
+        CompactStationGraph graph = network.freeze();
+        if (fleetPlanner == null || fleetPlanner.getGraph() != graph || fleetPlanner.getMaxHops() != maxHops) {
+            KHopTable table = network.getKHopTable(maxHops);
+            fleetPlanner = (table != null) ? new FleetPlanner(table) : new FleetPlanner(graph, maxHops);
+        }
+        return fleetPlanner;
+    }
+
     /**
      * Represents a route recommendation for autonomous vehicles. Contains path
      * information, distance metrics, and fuel planning data.
@@ -35,6 +87,7 @@ public class RouteManager {
         private double estimatedDistance;
         private Bag<String> requiredFuelTypes;
         private String routeDescription;
+        private int nodesSettled;
 
         public RouteRecommendation(List<Integer> stationPath, double estimatedDistance) {
             this.stationPath = stationPath;
@@ -71,6 +124,82 @@ public class RouteManager {
         public void setRouteDescription(String description) {
             this.routeDescription = description;
         }
+
+        /**
+         * Number of stations the routing search settled to produce this
+         * route (0 when not recorded, e.g. for hop-count BFS routes).
+         */
+        public int getNodesSettled() {
+            return nodesSettled;
+        }
+
+        public void setNodesSettled(int nodesSettled) {
+            this.nodesSettled = nodesSettled;
+        }
+    }
+
+    /**
+     * A single (start, destination, fuel type) routing request for
+     * {@link #findOptimalRoutes(RouteQuery[])}.
+     */
+    public static class RouteQuery {
+
+        private final int startStationId;
+        private final int destinationStationId;
+        private final String preferredFuelType;
+
+        public RouteQuery(int startStationId, int destinationStationId, String preferredFuelType) {
+            this.startStationId = startStationId;
+            this.destinationStationId = destinationStationId;
+            this.preferredFuelType = preferredFuelType;
+        }
+
+        // Getter methods
+        public int getStartStationId() {
+            return startStationId;
+        }
+
+        public int getDestinationStationId() {
+            return destinationStationId;
+        }
+
+        public String getPreferredFuelType() {
+            return preferredFuelType;
+        }
+    }
+
+    /**
+     * Per-thread BFS state for batch routing. Arrays are sized once for a
+     * snapshot and validated by epoch stamps, so consecutive traversals never
+     * clear them.
+     */
+    private static class RoutingWorkspace {
+
+        private final CompactStationGraph graph;
+        private final int[] parent;       // BFS parent, valid where visitStamp == epoch
+        private final int[] visitStamp;   // Epoch in which each station was reached
+        private final int[] targetStamp;  // Epoch in which each station is a pending target
+        private final int[] queue;
+        private int epoch;
+
+        RoutingWorkspace(CompactStationGraph graph) {
+            this.graph = graph;
+            int stationCount = graph.getStationCount();
+            this.parent = new int[stationCount];
+            this.visitStamp = new int[stationCount];
+            this.targetStamp = new int[stationCount];
+            this.queue = new int[stationCount];
+            this.epoch = 0;
+        }
+
+        void nextEpoch() {
+            epoch++;
+            if (epoch == Integer.MAX_VALUE) {
+                Arrays.fill(visitStamp, 0);
+                Arrays.fill(targetStamp, 0);
+                epoch = 1;
+            }
+        }
     }
 
     /**
@@ -124,9 +253,191 @@ public class RouteManager {
         return recommendation;
     }
 
+    /**
+     * Finds the minimum-distance route between two gas stations, weighting
+     * every route by the geographic distance between its stations. Unlike
+     * {@link #findOptimalRoute}, which minimizes stops and measures distance
+     * afterwards, this returns the route with the smallest total distance.
+     *
+     * @param startStationId Starting gas station ID
+     * @param destinationStationId Target gas station ID
+     * @param preferredFuelType Preferred fuel type for the autonomous vehicle
+     * @param mode Dijkstra or A* (straight-line distance heuristic)
+     * @return RouteRecommendation with the minimum distance and the number of
+     * stations settled, or null if no route exists
+     */
+    public RouteRecommendation findShortestDistanceRoute(int startStationId, int destinationStationId,
+            String preferredFuelType, WeightedRouter.Mode mode) {
+        System.out.println("\n=== AUTONOMOUS VEHICLE DISTANCE-OPTIMAL ROUTE PLANNING ===");
+
+        GasStation startStation = network.getGasStation(startStationId);
+        GasStation destinationStation = network.getGasStation(destinationStationId);
+
+        if (startStation == null || destinationStation == null) {
+            System.out.println("Error: Invalid station IDs provided");
+            return null;
+        }
+
+        System.out.println("Origin: " + startStation.getCompactInfo());
+        System.out.println("Destination: " + destinationStation.getCompactInfo());
+        System.out.println("Preferred Fuel: " + preferredFuelType);
+        System.out.println("\nCalculating minimum-distance route using " + mode + "...");
+
+        WeightedRouter weightedRouter = router();
+        List<Integer> path = weightedRouter.findRoute(startStationId, destinationStationId, mode);
+
+        if (path == null) {
+            System.out.println("No route found between specified stations");
+            return null;
+        }
+
+        RouteRecommendation recommendation = new RouteRecommendation(path, weightedRouter.getRouteDistance());
+        recommendation.setNodesSettled(weightedRouter.getNodesSettled());
+        recommendation.addRequiredFuelType(preferredFuelType);
+        recommendation.setRouteDescription(generateRouteDescription(path, preferredFuelType));
+
+        System.out.println("Route planning completed successfully! (stations settled: "
+                + weightedRouter.getNodesSettled() + ")");
+        return recommendation;
+    }
+
+    /**
+     * Answers many route queries at once without console output. Queries
+     * that share a start station are served by a single BFS that stops once
+     * all of that group's destinations are reached. Groups are processed in
+     * parallel on the fork-join common pool, each worker thread reusing its
+     * own preallocated workspace.
+     *
+     * @param queries Route queries
+     * @return Route recommendations in the same order as the queries; an entry
+     * is null if a station ID is invalid or no route exists
+     */
+    public RouteRecommendation[] findOptimalRoutes(RouteQuery[] queries) {
+        RouteRecommendation[] results = new RouteRecommendation[queries.length];
+        if (queries.length == 0) {
+            return results;
+        }
+        // Build the snapshot on this thread; workers only read it
+        CompactStationGraph graph = network.freeze();
+
+        // Order query positions by start station index, then split into groups
+        int[] order = new int[queries.length];
+        long[] keys = new long[queries.length];
+        for (int i = 0; i < queries.length; i++) {
+            long source = graph.indexOf(queries[i].getStartStationId());
+            keys[i] = (source << 32) | i;
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < keys.length; i++) {
+            order[i] = (int) keys[i];
+        }
+        int[] groupStarts = new int[queries.length + 1];
+        int groupCount = 0;
+        for (int i = 0; i < order.length; i++) {
+            if (i == 0 || (keys[i] >> 32) != (keys[i - 1] >> 32)) {
+                groupStarts[groupCount++] = i;
+            }
+        }
+        groupStarts[groupCount] = order.length;
+
+        final int groups = groupCount;
+        IntStream.range(0, groups).parallel().forEach(g
+                -> routeGroup(graph, queries, order, groupStarts[g], groupStarts[g + 1], results));
+        return results;
+    }
+
+    /**
+     * Serves one group of queries sharing a start station with a single BFS.
+     *
+     * @param graph Snapshot to route on
+     * @param queries All queries
+     * @param order Query positions sorted by start station
+     * @param from First position in order belonging to the group
+     * @param to One past the last position in order belonging to the group
+     * @param results Output array indexed like queries
+     */
+    private void routeGroup(CompactStationGraph graph, RouteQuery[] queries, int[] order, int from, int to,
+            RouteRecommendation[] results) {
+        int source = graph.indexOf(queries[order[from]].getStartStationId());
+        if (source < 0) {
+            return; // Invalid start station: leave results null
+        }
+        RoutingWorkspace ws = workspaces.get();
+        if (ws == null || ws.graph != graph) {
+            ws = new RoutingWorkspace(graph);
+            workspaces.set(ws);
+        }
+        ws.nextEpoch();
+        int epoch = ws.epoch;
+
+        // Mark the distinct destinations this traversal has to reach
+        int pendingTargets = 0;
+        for (int k = from; k < to; k++) {
+            int target = graph.indexOf(queries[order[k]].getDestinationStationId());
+            if (target >= 0 && ws.targetStamp[target] != epoch) {
+                ws.targetStamp[target] = epoch;
+                pendingTargets++;
+            }
+        }
+
+        // BFS from the shared source until every destination has been reached
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int head = 0;
+        int tail = 0;
+        ws.queue[tail++] = source;
+        ws.visitStamp[source] = epoch;
+        ws.parent[source] = source;
+        if (ws.targetStamp[source] == epoch) {
+            pendingTargets--;
+        }
+        while (head < tail && pendingTargets > 0) {
+            int current = ws.queue[head++];
+            for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                int neighbor = targets[e];
+                if (ws.visitStamp[neighbor] != epoch) {
+                    ws.visitStamp[neighbor] = epoch;
+                    ws.parent[neighbor] = current;
+                    ws.queue[tail++] = neighbor;
+                    if (ws.targetStamp[neighbor] == epoch) {
+                        pendingTargets--;
+                    }
+                }
+            }
+        }
+
+        // Build one recommendation per query from the shared parent array
+        for (int k = from; k < to; k++) {
+            RouteQuery query = queries[order[k]];
+            int target = graph.indexOf(query.getDestinationStationId());
+            if (target < 0 || ws.visitStamp[target] != epoch) {
+                continue; // Invalid destination or unreachable: leave null
+            }
+            int length = 1;
+            for (int node = target; node != source; node = ws.parent[node]) {
+                length++;
+            }
+            Integer[] path = new Integer[length];
+            int node = target;
+            for (int i = length - 1; i >= 0; i--) {
+                path[i] = graph.stationIdAt(node);
+                node = ws.parent[node];
+            }
+            List<Integer> stationPath = new ArrayList<>(Arrays.asList(path));
+            RouteRecommendation recommendation = new RouteRecommendation(stationPath,
+                    calculateRouteDistance(graph, stationPath));
+            recommendation.addRequiredFuelType(query.getPreferredFuelType());
+            recommendation.setRouteDescription(generateRouteDescription(stationPath, query.getPreferredFuelType()));
+            results[order[k]] = recommendation;
+        }
+    }
+
     /**
      * Finds the nearest gas stations within a specified radius using BFS.
-     * Critical for autonomous vehicles running low on fuel.
+     * Critical for autonomous vehicles running low on fuel. When the network
+     * has a precomputed k-hop table for the radius the stations come from the
+     * table instead; it holds reach sets but no distances, so they are then
+     * listed in station index order rather than hop order.
      *
      * @param currentStationId Current location station ID
      * @param maxHops Maximum number of station hops to search
@@ -140,24 +451,44 @@ public class RouteManager {
         System.out.println("Required Fuel Type: " + requiredFuelType);
         System.out.println("Search Radius: " + maxHops + " hops");
 
+        // Fuel availability comes from the network's inverted index (one bit test per station)
+        BitSet withFuel = network.getStationsWithFuelType(requiredFuelType);
+
+        KHopTable table = network.getKHopTable(maxHops);
+        if (table != null) {
+            // Precomputed reach set: one AND with the fuel index, no search
+            CompactStationGraph graph = table.getGraph();
+            int current = graph.indexOf(currentStationId);
+            BitSet matches = table.withinHops(current, withFuel);
+            matches.clear(current);
+            Bag<Integer> nearbyStations = new FixedCapacityBag<>(matches.cardinality());
+            System.out.println("\nStations with " + requiredFuelType + " (precomputed " + maxHops
+                    + "-hop table, by station index):");
+            for (int index = matches.nextSetBit(0); index >= 0; index = matches.nextSetBit(index + 1)) {
+                GasStation station = graph.stationAt(index);
+                nearbyStations.add(station.getStationId());
+                System.out.println("  " + station.getCompactInfo() + " - Has " + requiredFuelType);
+            }
+            System.out.println("Found " + nearbyStations.size() + " stations with required fuel");
+            return nearbyStations;
+        }
+
         Bag<Integer> nearbyStations = new FixedCapacityBag<>(50);
 
-        // Use BFS to explore nearby stations
-        Map<Integer, Integer> reachableStations = network.breadthFirstSearch(currentStationId, maxHops);
+        // Use silent BFS to explore nearby stations (visitation order = hop order)
+        StationBFS bfs = searchEngine();
+        CompactStationGraph graph = bfs.getGraph();
+        int reached = bfs.search(graph.indexOf(currentStationId), maxHops, null);
 
         System.out.println("\nAnalyzing fuel availability:");
-        for (Map.Entry<Integer, Integer> entry : reachableStations.entrySet()) {
-            int stationId = entry.getKey();
-            int distance = entry.getValue();
-
-            // Skip the current station
-            if (stationId == currentStationId) {
-                continue;
-            }
-
-            GasStation station = network.getGasStation(stationId);
-            if (station.hasFuelType(requiredFuelType)) {
-                nearbyStations.add(stationId);
+        // Position 0 is the current station itself, skip it
+        for (int i = 1; i < reached; i++) {
+            int index = bfs.reachedAt(i);
+            int distance = bfs.distanceTo(index);
+            GasStation station = graph.stationAt(index);
+
+            if (withFuel.get(index)) {
+                nearbyStations.add(station.getStationId());
                 System.out.println("  " + station.getCompactInfo()
                         + " (Distance: " + distance + " hops) - Has " + requiredFuelType);
             } else {
@@ -172,8 +503,9 @@ public class RouteManager {
 
     /**
      * Analyzes network connectivity to ensure robust autonomous vehicle
-     * operation. Uses BFS to verify that all stations are reachable from any
-     * starting point.
+     * operation. Labels the connected components and finds the critical
+     * stations (articulation points) and critical routes (bridges) whose
+     * failure would split the network, in one linear-time pass.
      *
      * @return true if network is fully connected, false if there are isolated
      * components
@@ -181,28 +513,25 @@ public class RouteManager {
     public boolean analyzeNetworkConnectivity() {
         System.out.println("\n=== NETWORK CONNECTIVITY ANALYSIS ===");
 
-        Collection<GasStation> allStations = network.getAllGasStations();
-        int totalStations = allStations.size();
+        StationConnectivity connectivity = network.getConnectivity();
+        CompactStationGraph graph = connectivity.getGraph();
+        int totalStations = graph.getStationCount();
 
         if (totalStations == 0) {
             System.out.println("Network is empty - no stations to analyze");
             return true;
         }
 
-        // Pick the first station as starting point for BFS
-        GasStation startStation = allStations.iterator().next();
-        Map<Integer, Integer> reachableStations = network.breadthFirstSearch(
-                startStation.getStationId(), Integer.MAX_VALUE);
-
-        int reachableCount = reachableStations.size();
-        double connectivityPercentage = (double) reachableCount / totalStations * 100;
+        int largest = connectivity.getLargestComponent();
+        double connectivityPercentage = (double) connectivity.getComponentSize(largest) / totalStations * 100;
 
         System.out.println("Network Analysis Results:");
         System.out.println("  Total Stations: " + totalStations);
-        System.out.println("  Reachable from " + startStation.getStationName() + ": " + reachableCount);
+        System.out.println("  Connected Components: " + connectivity.getComponentCount());
+        System.out.println("  Largest Component: " + connectivity.getComponentSize(largest) + " stations");
         System.out.println("  Connectivity: " + String.format("%.1f", connectivityPercentage) + "%");
 
-        boolean isConnected = (connectivityPercentage == 100.0);
+        boolean isConnected = connectivity.isConnected();
 
         if (isConnected) {
             System.out.println("  Status: FULLY CONNECTED");
@@ -211,54 +540,67 @@ public class RouteManager {
             System.out.println("  Status: DISCONNECTED NETWORK");
             System.out.println("  Warning: Some stations are isolated - may cause routing failures");
 
-            // Identify isolated stations
-            Set<Integer> reachableIds = reachableStations.keySet();
+            // Stations outside the largest component
             System.out.println("  Isolated stations:");
-            for (GasStation station : allStations) {
-                if (!reachableIds.contains(station.getStationId())) {
-                    System.out.println("    - " + station.getCompactInfo());
+            for (int index = 0; index < totalStations; index++) {
+                if (connectivity.componentOf(index) != largest) {
+                    System.out.println("    - " + graph.stationAt(index).getCompactInfo()
+                            + " (component " + connectivity.componentOf(index) + ")");
                 }
             }
         }
 
+        int[] critical = connectivity.getArticulationPoints();
+        System.out.println("  Critical stations (single points of failure): " + critical.length);
+        for (int index : critical) {
+            System.out.println("    - " + graph.stationAt(index).getCompactInfo());
+        }
+        System.out.println("  Critical routes (no alternative path): " + connectivity.getBridgeCount());
+        for (int bridge = 0; bridge < connectivity.getBridgeCount(); bridge++) {
+            System.out.println("    - " + graph.stationAt(connectivity.bridgeFrom(bridge)).getCompactInfo()
+                    + " <-> " + graph.stationAt(connectivity.bridgeTo(bridge)).getCompactInfo());
+        }
+
         System.out.println("==========================================");
         return isConnected;
     }
 
     /**
      * Provides route planning recommendations for autonomous vehicle fleet
-     * management. Uses BFS to analyze optimal station distribution and
-     * coverage.
+     * management. Places vehicles by greedy maximum coverage so that as many
+     * stations as possible are within 2 hops of a vehicle.
      *
      * @param fleetSize Number of autonomous vehicles to plan for
+     * @return Chosen stations and coverage
      */
-    public void generateFleetDistributionRecommendations(int fleetSize) {
+    public FleetPlanner.Placement generateFleetDistributionRecommendations(int fleetSize) {
+        final int coverageHops = 2;
         System.out.println("\n=== AUTONOMOUS VEHICLE FLEET DISTRIBUTION ===");
         System.out.println("Planning for fleet size: " + fleetSize + " vehicles");
 
-        Collection<GasStation> allStations = network.getAllGasStations();
-        List<GasStation> stationList = new ArrayList<>(allStations);
+        FleetPlanner planner = fleetPlanner(coverageHops);
+        CompactStationGraph graph = planner.getGraph();
+        FleetPlanner.Placement placement = planner.place(fleetSize);
+        int[] stations = placement.getStations();
+        int[] gains = placement.getGains();
 
-        if (stationList.size() < fleetSize) {
-            System.out.println("Warning: More vehicles than stations - some vehicles will share locations");
+        if (stations.length < fleetSize) {
+            System.out.println("Warning: More vehicles than operational stations - " + (fleetSize - stations.length)
+                    + " of " + fleetSize + " vehicles left unplaced");
         }
 
         System.out.println("\nRecommended vehicle distribution:");
-
-        // Simple distribution strategy - place vehicles at evenly spaced stations
-        for (int i = 0; i < Math.min(fleetSize, stationList.size()); i++) {
-            int stationIndex = (i * stationList.size()) / fleetSize;
-            GasStation station = stationList.get(stationIndex);
-
-            System.out.println("Vehicle " + (i + 1) + ": " + station.getCompactInfo());
-
-            // Show coverage from this station using BFS
-            Map<Integer, Integer> coverage = network.breadthFirstSearch(station.getStationId(), 2);
-            System.out.println("  Coverage: Can reach " + coverage.size()
-                    + " stations within 2 hops");
+        for (int i = 0; i < stations.length; i++) {
+            System.out.println("Vehicle " + (i + 1) + ": " + graph.stationAt(stations[i]).getCompactInfo());
+            System.out.println("  Coverage: Adds " + gains[i] + " stations within " + coverageHops + " hops");
         }
 
+        int totalStations = graph.getStationCount();
+        System.out.println("\nStations covered: " + placement.getCoveredStations() + " of " + totalStations
+                + String.format(" (%.1f%%)", totalStations == 0 ? 0.0
+                        : 100.0 * placement.getCoveredStations() / totalStations));
         System.out.println("===============================================");
+        return placement;
     }
 
     /**
@@ -268,12 +610,29 @@ public class RouteManager {
      * @return Estimated total distance in kilometers
      */
     private double calculateRouteDistance(List<Integer> stationPath) {
+        return calculateRouteDistance(network.freeze(), stationPath);
+    }
+
+    /**
+     * Calculates the approximate total distance for a route path, resolving
+     * stations through the given snapshot.
+     *
+     * @param graph Snapshot holding the stations of the path
+     * @param stationPath List of station IDs representing the route
+     * @return Estimated total distance in kilometers
+     */
+    private double calculateRouteDistance(CompactStationGraph graph, List<Integer> stationPath) {
+        if (stationPath.isEmpty()) {
+            return 0.0;
+        }
+        GeoCoordinates coordinates = graph.getCoordinates();
         double totalDistance = 0.0;
 
-        for (int i = 0; i < stationPath.size() - 1; i++) {
-            GasStation current = network.getGasStation(stationPath.get(i));
-            GasStation next = network.getGasStation(stationPath.get(i + 1));
-            totalDistance += current.getDistanceTo(next);
+        int current = graph.indexOf(stationPath.get(0));
+        for (int i = 1; i < stationPath.size(); i++) {
+            int next = graph.indexOf(stationPath.get(i));
+            totalDistance += coordinates.haversine(current, next);
+            current = next;
         }
 
         return totalDistance;
@@ -330,6 +689,9 @@ public class RouteManager {
         System.out.println("Total Hops: " + recommendation.getTotalHops());
         System.out.println("Estimated Distance: "
                 + String.format("%.2f", recommendation.getEstimatedDistance()) + " km");
+        if (recommendation.getNodesSettled() > 0) {
+            System.out.println("Stations Settled by Search: " + recommendation.getNodesSettled());
+        }
 
         System.out.print("Required Fuel Types: ");
         for (String fuelType : recommendation.getRequiredFuelTypes()) {
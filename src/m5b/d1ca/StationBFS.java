@@ -0,0 +1,144 @@
+package m5b.d1ca;
+
+import java.util.Arrays;
+
+/**
+ * Reusable, silent breadth-first search engine over a
+ * {@link CompactStationGraph}. All working storage is allocated once per
+ * engine: distances live in a primitive int array validated by an epoch stamp
+ * (so nothing is cleared between searches), and the frontier is a flat int
+ * array that also records the visitation order. Tracing is opt-in through a
+ * {@link StationVisitor}; with a null visitor the search does no output and no
+ * allocation.
+ *
+ * An engine is not thread-safe; use one engine per thread.
+ */
+public class StationBFS {
+
+    private final CompactStationGraph graph;
+    private final int[] distance;   // Hop distance, valid only where stamp == epoch
+    private final int[] stamp;      // Epoch in which each station was reached
+    private final int[] frontier;   // Queue of reached stations, in visitation order
+    private int epoch;
+    private int reachedCount;
+
+    /**
+     * Creates an engine sized for the given snapshot.
+     *
+     * @param graph CSR snapshot to search
+     */
+    public StationBFS(CompactStationGraph graph) {
+        this.graph = graph;
+        int stationCount = graph.getStationCount();
+        this.distance = new int[stationCount];
+        this.stamp = new int[stationCount];
+        this.frontier = new int[stationCount];
+        this.epoch = 0;
+        this.reachedCount = 0;
+    }
+
+    /**
+     * Gets the snapshot this engine searches.
+     *
+     * @return CSR snapshot
+     */
+    public CompactStationGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Runs a breadth-first search from a station, exploring up to maxDistance
+     * hops.
+     *
+     * @param sourceIndex Dense index of the starting station
+     * @param maxDistance Maximum number of hops to explore
+     * @param visitor Optional trace listener (null for a silent search)
+     * @return Number of stations reached, including the source
+     */
+    public int search(int sourceIndex, int maxDistance, StationVisitor visitor) {
+        nextEpoch();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+
+        int head = 0;
+        int tail = 0;
+        frontier[tail++] = sourceIndex;
+        stamp[sourceIndex] = epoch;
+        distance[sourceIndex] = 0;
+
+        while (head < tail) {
+            int current = frontier[head++];
+            int currentDistance = distance[current];
+            if (visitor != null) {
+                visitor.onExplore(current, currentDistance);
+            }
+            if (currentDistance >= maxDistance) {
+                continue;
+            }
+            for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                int neighbor = targets[e];
+                if (stamp[neighbor] != epoch) {
+                    stamp[neighbor] = epoch;
+                    distance[neighbor] = currentDistance + 1;
+                    frontier[tail++] = neighbor;
+                    if (visitor != null) {
+                        visitor.onDiscover(current, neighbor, currentDistance + 1);
+                    }
+                }
+            }
+        }
+        reachedCount = tail;
+        return reachedCount;
+    }
+
+    /**
+     * Checks whether a station was reached by the last search.
+     *
+     * @param index Dense station index
+     * @return true if reached
+     */
+    public boolean isReached(int index) {
+        return stamp[index] == epoch;
+    }
+
+    /**
+     * Gets the hop distance of a station found by the last search.
+     *
+     * @param index Dense station index
+     * @return Hop distance, or -1 if the station was not reached
+     */
+    public int distanceTo(int index) {
+        return stamp[index] == epoch ? distance[index] : -1;
+    }
+
+    /**
+     * Gets the number of stations reached by the last search.
+     *
+     * @return Reached count, including the source
+     */
+    public int getReachedCount() {
+        return reachedCount;
+    }
+
+    /**
+     * Gets the i-th station reached by the last search, in BFS order (the
+     * source is at position 0).
+     *
+     * @param i Position in visitation order, 0 &lt;= i &lt; getReachedCount()
+     * @return Dense station index
+     */
+    public int reachedAt(int i) {
+        return frontier[i];
+    }
+
+    /**
+     * Advances the epoch stamp, resetting the stamp array only on overflow.
+     */
+    private void nextEpoch() {
+        epoch++;
+        if (epoch == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            epoch = 1;
+        }
+    }
+}
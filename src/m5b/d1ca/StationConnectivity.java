@@ -0,0 +1,257 @@
+package m5b.d1ca;
+
+import java.util.Arrays;
+
+/**
+ * Connectivity structure of a {@link CompactStationGraph}, computed once in
+ * O(V + E) over the CSR arrays:
+ *
+ * - connected components, labeled 0, 1, 2, ... in order of their smallest
+ * station index (iterative BFS)
+ * - articulation points (stations whose failure disconnects other stations)
+ * and bridges (routes whose closure does), by Tarjan's low-link algorithm run
+ * with an explicit stack, so deep networks cannot overflow the call stack
+ *
+ * All results are dense station indices of the snapshot; the arrays returned
+ * are copies.
+ */
+public class StationConnectivity {
+
+    private final CompactStationGraph graph;
+    private final int[] componentOf;        // Dense index -> component ID
+    private final int[] componentSizes;
+    private final boolean[] articulation;
+    private final int[] articulationPoints; // Increasing dense indices
+    private final int[] bridgeFrom;         // Bridge i joins bridgeFrom[i] and bridgeTo[i]
+    private final int[] bridgeTo;
+
+    /**
+     * Analyzes a snapshot.
+     *
+     * @param graph CSR snapshot to analyze
+     */
+    public StationConnectivity(CompactStationGraph graph) {
+        this.graph = graph;
+        int stationCount = graph.getStationCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+
+        // Component labeling by BFS; the queue array is reused for every component
+        componentOf = new int[stationCount];
+        Arrays.fill(componentOf, -1);
+        int[] queue = new int[stationCount];
+        int[] sizes = new int[stationCount];
+        int componentCount = 0;
+        for (int source = 0; source < stationCount; source++) {
+            if (componentOf[source] != -1) {
+                continue;
+            }
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = source;
+            componentOf[source] = componentCount;
+            while (head < tail) {
+                int current = queue[head++];
+                for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                    int neighbor = targets[e];
+                    if (componentOf[neighbor] == -1) {
+                        componentOf[neighbor] = componentCount;
+                        queue[tail++] = neighbor;
+                    }
+                }
+            }
+            sizes[componentCount++] = tail;
+        }
+        componentSizes = Arrays.copyOf(sizes, componentCount);
+
+        // Tarjan: discovery order, low-link, and per-frame edge cursor
+        int[] discovered = new int[stationCount];   // 0 = not yet visited
+        int[] low = new int[stationCount];
+        int[] parent = new int[stationCount];
+        int[] cursor = new int[stationCount];
+        boolean[] parentSkipped = new boolean[stationCount];
+        int[] stack = queue;                         // BFS queue is free again
+        articulation = new boolean[stationCount];
+        int[] bridgesFrom = new int[Math.max(0, stationCount - 1)];
+        int[] bridgesTo = new int[bridgesFrom.length];
+        int bridgeCount = 0;
+        int time = 0;
+
+        for (int root = 0; root < stationCount; root++) {
+            if (discovered[root] != 0) {
+                continue;
+            }
+            int rootChildren = 0;
+            int top = 0;
+            stack[top++] = root;
+            parent[root] = -1;
+            discovered[root] = low[root] = ++time;
+            cursor[root] = offsets[root];
+            while (top > 0) {
+                int v = stack[top - 1];
+                if (cursor[v] < offsets[v + 1]) {
+                    int w = targets[cursor[v]++];
+                    if (w == parent[v] && !parentSkipped[v]) {
+                        parentSkipped[v] = true; // Skip the tree edge once; a parallel route still counts
+                    } else if (discovered[w] == 0) {
+                        parent[w] = v;
+                        discovered[w] = low[w] = ++time;
+                        cursor[w] = offsets[w];
+                        stack[top++] = w;
+                        if (v == root) {
+                            rootChildren++;
+                        }
+                    } else {
+                        low[v] = Math.min(low[v], discovered[w]);
+                    }
+                } else {
+                    top--;
+                    int p = parent[v];
+                    if (p != -1) {
+                        low[p] = Math.min(low[p], low[v]);
+                        if (low[v] > discovered[p]) {
+                            bridgesFrom[bridgeCount] = p;
+                            bridgesTo[bridgeCount++] = v;
+                        }
+                        if (p != root && low[v] >= discovered[p]) {
+                            articulation[p] = true;
+                        }
+                    }
+                }
+            }
+            if (rootChildren > 1) {
+                articulation[root] = true;
+            }
+        }
+
+        int articulationCount = 0;
+        for (int v = 0; v < stationCount; v++) {
+            if (articulation[v]) {
+                queue[articulationCount++] = v;
+            }
+        }
+        articulationPoints = Arrays.copyOf(queue, articulationCount);
+        bridgeFrom = Arrays.copyOf(bridgesFrom, bridgeCount);
+        bridgeTo = Arrays.copyOf(bridgesTo, bridgeCount);
+    }
+
+    /**
+     * Gets the snapshot this analysis describes.
+     *
+     * @return CSR snapshot
+     */
+    public CompactStationGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Gets the number of connected components.
+     *
+     * @return Component count (0 for an empty network)
+     */
+    public int getComponentCount() {
+        return componentSizes.length;
+    }
+
+    /**
+     * Checks whether every station can reach every other station.
+     *
+     * @return true if there is at most one component
+     */
+    public boolean isConnected() {
+        return componentSizes.length <= 1;
+    }
+
+    /**
+     * Gets the component of a station.
+     *
+     * @param index Dense station index
+     * @return Component ID
+     */
+    public int componentOf(int index) {
+        return componentOf[index];
+    }
+
+    /**
+     * Gets the component ID of every station.
+     *
+     * @return Component IDs by dense station index
+     */
+    public int[] getComponentIds() {
+        return componentOf.clone();
+    }
+
+    /**
+     * Gets the number of stations in a component.
+     *
+     * @param component Component ID
+     * @return Station count
+     */
+    public int getComponentSize(int component) {
+        return componentSizes[component];
+    }
+
+    /**
+     * Gets the ID of the component with the most stations (the lowest ID on
+     * ties).
+     *
+     * @return Component ID, or -1 for an empty network
+     */
+    public int getLargestComponent() {
+        int largest = -1;
+        for (int c = 0; c < componentSizes.length; c++) {
+            if (largest == -1 || componentSizes[c] > componentSizes[largest]) {
+                largest = c;
+            }
+        }
+        return largest;
+    }
+
+    /**
+     * Checks whether a station is an articulation point.
+     *
+     * @param index Dense station index
+     * @return true if removing the station disconnects its component
+     */
+    public boolean isArticulationPoint(int index) {
+        return articulation[index];
+    }
+
+    /**
+     * Gets the articulation points (critical stations).
+     *
+     * @return Dense station indices in increasing order
+     */
+    public int[] getArticulationPoints() {
+        return articulationPoints.clone();
+    }
+
+    /**
+     * Gets the number of bridges (critical routes).
+     *
+     * @return Bridge count
+     */
+    public int getBridgeCount() {
+        return bridgeFrom.length;
+    }
+
+    /**
+     * Gets one end of a bridge: the station nearer the search root.
+     *
+     * @param bridge Bridge number 0..getBridgeCount()-1
+     * @return Dense station index
+     */
+    public int bridgeFrom(int bridge) {
+        return bridgeFrom[bridge];
+    }
+
+    /**
+     * Gets the other end of a bridge.
+     *
+     * @param bridge Bridge number 0..getBridgeCount()-1
+     * @return Dense station index
+     */
+    public int bridgeTo(int bridge) {
+        return bridgeTo[bridge];
+    }
+}
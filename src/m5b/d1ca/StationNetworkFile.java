@@ -0,0 +1,518 @@
+package m5b.d1ca;
+
+import ds.bag.Bag;
+import ds.io.SectionFileReader;
+import ds.io.SectionFileWriter;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Binary, memory-mapped form of a gas station network. A file holds the
+ * stations in increasing ID order (IDs, coordinates, fuel type and amenity
+ * bitmasks, operational flags, names and locations), the routes as the CSR
+ * arrays of {@link CompactStationGraph}, and the fuel type and amenity names
+ * the bitmask codes refer to. The codes are local to the file (at most 64
+ * names of each kind per file) and are only turned into CapabilityDictionary
+ * codes when {@link #toNetwork()} adds the names to the stations.
+ *
+ * {@link #open(Path)} maps the file and reads every array in place through
+ * buffer views, so opening costs the same for ten stations as for a million
+ * and allocates nothing per station or per route; names are decoded only when
+ * asked for. {@link #toNetwork()} builds a regular GasStationNetwork from the
+ * file when the mutable model is needed. {@link #importCsv(Path, Path)} turns
+ * a CSV station list into a file.
+ */
+public class StationNetworkFile {
+
+    private static final int MAGIC = 0x47534E46; // "GSNF"
+    private static final int VERSION = 1;
+    private static final int MAX_NAMES = Long.SIZE;   // Bits in a capability mask
+
+    private final IntBuffer stationIds;
+    private final DoubleBuffer latitudes;
+    private final DoubleBuffer longitudes;
+    private final LongBuffer fuelTypeMasks;
+    private final LongBuffer amenityMasks;
+    private final LongBuffer operational;       // Bit set over station indices
+    private final IntBuffer offsets;            // V + 1 row offsets into targets
+    private final IntBuffer targets;            // 2E neighbor indices
+    private final SectionFileReader.Strings stationText; // Name, location per station
+    private final SectionFileReader.Strings fuelTypeNames;
+    private final SectionFileReader.Strings amenityNames;
+
+    private StationNetworkFile(SectionFileReader reader) throws IOException {
+        stationIds = reader.nextInts();
+        latitudes = reader.nextDoubles();
+        longitudes = reader.nextDoubles();
+        fuelTypeMasks = reader.nextLongs();
+        amenityMasks = reader.nextLongs();
+        operational = reader.nextLongs();
+        offsets = reader.nextInts();
+        targets = reader.nextInts();
+        stationText = reader.nextStrings();
+        fuelTypeNames = reader.nextStrings();
+        amenityNames = reader.nextStrings();
+
+        int stationCount = stationIds.limit();
+        if (latitudes.limit() != stationCount || longitudes.limit() != stationCount
+                || fuelTypeMasks.limit() != stationCount || amenityMasks.limit() != stationCount
+                || offsets.limit() != stationCount + 1 || offsets.get(stationCount) != targets.limit()
+                || operational.limit() != (stationCount + 63) / 64 || stationText.size() != 2 * stationCount) {
+            throw new IOException("Corrupt station network file");
+        }
+        if (fuelTypeNames.size() > MAX_NAMES || amenityNames.size() > MAX_NAMES) {
+            throw new IOException("Corrupt station network file: more than " + MAX_NAMES + " capability names");
+        }
+    }
+
+    /**
+     * Maps a station network file.
+     *
+     * @param path File written by write() or importCsv()
+     * @return Read-only view of the file
+     * @throws IOException if the file cannot be read or is not a station
+     * network file
+     */
+    public static StationNetworkFile open(Path path) throws IOException {
+        return new StationNetworkFile(SectionFileReader.open(path, MAGIC, VERSION));
+    }
+
+    /**
+     * Writes a network to a file. Routes are taken from the network's CSR
+     * snapshot, so each station's neighbors keep their adjacency list order.
+     *
+     * @param network The network to save
+     * @param path Destination file
+     * @throws IOException if the file cannot be written, or the network uses
+     * more than 64 distinct fuel types or amenities
+     */
+    public static void write(GasStationNetwork network, Path path) throws IOException {
+        CompactStationGraph graph = network.freeze();
+        int stationCount = graph.getStationCount();
+        int[] ids = new int[stationCount];
+        double[] lats = new double[stationCount];
+        double[] lons = new double[stationCount];
+        long[] fuels = new long[stationCount];
+        long[] amenities = new long[stationCount];
+        long[] flags = new long[(stationCount + 63) / 64];
+        String[] text = new String[2 * stationCount];
+        List<String> fuelNames = new ArrayList<>();
+        List<String> amenityNameList = new ArrayList<>();
+        for (int v = 0; v < stationCount; v++) {
+            GasStation station = graph.stationAt(v);
+            ids[v] = station.getStationId();
+            lats[v] = station.getLatitude();
+            lons[v] = station.getLongitude();
+            try {
+                fuels[v] = bagMask(station.getFuelTypes(), fuelNames);
+                amenities[v] = bagMask(station.getAmenities(), amenityNameList);
+            } catch (IllegalStateException e) {
+                throw new IOException("Station " + station.getStationId() + ": " + e.getMessage(), e);
+            }
+            if (station.isOperational()) {
+                flags[v >>> 6] |= 1L << v;
+            }
+            text[2 * v] = station.getStationName();
+            text[2 * v + 1] = station.getLocation();
+        }
+        int[] rowOffsets = graph.getOffsets();
+        int[] neighbors = graph.getTargets();
+        writeSections(path, stationCount, ids, lats, lons, fuels, amenities, flags, rowOffsets,
+                neighbors, neighbors.length, text, fuelNames.toArray(new String[0]),
+                amenityNameList.toArray(new String[0]));
+    }
+
+    /**
+     * Imports a CSV station list into a station network file. The first line
+     * is a header and is skipped; every other non-blank line is
+     *
+     * name,location,latitude,longitude,fuel types,amenities,operational
+     *
+     * where fuel types and amenities are lists separated by ';' and the last
+     * column (true/false) is optional and defaults to true. Fields may be
+     * quoted with '"' to contain commas. Stations get IDs 1, 2, 3, ... in file
+     * order and no routes.
+     *
+     * @param csv Source CSV file (UTF-8)
+     * @param path Destination file
+     * @return Number of stations imported
+     * @throws IOException if a file cannot be read or written, or a line is
+     * malformed
+     */
+    public static int importCsv(Path csv, Path path) throws IOException {
+        int count = 0;
+        double[] lats = new double[1024];
+        double[] lons = new double[1024];
+        long[] fuels = new long[1024];
+        long[] amenities = new long[1024];
+        long[] flags = new long[16];
+        List<String> text = new ArrayList<>();
+        List<String> fuelNames = new ArrayList<>();
+        List<String> amenityNameList = new ArrayList<>();
+
+        try (BufferedReader in = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            String line = in.readLine(); // Header
+            int lineNumber = 1;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                List<String> fields = parseCsvLine(line);
+                if (fields.size() < 6 || fields.size() > 7) {
+                    throw new IOException("Line " + lineNumber + ": expected 6 or 7 fields, found " + fields.size());
+                }
+                if (count == lats.length) {
+                    int capacity = 2 * count;
+                    lats = Arrays.copyOf(lats, capacity);
+                    lons = Arrays.copyOf(lons, capacity);
+                    fuels = Arrays.copyOf(fuels, capacity);
+                    amenities = Arrays.copyOf(amenities, capacity);
+                    flags = Arrays.copyOf(flags, (capacity + 63) / 64);
+                }
+                try {
+                    lats[count] = Double.parseDouble(fields.get(2).trim());
+                    lons[count] = Double.parseDouble(fields.get(3).trim());
+                    fuels[count] = listMask(fields.get(4), fuelNames);
+                    amenities[count] = listMask(fields.get(5), amenityNameList);
+                } catch (IllegalArgumentException | IllegalStateException e) {
+                    throw new IOException("Line " + lineNumber + ": " + e.getMessage(), e);
+                }
+                if (fields.size() < 7 || !fields.get(6).trim().equalsIgnoreCase("false")) {
+                    flags[count >>> 6] |= 1L << count;
+                }
+                text.add(fields.get(0).trim());
+                text.add(fields.get(1).trim());
+                count++;
+            }
+        }
+
+        int[] ids = new int[count];
+        for (int v = 0; v < count; v++) {
+            ids[v] = v + 1;
+        }
+        writeSections(path, count, ids, lats, lons, fuels, amenities, flags, new int[count + 1],
+                new int[0], 0, text.toArray(new String[0]), fuelNames.toArray(new String[0]),
+                amenityNameList.toArray(new String[0]));
+        return count;
+    }
+
+    private static void writeSections(Path path, int stationCount, int[] ids, double[] lats,
+            double[] lons, long[] fuels, long[] amenities, long[] flags, int[] rowOffsets,
+            int[] neighbors, int neighborCount, String[] text, String[] fuelNames,
+            String[] amenityNameList) throws IOException {
+        try (SectionFileWriter out = new SectionFileWriter(path, MAGIC, VERSION)) {
+            out.writeInts(ids, stationCount);
+            out.writeDoubles(lats, stationCount);
+            out.writeDoubles(lons, stationCount);
+            out.writeLongs(fuels, stationCount);
+            out.writeLongs(amenities, stationCount);
+            out.writeLongs(flags, (stationCount + 63) / 64);
+            out.writeInts(rowOffsets, stationCount + 1);
+            out.writeInts(neighbors, neighborCount);
+            out.writeStrings(text, 2 * stationCount);
+            out.writeStrings(fuelNames, fuelNames.length);
+            out.writeStrings(amenityNameList, amenityNameList.length);
+        }
+    }
+
+    /**
+     * Splits one CSV line into fields, honoring double quotes ("" inside a
+     * quoted field is a literal quote).
+     */
+    private static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Converts a ';' separated name list into a bitmask over the positions of
+     * the names in the given table, appending new names.
+     */
+    private static long listMask(String list, List<String> names) {
+        long mask = 0;
+        for (String item : list.split(";")) {
+            String name = item.trim();
+            if (!name.isEmpty()) {
+                mask |= 1L << fileCode(name, names);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Converts the names in a station's bag into a bitmask over the positions
+     * of the names in the given table, appending new names.
+     */
+    private static long bagMask(Bag<String> bag, List<String> names) {
+        long mask = 0;
+        for (String name : bag) {
+            mask |= 1L << fileCode(name, names);
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the position of a name in the file's name table, appending it
+     * if new.
+     *
+     * @throws IllegalStateException if the table already holds 64 names
+     */
+    private static int fileCode(String name, List<String> names) {
+        int code = names.indexOf(name);
+        if (code < 0) {
+            if (names.size() == MAX_NAMES) {
+                throw new IllegalStateException("More than " + MAX_NAMES + " distinct names");
+            }
+            names.add(name);
+            code = names.size() - 1;
+        }
+        return code;
+    }
+
+    /**
+     * Gets the number of stations.
+     *
+     * @return Station count
+     */
+    public int getStationCount() {
+        return stationIds.limit();
+    }
+
+    /**
+     * Gets the number of routes (undirected edges).
+     *
+     * @return Route count
+     */
+    public int getRouteCount() {
+        return targets.limit() / 2;
+    }
+
+    /**
+     * Converts a station ID to its index in the file.
+     *
+     * @param stationId Station ID
+     * @return Index, or -1 if there is no such station
+     */
+    public int indexOf(int stationId) {
+        int low = 0;
+        int high = stationIds.limit() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int id = stationIds.get(mid);
+            if (id < stationId) {
+                low = mid + 1;
+            } else if (id > stationId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the ID of the station at an index.
+     *
+     * @param index Station index
+     * @return Station ID
+     */
+    public int stationIdAt(int index) {
+        return stationIds.get(index);
+    }
+
+    /**
+     * Gets the name of the station at an index (decoded on each call).
+     *
+     * @param index Station index
+     * @return Station name
+     */
+    public String stationNameAt(int index) {
+        return stationText.get(2 * index);
+    }
+
+    /**
+     * Gets the location of the station at an index (decoded on each call).
+     *
+     * @param index Station index
+     * @return Station location
+     */
+    public String locationAt(int index) {
+        return stationText.get(2 * index + 1);
+    }
+
+    /**
+     * Gets the latitude of the station at an index.
+     *
+     * @param index Station index
+     * @return Latitude in degrees
+     */
+    public double latitudeAt(int index) {
+        return latitudes.get(index);
+    }
+
+    /**
+     * Gets the longitude of the station at an index.
+     *
+     * @param index Station index
+     * @return Longitude in degrees
+     */
+    public double longitudeAt(int index) {
+        return longitudes.get(index);
+    }
+
+    /**
+     * Checks whether the station at an index is operational.
+     *
+     * @param index Station index
+     * @return true if operational
+     */
+    public boolean isOperationalAt(int index) {
+        return (operational.get(index >>> 6) & (1L << index)) != 0;
+    }
+
+    /**
+     * Gets the fuel types of the station at an index as a bitmask over the
+     * file's fuel type codes (see {@link #fuelTypeName(int)}).
+     *
+     * @param index Station index
+     * @return Fuel type bitmask
+     */
+    public long fuelTypeMaskAt(int index) {
+        return fuelTypeMasks.get(index);
+    }
+
+    /**
+     * Gets the amenities of the station at an index as a bitmask over the
+     * file's amenity codes (see {@link #amenityName(int)}).
+     *
+     * @param index Station index
+     * @return Amenity bitmask
+     */
+    public long amenityMaskAt(int index) {
+        return amenityMasks.get(index);
+    }
+
+    /**
+     * Gets the number of distinct fuel types in the file.
+     *
+     * @return Fuel type count (at most 64)
+     */
+    public int getFuelTypeCount() {
+        return fuelTypeNames.size();
+    }
+
+    /**
+     * Gets the fuel type with a file code.
+     *
+     * @param code Bit position in fuelTypeMaskAt()
+     * @return Fuel type name
+     */
+    public String fuelTypeName(int code) {
+        return fuelTypeNames.get(code);
+    }
+
+    /**
+     * Gets the number of distinct amenities in the file.
+     *
+     * @return Amenity count (at most 64)
+     */
+    public int getAmenityCount() {
+        return amenityNames.size();
+    }
+
+    /**
+     * Gets the amenity with a file code.
+     *
+     * @param code Bit position in amenityMaskAt()
+     * @return Amenity name
+     */
+    public String amenityName(int code) {
+        return amenityNames.get(code);
+    }
+
+    /**
+     * Gets the number of direct routes of the station at an index.
+     *
+     * @param index Station index
+     * @return Degree
+     */
+    public int degree(int index) {
+        return offsets.get(index + 1) - offsets.get(index);
+    }
+
+    /**
+     * Gets the neighbor of a station: the neighbors of index v are
+     * neighborAt(v, 0) .. neighborAt(v, degree(v) - 1).
+     *
+     * @param index Station index
+     * @param k Position in the station's adjacency list
+     * @return Index of the neighboring station
+     */
+    public int neighborAt(int index, int k) {
+        return targets.get(offsets.get(index) + k);
+    }
+
+    /**
+     * Builds a GasStationNetwork with the stations, capabilities and routes of
+     * the file. Stations are added in file order, so a network saved with
+     * write() gets back the same station IDs and adjacency list order.
+     *
+     * @return New network
+     */
+    public GasStationNetwork toNetwork() {
+        GasStationNetwork network = new GasStationNetwork();
+        int stationCount = getStationCount();
+        int[] newIds = new int[stationCount];
+        for (int v = 0; v < stationCount; v++) {
+            GasStation station = network.addGasStation(stationNameAt(v), locationAt(v),
+                    latitudeAt(v), longitudeAt(v));
+            newIds[v] = station.getStationId();
+            for (long mask = fuelTypeMasks.get(v); mask != 0; mask &= mask - 1) {
+                station.addFuelType(fuelTypeNames.get(Long.numberOfTrailingZeros(mask)));
+            }
+            for (long mask = amenityMasks.get(v); mask != 0; mask &= mask - 1) {
+                station.addAmenity(amenityNames.get(Long.numberOfTrailingZeros(mask)));
+            }
+            station.setOperational(isOperationalAt(v));
+        }
+        for (int v = 0; v < stationCount; v++) {
+            for (int e = offsets.get(v); e < offsets.get(v + 1); e++) {
+                network.appendNeighbor(newIds[v], newIds[targets.get(e)]);
+            }
+        }
+        return network;
+    }
+}
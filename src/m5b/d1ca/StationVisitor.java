@@ -0,0 +1,31 @@
+package m5b.d1ca;
+
+/**
+ * Callback interface for observing a breadth-first search over a
+ * {@link CompactStationGraph}. Stations are reported by their dense snapshot
+ * index. Both methods have empty defaults, so a visitor only overrides the
+ * events it cares about. Used for opt-in console tracing and for collecting
+ * results without materializing maps.
+ */
+public interface StationVisitor {
+
+    /**
+     * Called when a station is dequeued and its routes are about to be
+     * explored.
+     *
+     * @param index Dense index of the station
+     * @param distance Hop distance from the source
+     */
+    default void onExplore(int index, int distance) {
+    }
+
+    /**
+     * Called when a station is reached for the first time.
+     *
+     * @param fromIndex Dense index of the station it was reached from
+     * @param toIndex Dense index of the newly reached station
+     * @param distance Hop distance of the new station from the source
+     */
+    default void onDiscover(int fromIndex, int toIndex, int distance) {
+    }
+}
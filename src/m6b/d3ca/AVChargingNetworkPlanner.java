@@ -1,5 +1,8 @@
 package m6b.d3ca;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -25,8 +28,8 @@ public class AVChargingNetworkPlanner {
         // Display program header
         displayProgramHeader();
 
-        // Create the charging network
-        ChargingNetwork network = createChargingNetwork();
+        // Create the charging network (or load it from the network file given as argument)
+        ChargingNetwork network = (args.length > 0) ? loadOrCreateNetwork(Path.of(args[0])) : createChargingNetwork();
 
         // Display network structure
         network.displayNetwork();
@@ -39,6 +42,21 @@ public class AVChargingNetworkPlanner {
         // Display MST results
         mst.displayMST();
 
+        // Cross-check with eager Prim (indexed priority queue) and Kruskal on the same network
+        MSTPrimAlgorithm eagerMst = new MSTPrimAlgorithm(network, MSTPrimAlgorithm.Strategy.EAGER);
+        eagerMst.computeMST(0);
+        MSTKruskalAlgorithm kruskalMst = new MSTKruskalAlgorithm(network);
+        kruskalMst.computeMST();
+        MSTBoruvkaAlgorithm boruvkaMst = new MSTBoruvkaAlgorithm(network);
+        boruvkaMst.computeMST();
+        displayAlgorithmComparison(mst, eagerMst, kruskalMst, boruvkaMst);
+
+        // Same hubs, routes generated from coordinates instead of by hand
+        displayGeneratedNetwork(network, 3);
+
+        // What-if changes on a copy, with the MST maintained incrementally
+        displayWhatIfScenarios(network);
+
         // Display summary analysis
         displaySummary(network, mst);
 
@@ -46,6 +64,33 @@ public class AVChargingNetworkPlanner {
         NetworkAnalyzer analyzer = new NetworkAnalyzer(network, mst);
         analyzer.displayAnalysisReport();
         analyzer.exportMSTTable();
+        analyzer.displayCostHistogram();
+    }
+
+    /**
+     * Loads the network from a binary network file, or builds it in code and
+     * saves it there if the file does not exist yet.
+     *
+     * @param path Network file
+     * @return Charging network
+     */
+    private static ChargingNetwork loadOrCreateNetwork(Path path) {
+        try {
+            if (Files.exists(path)) {
+                long start = System.nanoTime();
+                ChargingNetwork network = ChargingNetworkFile.open(path).toNetwork();
+                System.out.println(String.format("Loaded %d hubs and %d routes from %s in %.1f ms\n",
+                        network.getHubCount(), network.getRouteCount(), path, (System.nanoTime() - start) / 1e6));
+                return network;
+            }
+            ChargingNetwork network = createChargingNetwork();
+            ChargingNetworkFile.write(network, path);
+            System.out.println("Saved network to " + path + "\n");
+            return network;
+        } catch (IOException e) {
+            System.err.println("Cannot use network file " + path + ": " + e.getMessage());
+            return createChargingNetwork();
+        }
     }
 
     /**
@@ -115,13 +160,104 @@ public class AVChargingNetworkPlanner {
         return network;
     }
 
+    /**
+     * Displays the lazy Prim, eager Prim, Kruskal and Boruvka results side by
+     * side to confirm all engines select a spanning tree of the same total
+     * cost.
+     *
+     * @param lazyMst MST computed with lazy Prim
+     * @param eagerMst MST computed with eager Prim
+     * @param kruskalMst MST computed with Kruskal
+     * @param boruvkaMst MST computed with parallel Boruvka
+     */
+    private static void displayAlgorithmComparison(MinimumSpanningTree lazyMst, MinimumSpanningTree eagerMst,
+            MinimumSpanningTree kruskalMst, MinimumSpanningTree boruvkaMst) {
+        System.out.println("=== MST ENGINE CROSS-CHECK ===");
+        displayEngineResult("Lazy Prim", lazyMst);
+        displayEngineResult("Eager Prim", eagerMst);
+        displayEngineResult("Kruskal", kruskalMst);
+        displayEngineResult("Boruvka", boruvkaMst);
+        boolean match = sameResult(lazyMst, eagerMst) && sameResult(lazyMst, kruskalMst)
+                && sameResult(lazyMst, boruvkaMst);
+        System.out.println("  Results match: " + (match ? "YES" : "NO"));
+        System.out.println("==============================\n");
+    }
+
+    private static void displayEngineResult(String name, MinimumSpanningTree mst) {
+        System.out.println(String.format("  %-11s %d edges, $%.1fK", name + ":", mst.getMSTEdgeCount(), mst.getTotalCost()));
+    }
+
+    private static boolean sameResult(MinimumSpanningTree a, MinimumSpanningTree b) {
+        return a.getMSTEdgeCount() == b.getMSTEdgeCount()
+                && Math.abs(a.getTotalCost() - b.getTotalCost()) < 1e-9;
+    }
+
+    /**
+     * Builds a second network over the same hubs with routes generated by
+     * ChargingRouteBuilder (k nearest hubs, cost from distance) and displays
+     * its Kruskal MST.
+     *
+     * @param network The hand-wired network whose hubs are reused
+     * @param k Neighbors per hub
+     */
+    private static void displayGeneratedNetwork(ChargingNetwork network, int k) {
+        ChargingNetwork generated = new ChargingNetwork();
+        for (ChargingHub hub : network.getAllHubs()) {
+            generated.addHub(hub);
+        }
+        int routes = generated.routeBuilder().nearestNeighbors(k).build();
+        MSTKruskalAlgorithm generatedMst = new MSTKruskalAlgorithm(generated);
+        generatedMst.computeMST();
+
+        System.out.println("=== GENERATED ROUTES (" + k + " NEAREST HUBS) ===");
+        System.out.println("  Candidate routes generated: " + routes);
+        displayEngineResult("Kruskal", generatedMst);
+        System.out.println("  Connected components: " + generatedMst.getComponentCount());
+        System.out.println("==============================\n");
+    }
+
+    /**
+     * Applies what-if route changes to a copy of the network and shows how an
+     * IncrementalMST follows them without recomputation. The consistency check
+     * verifies each update against a full rebuild.
+     *
+     * @param network The network to copy
+     */
+    private static void displayWhatIfScenarios(ChargingNetwork network) {
+        ChargingNetwork scenario = new ChargingNetwork();
+        for (ChargingHub hub : network.getAllHubs()) {
+            scenario.addHub(hub);
+        }
+        ChargingRoute lubbockElPaso = null;
+        for (ChargingRoute route : network.getAllRoutes()) {
+            ChargingRoute copy = scenario.addRoute(route.getFromHub().getId(), route.getToHub().getId(), route.getCost());
+            if (route.getFromHub().getId() == 6 && route.getToHub().getId() == 8) {
+                lubbockElPaso = copy;
+            }
+        }
+
+        IncrementalMST incremental = new IncrementalMST(scenario);
+        incremental.setConsistencyCheck(true);
+        System.out.println("=== WHAT-IF SCENARIOS (INCREMENTAL MST) ===");
+        System.out.println(String.format("  Baseline:                              $%.1fK", incremental.getTotalCost()));
+        scenario.updateRouteCost(lubbockElPaso, 400.0);
+        System.out.println(String.format("  Lubbock <-> El Paso re-priced to 400:  $%.1fK", incremental.getTotalCost()));
+        scenario.addRoute(2, 6, 240.0);  // Austin <-> Lubbock
+        System.out.println(String.format("  New Austin <-> Lubbock route at 240:   $%.1fK", incremental.getTotalCost()));
+        scenario.updateRouteCost(lubbockElPaso, 700.0);
+        System.out.println(String.format("  Lubbock <-> El Paso re-priced to 700:  $%.1fK", incremental.getTotalCost()));
+        System.out.println("  Updates verified against full rebuild: " + incremental.getUpdateCount());
+        System.out.println("===========================================\n");
+        incremental.detach();
+    }
+
     /**
      * Displays summary analysis of the MST solution.
      *
      * @param network The charging network
      * @param mst The computed MST
      */
-    private static void displaySummary(ChargingNetwork network, MSTPrimAlgorithm mst) {
+    private static void displaySummary(ChargingNetwork network, MinimumSpanningTree mst) {
         System.out.println("=== INFRASTRUCTURE OPTIMIZATION SUMMARY ===");
         System.out.println("\nNetwork Overview:");
         System.out.println("  Total Available Routes: " + network.getRouteCount());
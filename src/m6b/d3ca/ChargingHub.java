@@ -1,5 +1,7 @@
 package m6b.d3ca;
 
+import ds.spatial.GeoDistance;
+
 /**
  * ChargingHub represents a single AV charging station hub. Each hub is a vertex
  * in the charging network graph. Charging hub is implemented as an object.
@@ -18,6 +20,9 @@ public class ChargingHub {
     private String region;
     private double latitude;
     private double longitude;
+    private double latitudeRadians;     // Cached for GeoDistance
+    private double longitudeRadians;
+    private double cosLatitude;
 
     /**
      * Constructs a ChargingHub with full details.
@@ -34,6 +39,9 @@ public class ChargingHub {
         this.region = region;
         this.latitude = latitude;
         this.longitude = longitude;
+        this.latitudeRadians = GeoDistance.toRadians(latitude);
+        this.longitudeRadians = GeoDistance.toRadians(longitude);
+        this.cosLatitude = Math.cos(latitudeRadians);
     }
 
     /**
@@ -81,6 +89,18 @@ public class ChargingHub {
         return longitude;
     }
 
+    /**
+     * Calculates the great-circle (haversine) distance to another hub using
+     * the radians and cos(latitude) cached at construction.
+     *
+     * @param other Another charging hub
+     * @return Distance in kilometers
+     */
+    public double getDistanceTo(ChargingHub other) {
+        return GeoDistance.haversineRadians(latitudeRadians, longitudeRadians, cosLatitude,
+                other.latitudeRadians, other.longitudeRadians, other.cosLatitude);
+    }
+
     /**
      * Returns a string representation of the charging hub.
      *
@@ -1,8 +1,10 @@
 package m6b.d3ca;
 
 import ds.bag.Bag;
-import ds.bag.FixedCapacityBag;
+import ds.bag.ResizingArrayBag;
+import ds.spatial.PointGrid;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -10,7 +12,8 @@ import java.util.Map;
 /**
  * ChargingNetwork represents the autonomous vehicle charging hub network as an
  * undirected graph. Uses adjacency list representation with Bag ADT for storing
- * adjacent hubs.
+ * adjacent hubs. Routes can be added by hand or generated from hub coordinates
+ * with {@link #routeBuilder()}.
  *
  * Author: Cullen Kelley Course: AIT-512 Data Structures and Algorithms
  * Assignment: M6B-D3-CA Creative Assignment
@@ -22,7 +25,13 @@ public class ChargingNetwork {
      */
     private Map<Integer, ChargingHub> hubs;
     private Map<Integer, Bag<Integer>> adjacencyList;
+    private Map<Integer, List<ChargingRoute>> incidentRoutes;
     private List<ChargingRoute> allRoutes;
+    private PointGrid spatialIndex;                 // Hub coordinates, maintained on addHub
+    private List<ChargingHub> hubsBySpatialHandle;  // Spatial index handle -> hub
+    private List<ChargingNetworkListener> listeners; // Notified of route changes
+    private long modificationCount;                 // Bumped on every hub or route change
+    private ChargingNetworkSnapshot snapshot;       // Last freeze() result
 
     /**
      * Constructs an empty charging network.
@@ -30,7 +39,11 @@ public class ChargingNetwork {
     public ChargingNetwork() {
         this.hubs = new HashMap<>();
         this.adjacencyList = new HashMap<>();
+        this.incidentRoutes = new HashMap<>();
         this.allRoutes = new ArrayList<>();
+        this.spatialIndex = new PointGrid();
+        this.hubsBySpatialHandle = new ArrayList<>();
+        this.listeners = new ArrayList<>();
     }
 
     /**
@@ -41,8 +54,12 @@ public class ChargingNetwork {
     public void addHub(ChargingHub hub) {
         if (!hubs.containsKey(hub.getId())) {
             hubs.put(hub.getId(), hub);
-            // Create adjacency list entry with Bag (capacity = number of hubs max)
-            adjacencyList.put(hub.getId(), new FixedCapacityBag<>(hubs.size() + 5));
+            // Create adjacency list entry with a Bag that grows with the hub's degree
+            adjacencyList.put(hub.getId(), new ResizingArrayBag<>());
+            incidentRoutes.put(hub.getId(), new ArrayList<>());
+            spatialIndex.add(hub.getLatitude(), hub.getLongitude());
+            hubsBySpatialHandle.add(hub);
+            modificationCount++;
         }
     }
 
@@ -53,8 +70,9 @@ public class ChargingNetwork {
      * @param fromId Starting hub ID
      * @param toId Destination hub ID
      * @param cost Infrastructure cost for the route
+     * @return The new route
      */
-    public void addRoute(int fromId, int toId, double cost) {
+    public ChargingRoute addRoute(int fromId, int toId, double cost) {
         if (!hubs.containsKey(fromId) || !hubs.containsKey(toId)) {
             throw new IllegalArgumentException("One or both hubs do not exist");
         }
@@ -63,9 +81,111 @@ public class ChargingNetwork {
         adjacencyList.get(fromId).add(toId);
         adjacencyList.get(toId).add(fromId);
 
-        // Add to routes list
+        // Add to routes list and to the incidence list of both endpoints
         ChargingRoute route = new ChargingRoute(hubs.get(fromId), hubs.get(toId), cost);
         allRoutes.add(route);
+        incidentRoutes.get(fromId).add(route);
+        incidentRoutes.get(toId).add(route);
+        modificationCount++;
+
+        for (ChargingNetworkListener listener : listeners) {
+            listener.routeAdded(route);
+        }
+        return route;
+    }
+
+    /**
+     * Changes the infrastructure cost of an existing route.
+     *
+     * @param route A route of this network
+     * @param newCost New infrastructure cost
+     * @throws IllegalArgumentException if the route is not in this network
+     */
+    public void updateRouteCost(ChargingRoute route, double newCost) {
+        requireRoute(route);
+        double oldCost = route.getCost();
+        route.setCost(newCost);
+        modificationCount++;
+        for (ChargingNetworkListener listener : listeners) {
+            listener.routeCostChanged(route, oldCost);
+        }
+    }
+
+    /**
+     * Removes a route from the network.
+     *
+     * @param route A route of this network
+     * @throws IllegalArgumentException if the route is not in this network
+     */
+    public void removeRoute(ChargingRoute route) {
+        requireRoute(route);
+        int fromId = route.getFromHub().getId();
+        int toId = route.getToHub().getId();
+        removeByIdentity(allRoutes, route);
+        removeByIdentity(incidentRoutes.get(fromId), route);
+        removeByIdentity(incidentRoutes.get(toId), route);
+
+        // Bag does not support removal, so rebuild both bags without one occurrence
+        adjacencyList.put(fromId, rebuildBagWithout(adjacencyList.get(fromId), toId));
+        adjacencyList.put(toId, rebuildBagWithout(adjacencyList.get(toId), fromId));
+        modificationCount++;
+
+        for (ChargingNetworkListener listener : listeners) {
+            listener.routeRemoved(route);
+        }
+    }
+
+    /**
+     * Registers a listener notified after routes are added, re-priced or
+     * removed.
+     *
+     * @param listener The listener to add
+     */
+    public void addListener(ChargingNetworkListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener.
+     *
+     * @param listener The listener to remove
+     */
+    public void removeListener(ChargingNetworkListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void requireRoute(ChargingRoute route) {
+        List<ChargingRoute> routes = incidentRoutes.get(route.getFromHub().getId());
+        if (routes != null) {
+            for (ChargingRoute candidate : routes) {
+                if (candidate == route) {
+                    return;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Route is not part of this network: " + route);
+    }
+
+    private static void removeByIdentity(List<ChargingRoute> routes, ChargingRoute route) {
+        for (int i = 0; i < routes.size(); i++) {
+            if (routes.get(i) == route) {
+                routes.remove(i);
+                return;
+            }
+        }
+    }
+
+    private static Bag<Integer> rebuildBagWithout(Bag<Integer> originalBag, int excludeId) {
+        Bag<Integer> newBag = new ResizingArrayBag<>(originalBag.size());
+        boolean skipped = false;
+        for (int neighborId : originalBag) {
+            if (!skipped && neighborId == excludeId) {
+                skipped = true;
+            } else {
+                newBag.add(neighborId);
+            }
+        }
+        return newBag;
     }
 
     /**
@@ -87,6 +207,92 @@ public class ChargingNetwork {
         return new ArrayList<>(hubs.values());
     }
 
+    /**
+     * Finds the hubs nearest to a GPS location using the spatial grid index.
+     *
+     * @param latitude GPS latitude
+     * @param longitude GPS longitude
+     * @param k Maximum number of hubs to return
+     * @return Up to k hubs ordered by increasing distance
+     */
+    public List<ChargingHub> findNearestHubs(double latitude, double longitude, int k) {
+        return hubsForHandles(spatialIndex.nearest(latitude, longitude, k, null));
+    }
+
+    /**
+     * Finds the hubs within a radius of a GPS location using the spatial grid
+     * index.
+     *
+     * @param latitude GPS latitude
+     * @param longitude GPS longitude
+     * @param radiusKm Search radius in kilometers
+     * @return Hubs within the radius ordered by increasing distance
+     */
+    public List<ChargingHub> findHubsWithinRadius(double latitude, double longitude, double radiusKm) {
+        return hubsForHandles(spatialIndex.withinRadius(latitude, longitude, radiusKm, null));
+    }
+
+    /**
+     * Creates a builder that generates routes between the hubs of this
+     * network from their coordinates.
+     *
+     * @return Route builder bound to this network
+     */
+    public ChargingRouteBuilder routeBuilder() {
+        return new ChargingRouteBuilder(this);
+    }
+
+    /**
+     * Gets the spatial index of hub coordinates (read-only use).
+     *
+     * @return Grid index with one handle per hub
+     */
+    PointGrid getSpatialIndex() {
+        return spatialIndex;
+    }
+
+    /**
+     * Gets the hub registered under a spatial index handle.
+     *
+     * @param handle Spatial index handle
+     * @return The ChargingHub
+     */
+    ChargingHub hubAtSpatialHandle(int handle) {
+        return hubsBySpatialHandle.get(handle);
+    }
+
+    private List<ChargingHub> hubsForHandles(int[] handles) {
+        List<ChargingHub> result = new ArrayList<>(handles.length);
+        for (int handle : handles) {
+            result.add(hubsBySpatialHandle.get(handle));
+        }
+        return result;
+    }
+
+    /**
+     * Gets a counter that increases with every hub or route change, so
+     * derived results can detect that the network changed.
+     *
+     * @return Modification count
+     */
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Gets a read-only, array-backed snapshot of the network with dense hub
+     * and route indices, which may be shared across threads. The snapshot is
+     * rebuilt only if the network changed since the last call.
+     *
+     * @return Snapshot of the current network
+     */
+    public ChargingNetworkSnapshot freeze() {
+        if (snapshot == null || snapshot.getModificationCount() != modificationCount) {
+            snapshot = new ChargingNetworkSnapshot(getAllHubs(), allRoutes, modificationCount);
+        }
+        return snapshot;
+    }
+
     /**
      * Gets the number of hubs in the network.
      *
@@ -106,6 +312,23 @@ public class ChargingNetwork {
         return adjacencyList.get(hubId);
     }
 
+    /**
+     * Gets the routes incident to a given hub (edges with the hub as either
+     * endpoint). Returns the stored incidence list directly so graph
+     * algorithms can walk a hub's edges without searching or copying the full
+     * route list.
+     *
+     * @param hubId Hub identifier
+     * @return Iterable over the routes touching the hub (empty if unknown)
+     */
+    public Iterable<ChargingRoute> getIncidentRoutes(int hubId) {
+        List<ChargingRoute> routes = incidentRoutes.get(hubId);
+        if (routes == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(routes);
+    }
+
     /**
      * Gets all routes in the network.
      *
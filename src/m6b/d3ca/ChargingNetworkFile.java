@@ -0,0 +1,306 @@
+package m6b.d3ca;
+
+import ds.io.SectionFileReader;
+import ds.io.SectionFileWriter;
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.file.Path;
+
+/**
+ * ChargingNetworkFile is the binary, memory-mapped form of a charging network.
+ * The file stores the arrays of a {@link ChargingNetworkSnapshot}: hubs in
+ * increasing ID order (IDs, coordinates, names and regions), routes in
+ * insertion order (endpoint hub indices and costs) and the CSR incidence
+ * lists of route indices.
+ *
+ * {@link #open(Path)} maps the file and reads every array in place through
+ * buffer views, so a network of any size opens in about the same time and no
+ * object is allocated per hub or per route; names are decoded only when asked
+ * for. {@link #toNetwork()} rebuilds a regular ChargingNetwork when the
+ * mutable model is needed.
+ *
+ * Author: Cullen Kelley Course: AIT-512 Data Structures and Algorithms
+ * Assignment: M6B-D3-CA Creative Assignment
+ */
+public class ChargingNetworkFile {
+
+    private static final int MAGIC = 0x43484E46; // "CHNF"
+    private static final int VERSION = 1;
+
+    private final IntBuffer hubIds;
+    private final DoubleBuffer latitudes;
+    private final DoubleBuffer longitudes;
+    private final SectionFileReader.Strings hubText;   // Name, region per hub
+    private final IntBuffer routeFrom;
+    private final IntBuffer routeTo;
+    private final DoubleBuffer routeCost;
+    private final IntBuffer incidenceOffsets;          // V + 1 entries
+    private final IntBuffer incidentRoutes;            // 2E entries
+
+    private ChargingNetworkFile(SectionFileReader reader) throws IOException {
+        hubIds = reader.nextInts();
+        latitudes = reader.nextDoubles();
+        longitudes = reader.nextDoubles();
+        hubText = reader.nextStrings();
+        routeFrom = reader.nextInts();
+        routeTo = reader.nextInts();
+        routeCost = reader.nextDoubles();
+        incidenceOffsets = reader.nextInts();
+        incidentRoutes = reader.nextInts();
+
+        int hubCount = hubIds.limit();
+        int routeCount = routeFrom.limit();
+        if (latitudes.limit() != hubCount || longitudes.limit() != hubCount
+                || hubText.size() != 2 * hubCount || routeTo.limit() != routeCount
+                || routeCost.limit() != routeCount || incidenceOffsets.limit() != hubCount + 1
+                || incidentRoutes.limit() != 2 * routeCount) {
+            throw new IOException("Corrupt charging network file");
+        }
+    }
+
+    /**
+     * Maps a charging network file.
+     *
+     * @param path File written by write()
+     * @return Read-only view of the file
+     * @throws IOException if the file cannot be read or is not a charging
+     * network file
+     */
+    public static ChargingNetworkFile open(Path path) throws IOException {
+        return new ChargingNetworkFile(SectionFileReader.open(path, MAGIC, VERSION));
+    }
+
+    /**
+     * Writes a network to a file, using its frozen snapshot.
+     *
+     * @param network The network to save
+     * @param path Destination file
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(ChargingNetwork network, Path path) throws IOException {
+        ChargingNetworkSnapshot snapshot = network.freeze();
+        int hubCount = snapshot.getHubCount();
+        int routeCount = snapshot.getRouteCount();
+
+        int[] ids = new int[hubCount];
+        double[] lats = new double[hubCount];
+        double[] lons = new double[hubCount];
+        String[] text = new String[2 * hubCount];
+        int[] offsets = new int[hubCount + 1];
+        for (int v = 0; v < hubCount; v++) {
+            ChargingHub hub = snapshot.hub(v);
+            ids[v] = hub.getId();
+            lats[v] = hub.getLatitude();
+            lons[v] = hub.getLongitude();
+            text[2 * v] = hub.getName();
+            text[2 * v + 1] = hub.getRegion();
+            offsets[v + 1] = snapshot.incidenceEnd(v);
+        }
+        int[] from = new int[routeCount];
+        int[] to = new int[routeCount];
+        double[] cost = new double[routeCount];
+        for (int e = 0; e < routeCount; e++) {
+            from[e] = snapshot.routeFrom(e);
+            to[e] = snapshot.routeTo(e);
+            cost[e] = snapshot.routeCost(e);
+        }
+        int[] incident = new int[2 * routeCount];
+        for (int k = 0; k < incident.length; k++) {
+            incident[k] = snapshot.incidentRoute(k);
+        }
+
+        try (SectionFileWriter out = new SectionFileWriter(path, MAGIC, VERSION)) {
+            out.writeInts(ids, hubCount);
+            out.writeDoubles(lats, hubCount);
+            out.writeDoubles(lons, hubCount);
+            out.writeStrings(text, 2 * hubCount);
+            out.writeInts(from, routeCount);
+            out.writeInts(to, routeCount);
+            out.writeDoubles(cost, routeCount);
+            out.writeInts(offsets, hubCount + 1);
+            out.writeInts(incident, incident.length);
+        }
+    }
+
+    /**
+     * Gets the number of hubs.
+     *
+     * @return Hub count V
+     */
+    public int getHubCount() {
+        return hubIds.limit();
+    }
+
+    /**
+     * Gets the number of routes.
+     *
+     * @return Route count E
+     */
+    public int getRouteCount() {
+        return routeFrom.limit();
+    }
+
+    /**
+     * Gets the index of a hub.
+     *
+     * @param hubId Hub ID
+     * @return Hub index, or -1 if there is no such hub
+     */
+    public int indexOf(int hubId) {
+        int low = 0;
+        int high = hubIds.limit() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int id = hubIds.get(mid);
+            if (id < hubId) {
+                low = mid + 1;
+            } else if (id > hubId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the ID of the hub at an index.
+     *
+     * @param v Hub index
+     * @return Hub ID
+     */
+    public int hubId(int v) {
+        return hubIds.get(v);
+    }
+
+    /**
+     * Gets the name of the hub at an index (decoded on each call).
+     *
+     * @param v Hub index
+     * @return Hub name
+     */
+    public String hubName(int v) {
+        return hubText.get(2 * v);
+    }
+
+    /**
+     * Gets the region of the hub at an index (decoded on each call).
+     *
+     * @param v Hub index
+     * @return Hub region
+     */
+    public String hubRegion(int v) {
+        return hubText.get(2 * v + 1);
+    }
+
+    /**
+     * Gets the latitude of the hub at an index.
+     *
+     * @param v Hub index
+     * @return Latitude in degrees
+     */
+    public double latitude(int v) {
+        return latitudes.get(v);
+    }
+
+    /**
+     * Gets the longitude of the hub at an index.
+     *
+     * @param v Hub index
+     * @return Longitude in degrees
+     */
+    public double longitude(int v) {
+        return longitudes.get(v);
+    }
+
+    /**
+     * Gets the index of the first endpoint of a route.
+     *
+     * @param e Route index
+     * @return Hub index
+     */
+    public int routeFrom(int e) {
+        return routeFrom.get(e);
+    }
+
+    /**
+     * Gets the index of the second endpoint of a route.
+     *
+     * @param e Route index
+     * @return Hub index
+     */
+    public int routeTo(int e) {
+        return routeTo.get(e);
+    }
+
+    /**
+     * Gets the cost of a route.
+     *
+     * @param e Route index
+     * @return Cost in thousands of dollars
+     */
+    public double routeCost(int e) {
+        return routeCost.get(e);
+    }
+
+    /**
+     * Gets the number of routes at a hub.
+     *
+     * @param v Hub index
+     * @return Degree
+     */
+    public int degree(int v) {
+        return incidenceOffsets.get(v + 1) - incidenceOffsets.get(v);
+    }
+
+    /**
+     * Gets the first incidence entry of a hub.
+     *
+     * @param v Hub index
+     * @return First entry position
+     */
+    public int incidenceStart(int v) {
+        return incidenceOffsets.get(v);
+    }
+
+    /**
+     * Gets the position after the last incidence entry of a hub.
+     *
+     * @param v Hub index
+     * @return End entry position (exclusive)
+     */
+    public int incidenceEnd(int v) {
+        return incidenceOffsets.get(v + 1);
+    }
+
+    /**
+     * Gets the route of an incidence entry.
+     *
+     * @param k Entry position
+     * @return Route index
+     */
+    public int incidentRoute(int k) {
+        return incidentRoutes.get(k);
+    }
+
+    /**
+     * Builds a ChargingNetwork with the hubs and routes of the file. Routes
+     * are added in their original order, so route and incidence order (and
+     * therefore MST tie-breaking) match the saved network.
+     *
+     * @return New network
+     */
+    public ChargingNetwork toNetwork() {
+        ChargingNetwork network = new ChargingNetwork();
+        int hubCount = getHubCount();
+        for (int v = 0; v < hubCount; v++) {
+            network.addHub(new ChargingHub(hubId(v), hubName(v), hubRegion(v), latitude(v), longitude(v)));
+        }
+        int routeCount = getRouteCount();
+        for (int e = 0; e < routeCount; e++) {
+            network.addRoute(hubId(routeFrom(e)), hubId(routeTo(e)), routeCost(e));
+        }
+        return network;
+    }
+}
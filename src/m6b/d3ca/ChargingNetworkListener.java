@@ -0,0 +1,39 @@
+package m6b.d3ca;
+
+/**
+ * ChargingNetworkListener receives route changes from a ChargingNetwork, so
+ * derived structures (such as an incrementally maintained MST) can update
+ * themselves instead of being recomputed. Every method has an empty default
+ * implementation; override only the events of interest. Callbacks run after
+ * the network has applied the change.
+ *
+ * Author: Cullen Kelley Course: AIT-512 Data Structures and Algorithms
+ * Assignment: M6B-D3-CA Creative Assignment
+ */
+public interface ChargingNetworkListener {
+
+    /**
+     * Called after a route is added.
+     *
+     * @param route The new route
+     */
+    default void routeAdded(ChargingRoute route) {
+    }
+
+    /**
+     * Called after the cost of a route changes.
+     *
+     * @param route The route, already holding its new cost
+     * @param oldCost The cost before the change
+     */
+    default void routeCostChanged(ChargingRoute route, double oldCost) {
+    }
+
+    /**
+     * Called after a route is removed.
+     *
+     * @param route The removed route
+     */
+    default void routeRemoved(ChargingRoute route) {
+    }
+}
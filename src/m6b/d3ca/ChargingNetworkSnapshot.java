@@ -0,0 +1,276 @@
+package m6b.d3ca;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ChargingNetworkSnapshot is a read-only copy of a ChargingNetwork taken by
+ * {@link ChargingNetwork#freeze()}. Hubs get dense indices 0..V-1 in increasing
+ * ID order and routes get indices 0..E-1 in insertion order. Everything is held
+ * in primitive arrays:
+ *
+ * - hub IDs, latitudes and longitudes by hub index
+ * - route endpoints (hub indices) and costs by route index
+ * - incidence lists in compressed sparse row form: the entries of hub v are
+ * incidenceStart(v)..incidenceEnd(v)-1, each giving a route index, the hub at
+ * the other end and the route cost
+ *
+ * The arrays are never written after construction, so one snapshot can be read
+ * by any number of threads without copying or locking. Route costs are the
+ * costs at freeze time; later changes to the network are not visible.
+ *
+ * Author: Cullen Kelley Course: AIT-512 Data Structures and Algorithms
+ * Assignment: M6B-D3-CA Creative Assignment
+ */
+public class ChargingNetworkSnapshot {
+
+    private final long modificationCount;
+    private final ChargingHub[] hubs;
+    private final int[] hubIds;             // Sorted, so indexOf is a binary search
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final ChargingRoute[] routes;
+    private final int[] routeFrom;
+    private final int[] routeTo;
+    private final double[] routeCost;
+    private final int[] incidenceOffsets;   // V + 1 entries
+    private final int[] incidentRoutes;     // 2E entries
+    private final int[] incidentNeighbors;
+    private final double[] incidentCosts;
+
+    /**
+     * Builds a snapshot; only ChargingNetwork.freeze() creates snapshots.
+     *
+     * @param hubList All hubs of the network
+     * @param routeList All routes of the network, in insertion order
+     * @param modificationCount Network modification count at freeze time
+     */
+    ChargingNetworkSnapshot(List<ChargingHub> hubList, List<ChargingRoute> routeList, long modificationCount) {
+        this.modificationCount = modificationCount;
+
+        int hubCount = hubList.size();
+        hubs = hubList.toArray(new ChargingHub[0]);
+        Arrays.sort(hubs, (a, b) -> Integer.compare(a.getId(), b.getId()));
+        hubIds = new int[hubCount];
+        latitudes = new double[hubCount];
+        longitudes = new double[hubCount];
+        for (int v = 0; v < hubCount; v++) {
+            hubIds[v] = hubs[v].getId();
+            latitudes[v] = hubs[v].getLatitude();
+            longitudes[v] = hubs[v].getLongitude();
+        }
+
+        int routeCount = routeList.size();
+        routes = routeList.toArray(new ChargingRoute[0]);
+        routeFrom = new int[routeCount];
+        routeTo = new int[routeCount];
+        routeCost = new double[routeCount];
+        incidenceOffsets = new int[hubCount + 1];
+        for (int e = 0; e < routeCount; e++) {
+            routeFrom[e] = indexOf(routes[e].getFromHub().getId());
+            routeTo[e] = indexOf(routes[e].getToHub().getId());
+            routeCost[e] = routes[e].getCost();
+            incidenceOffsets[routeFrom[e] + 1]++;
+            incidenceOffsets[routeTo[e] + 1]++;
+        }
+        for (int v = 0; v < hubCount; v++) {
+            incidenceOffsets[v + 1] += incidenceOffsets[v];
+        }
+
+        // Fill in route order, so each hub's entries keep insertion order
+        incidentRoutes = new int[2 * routeCount];
+        incidentNeighbors = new int[2 * routeCount];
+        incidentCosts = new double[2 * routeCount];
+        int[] next = Arrays.copyOf(incidenceOffsets, hubCount);
+        for (int e = 0; e < routeCount; e++) {
+            int from = routeFrom[e];
+            int to = routeTo[e];
+            int slot = next[from]++;
+            incidentRoutes[slot] = e;
+            incidentNeighbors[slot] = to;
+            incidentCosts[slot] = routeCost[e];
+            slot = next[to]++;
+            incidentRoutes[slot] = e;
+            incidentNeighbors[slot] = from;
+            incidentCosts[slot] = routeCost[e];
+        }
+    }
+
+    /**
+     * Gets the network modification count at freeze time.
+     *
+     * @return Modification count
+     */
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Gets the number of hubs.
+     *
+     * @return Hub count V
+     */
+    public int getHubCount() {
+        return hubs.length;
+    }
+
+    /**
+     * Gets the number of routes.
+     *
+     * @return Route count E
+     */
+    public int getRouteCount() {
+        return routes.length;
+    }
+
+    /**
+     * Gets the dense index of a hub.
+     *
+     * @param hubId Hub ID
+     * @return Hub index, or -1 if there is no such hub
+     */
+    public int indexOf(int hubId) {
+        int index = Arrays.binarySearch(hubIds, hubId);
+        return index >= 0 ? index : -1;
+    }
+
+    /**
+     * Gets the ID of the hub at an index.
+     *
+     * @param v Hub index
+     * @return Hub ID
+     */
+    public int hubId(int v) {
+        return hubIds[v];
+    }
+
+    /**
+     * Gets the hub at an index.
+     *
+     * @param v Hub index
+     * @return Hub
+     */
+    public ChargingHub hub(int v) {
+        return hubs[v];
+    }
+
+    /**
+     * Gets the latitude of the hub at an index.
+     *
+     * @param v Hub index
+     * @return Latitude in degrees
+     */
+    public double latitude(int v) {
+        return latitudes[v];
+    }
+
+    /**
+     * Gets the longitude of the hub at an index.
+     *
+     * @param v Hub index
+     * @return Longitude in degrees
+     */
+    public double longitude(int v) {
+        return longitudes[v];
+    }
+
+    /**
+     * Gets the route at an index.
+     *
+     * @param e Route index
+     * @return Route
+     */
+    public ChargingRoute route(int e) {
+        return routes[e];
+    }
+
+    /**
+     * Gets the index of the first endpoint of a route.
+     *
+     * @param e Route index
+     * @return Hub index
+     */
+    public int routeFrom(int e) {
+        return routeFrom[e];
+    }
+
+    /**
+     * Gets the index of the second endpoint of a route.
+     *
+     * @param e Route index
+     * @return Hub index
+     */
+    public int routeTo(int e) {
+        return routeTo[e];
+    }
+
+    /**
+     * Gets the cost of a route at freeze time.
+     *
+     * @param e Route index
+     * @return Cost in thousands of dollars
+     */
+    public double routeCost(int e) {
+        return routeCost[e];
+    }
+
+    /**
+     * Gets the number of routes at a hub.
+     *
+     * @param v Hub index
+     * @return Degree
+     */
+    public int degree(int v) {
+        return incidenceOffsets[v + 1] - incidenceOffsets[v];
+    }
+
+    /**
+     * Gets the first incidence entry of a hub.
+     *
+     * @param v Hub index
+     * @return First entry position
+     */
+    public int incidenceStart(int v) {
+        return incidenceOffsets[v];
+    }
+
+    /**
+     * Gets the position after the last incidence entry of a hub.
+     *
+     * @param v Hub index
+     * @return End entry position (exclusive)
+     */
+    public int incidenceEnd(int v) {
+        return incidenceOffsets[v + 1];
+    }
+
+    /**
+     * Gets the route of an incidence entry.
+     *
+     * @param k Entry position
+     * @return Route index
+     */
+    public int incidentRoute(int k) {
+        return incidentRoutes[k];
+    }
+
+    /**
+     * Gets the hub at the other end of an incidence entry.
+     *
+     * @param k Entry position
+     * @return Hub index
+     */
+    public int incidentNeighbor(int k) {
+        return incidentNeighbors[k];
+    }
+
+    /**
+     * Gets the route cost of an incidence entry.
+     *
+     * @param k Entry position
+     * @return Cost in thousands of dollars
+     */
+    public double incidentCost(int k) {
+        return incidentCosts[k];
+    }
+}
@@ -53,6 +53,16 @@ public class ChargingRoute implements Comparable<ChargingRoute> {
         return cost;
     }
 
+    /**
+     * Changes the cost of this route. Only ChargingNetwork calls this, so that
+     * listeners are notified of the change.
+     *
+     * @param cost New infrastructure cost
+     */
+    void setCost(double cost) {
+        this.cost = cost;
+    }
+
     /**
      * Gets the other hub (for undirected edge). Given one hub, returns the
      * other endpoint of this edge.
@@ -0,0 +1,196 @@
+package m6b.d3ca;
+
+import ds.spatial.PointGrid;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * ChargingRouteBuilder generates candidate routes for a charging network from
+ * hub coordinates instead of hand-wired addRoute calls. Each hub is connected
+ * to its k nearest hubs (found with the network's spatial grid index), so the
+ * generated graph has at most V*k routes instead of the V(V-1)/2 of a complete
+ * graph, while still containing the short routes an MST is built from.
+ *
+ * Route cost = fixed cost + cost per km * great-circle distance, in the same
+ * units as hand-entered costs (thousands of dollars). Neighbor searches and
+ * costs are computed in parallel; routes are then added to the network in a
+ * deterministic order (hub insertion order, nearest neighbor first). A pair of
+ * hubs is connected at most once, and pairs that already have a route are
+ * skipped.
+ *
+ * Author: Cullen Kelley Course: AIT-512 Data Structures and Algorithms
+ * Assignment: M6B-D3-CA Creative Assignment
+ */
+public class ChargingRouteBuilder {
+
+    private final ChargingNetwork network;
+    private int nearestNeighbors = 4;
+    private double costPerKm = 0.4;     // $K per km
+    private double fixedCost = 0.0;     // $K per route
+    private boolean parallel = true;
+
+    /**
+     * Constructs a builder for a network (see ChargingNetwork.routeBuilder()).
+     *
+     * @param network The network whose hubs are connected
+     */
+    ChargingRouteBuilder(ChargingNetwork network) {
+        this.network = network;
+    }
+
+    /**
+     * Sets the number of nearest hubs each hub is connected to.
+     *
+     * @param k Neighbors per hub (default 4)
+     * @return This builder
+     */
+    public ChargingRouteBuilder nearestNeighbors(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("Neighbor count must be at least 1: " + k);
+        }
+        this.nearestNeighbors = k;
+        return this;
+    }
+
+    /**
+     * Sets the route cost per kilometer.
+     *
+     * @param costPerKm Cost per km in thousands of dollars (default 0.4)
+     * @return This builder
+     */
+    public ChargingRouteBuilder costPerKm(double costPerKm) {
+        if (costPerKm < 0) {
+            throw new IllegalArgumentException("Cost per km must be non-negative: " + costPerKm);
+        }
+        this.costPerKm = costPerKm;
+        return this;
+    }
+
+    /**
+     * Sets the fixed cost added to every route.
+     *
+     * @param fixedCost Fixed cost in thousands of dollars (default 0)
+     * @return This builder
+     */
+    public ChargingRouteBuilder fixedCost(double fixedCost) {
+        if (fixedCost < 0) {
+            throw new IllegalArgumentException("Fixed cost must be non-negative: " + fixedCost);
+        }
+        this.fixedCost = fixedCost;
+        return this;
+    }
+
+    /**
+     * Enables or disables parallel neighbor search.
+     *
+     * @param parallel True to search neighbors on all cores (default true)
+     * @return This builder
+     */
+    public ChargingRouteBuilder parallel(boolean parallel) {
+        this.parallel = parallel;
+        return this;
+    }
+
+    /**
+     * Computes the generated cost of a route between two hubs.
+     *
+     * @param from One hub
+     * @param to The other hub
+     * @return Route cost in thousands of dollars
+     */
+    public double costOf(ChargingHub from, ChargingHub to) {
+        return fixedCost + costPerKm * from.getDistanceTo(to);
+    }
+
+    /**
+     * Generates the k-nearest-neighbor routes and adds them to the network.
+     *
+     * @return Number of routes added
+     */
+    public int build() {
+        PointGrid grid = network.getSpatialIndex();
+        int hubCount = grid.size();
+        int k = nearestNeighbors;
+
+        // Phase 1 (parallel): k nearest hubs of every hub, by spatial handle
+        int[][] neighbors = new int[hubCount][];
+        IntStream handles = IntStream.range(0, hubCount);
+        if (parallel) {
+            handles = handles.parallel();
+        }
+        handles.forEach(h -> {
+            ChargingHub hub = network.hubAtSpatialHandle(h);
+            neighbors[h] = grid.nearest(hub.getLatitude(), hub.getLongitude(), k, other -> other != h);
+        });
+
+        // Phase 2 (parallel): each undirected pair is emitted by exactly one
+        // endpoint - the lower handle, or the higher one if the lower handle
+        // did not pick it - and its cost computed there
+        Set<Long> existing = existingRoutePairs();
+        int[][] emitted = new int[hubCount][];
+        double[][] costs = new double[hubCount][];
+        handles = IntStream.range(0, hubCount);
+        if (parallel) {
+            handles = handles.parallel();
+        }
+        handles.forEach(h -> {
+            ChargingHub hub = network.hubAtSpatialHandle(h);
+            int[] accepted = new int[neighbors[h].length];
+            double[] acceptedCosts = new double[neighbors[h].length];
+            int count = 0;
+            for (int other : neighbors[h]) {
+                if (h > other && contains(neighbors[other], h)) {
+                    continue;
+                }
+                ChargingHub otherHub = network.hubAtSpatialHandle(other);
+                if (existing.contains(pairKey(hub.getId(), otherHub.getId()))) {
+                    continue;
+                }
+                accepted[count] = other;
+                acceptedCosts[count] = costOf(hub, otherHub);
+                count++;
+            }
+            emitted[h] = Arrays.copyOf(accepted, count);
+            costs[h] = Arrays.copyOf(acceptedCosts, count);
+        });
+
+        // Phase 3 (sequential): add routes in a deterministic order
+        int added = 0;
+        for (int h = 0; h < hubCount; h++) {
+            int fromId = network.hubAtSpatialHandle(h).getId();
+            for (int i = 0; i < emitted[h].length; i++) {
+                network.addRoute(fromId, network.hubAtSpatialHandle(emitted[h][i]).getId(), costs[h][i]);
+                added++;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Collects the hub ID pairs that already have a route.
+     */
+    private Set<Long> existingRoutePairs() {
+        Set<Long> pairs = new HashSet<>();
+        for (ChargingRoute route : network.getAllRoutes()) {
+            pairs.add(pairKey(route.getFromHub().getId(), route.getToHub().getId()));
+        }
+        return pairs;
+    }
+
+    private static long pairKey(int a, int b) {
+        int low = Math.min(a, b);
+        int high = Math.max(a, b);
+        return ((long) low << 32) | (high & 0xFFFFFFFFL);
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int v : values) {
+            if (v == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
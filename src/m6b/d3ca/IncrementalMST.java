@@ -0,0 +1,402 @@
+package m6b.d3ca;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * IncrementalMST keeps a minimum spanning tree (forest) of a ChargingNetwork
+ * up to date as routes are added, re-priced or removed, instead of recomputing
+ * it from scratch. The initial tree comes from Kruskal; afterwards the object
+ * listens to the network and applies the cycle and cut properties:
+ *
+ * - new route, or cheaper non-tree route (u, v): if u and v are in different
+ * trees the route joins them; otherwise it replaces the most expensive route
+ * on the tree path u..v if it is cheaper
+ * - cheaper tree route, or dearer non-tree route: the tree is unchanged
+ * - dearer or removed tree route: the route is cut out and the cheapest route
+ * crossing the cut (possibly the same route) reconnects the two sides
+ *
+ * Each update walks one tree path or one side of a cut, O(V + incident
+ * routes of that side), instead of O(E log E) for a rebuild. With the
+ * consistency check enabled, every update is compared against a full Kruskal
+ * rebuild and a mismatch throws IllegalStateException (intended for tests).
+ *
+ * Author: Cullen Kelley Course: AIT-512 Data Structures and Algorithms
+ * Assignment: M6B-D3-CA Creative Assignment
+ */
+public class IncrementalMST implements MinimumSpanningTree, ChargingNetworkListener {
+
+    private static final double COST_TOLERANCE = 1e-6;
+
+    private final ChargingNetwork network;
+    private final Map<Integer, List<ChargingRoute>> treeAdjacency; // Hub ID -> incident tree routes
+    private final Set<ChargingRoute> treeEdges;                     // Identity set of tree routes
+    private double totalCost;
+    private boolean consistencyCheck;
+    private int updateCount;
+    private long version;
+
+    /**
+     * Computes the initial MST of a network and starts listening to its
+     * route changes.
+     *
+     * @param network The ChargingNetwork to maintain an MST for
+     */
+    public IncrementalMST(ChargingNetwork network) {
+        this.network = network;
+        this.treeAdjacency = new HashMap<>();
+        this.treeEdges = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.consistencyCheck = false;
+        this.updateCount = 0;
+        rebuild();
+        network.addListener(this);
+    }
+
+    /**
+     * Stops listening to the network. The tree is frozen at its current
+     * state.
+     */
+    public void detach() {
+        network.removeListener(this);
+    }
+
+    /**
+     * Enables or disables the comparison against a full rebuild after every
+     * update.
+     *
+     * @param enabled True to verify every update
+     */
+    public void setConsistencyCheck(boolean enabled) {
+        this.consistencyCheck = enabled;
+    }
+
+    /**
+     * Checks whether updates are verified against a full rebuild.
+     *
+     * @return True if the consistency check is enabled
+     */
+    public boolean isConsistencyCheck() {
+        return consistencyCheck;
+    }
+
+    /**
+     * Gets the number of incremental updates applied since construction.
+     *
+     * @return Update count
+     */
+    public int getUpdateCount() {
+        return updateCount;
+    }
+
+    /**
+     * Discards the maintained tree and recomputes it with Kruskal.
+     */
+    public void rebuild() {
+        treeAdjacency.clear();
+        treeEdges.clear();
+        totalCost = 0;
+        MSTKruskalAlgorithm kruskal = new MSTKruskalAlgorithm(network);
+        kruskal.computeMST();
+        for (ChargingRoute route : kruskal.getMSTEdges()) {
+            link(route);
+        }
+        version++;
+    }
+
+    /**
+     * Compares the maintained tree with a full Kruskal rebuild. Minimum
+     * spanning forests may differ in edges when costs tie, so the edge count
+     * and total cost are compared.
+     *
+     * @return True if the maintained tree is a minimum spanning forest
+     */
+    public boolean matchesRebuild() {
+        MSTKruskalAlgorithm kruskal = new MSTKruskalAlgorithm(network);
+        kruskal.computeMST();
+        double tolerance = COST_TOLERANCE * Math.max(1.0, Math.abs(kruskal.getTotalCost()));
+        return kruskal.getMSTEdgeCount() == treeEdges.size()
+                && Math.abs(kruskal.getTotalCost() - totalCost) <= tolerance;
+    }
+
+    @Override
+    public void routeAdded(ChargingRoute route) {
+        offerNonTreeRoute(route);
+        afterUpdate("add " + route);
+    }
+
+    @Override
+    public void routeCostChanged(ChargingRoute route, double oldCost) {
+        if (treeEdges.contains(route)) {
+            totalCost += route.getCost() - oldCost;
+            if (route.getCost() > oldCost) {
+                // Cut property: a cheaper route may now cross the cut
+                unlink(route);
+                reconnect(route.getFromHub().getId(), route.getToHub().getId());
+            }
+        } else if (route.getCost() < oldCost) {
+            offerNonTreeRoute(route);
+        }
+        afterUpdate("re-price " + route);
+    }
+
+    @Override
+    public void routeRemoved(ChargingRoute route) {
+        if (treeEdges.contains(route)) {
+            unlink(route);
+            reconnect(route.getFromHub().getId(), route.getToHub().getId());
+        }
+        afterUpdate("remove " + route);
+    }
+
+    /**
+     * Gets the MST edges.
+     *
+     * @return List of edges in the MST (forest), in increasing cost order
+     */
+    @Override
+    public List<ChargingRoute> getMSTEdges() {
+        List<ChargingRoute> edges = new ArrayList<>(treeEdges);
+        Collections.sort(edges);
+        return edges;
+    }
+
+    /**
+     * Gets the total cost of the MST.
+     *
+     * @return Sum of all edge costs in MST
+     */
+    @Override
+    public double getTotalCost() {
+        return totalCost;
+    }
+
+    /**
+     * Gets the number of edges in the MST.
+     *
+     * @return Count of MST edges
+     */
+    @Override
+    public int getMSTEdgeCount() {
+        return treeEdges.size();
+    }
+
+    /**
+     * Gets the version of the maintained tree.
+     *
+     * @return Number of rebuilds plus incremental updates
+     */
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Displays the MST results.
+     */
+    @Override
+    public void displayMST() {
+        System.out.println("\n=== MINIMUM SPANNING TREE (Incremental) ===");
+        System.out.println("\nMST Edges (in increasing cost order):");
+
+        int edgeNumber = 1;
+        for (ChargingRoute edge : getMSTEdges()) {
+            System.out.println("  " + edgeNumber + ". " + edge.getFromHub().getName()
+                    + " <--> " + edge.getToHub().getName()
+                    + " | Cost: $" + String.format("%.1f", edge.getCost()) + "K");
+            edgeNumber++;
+        }
+
+        System.out.println("\nTotal Hubs: " + network.getHubCount());
+        System.out.println("Incremental Updates Applied: " + updateCount);
+        System.out.println("Total MST Edges: " + treeEdges.size());
+        System.out.println("Total Infrastructure Cost: $" + String.format("%.1f", totalCost) + "K");
+        System.out.println("===========================================\n");
+    }
+
+    /**
+     * Cycle property: a route outside the tree enters it if it joins two trees
+     * or is cheaper than the most expensive route on the tree path between its
+     * endpoints, which then leaves the tree.
+     */
+    private void offerNonTreeRoute(ChargingRoute route) {
+        int fromId = route.getFromHub().getId();
+        int toId = route.getToHub().getId();
+        if (fromId == toId) {
+            return; // A self-loop never belongs to a spanning tree
+        }
+        ChargingRoute heaviest = heaviestOnTreePath(fromId, toId);
+        if (heaviest == null) {
+            link(route); // Endpoints in different trees
+        } else if (route.getCost() < heaviest.getCost()) {
+            unlink(heaviest);
+            link(route);
+        }
+    }
+
+    /**
+     * Finds the most expensive route on the tree path between two hubs by a
+     * depth-first walk from the first hub.
+     *
+     * @return The most expensive route on the path, or null if the hubs are
+     * not in the same tree
+     */
+    private ChargingRoute heaviestOnTreePath(int fromId, int toId) {
+        Map<Integer, ChargingRoute> parentRoute = new HashMap<>();
+        Deque<Integer> stack = new ArrayDeque<>();
+        parentRoute.put(fromId, null);
+        stack.push(fromId);
+        boolean found = false;
+        while (!stack.isEmpty() && !found) {
+            int hubId = stack.pop();
+            for (ChargingRoute route : treeRoutesOf(hubId)) {
+                int nextId = otherEnd(route, hubId);
+                if (!parentRoute.containsKey(nextId)) {
+                    parentRoute.put(nextId, route);
+                    if (nextId == toId) {
+                        found = true;
+                        break;
+                    }
+                    stack.push(nextId);
+                }
+            }
+        }
+        if (!found) {
+            return null;
+        }
+
+        // Walk back from the target to the start, keeping the most expensive route
+        ChargingRoute heaviest = null;
+        int hubId = toId;
+        while (hubId != fromId) {
+            ChargingRoute route = parentRoute.get(hubId);
+            if (heaviest == null || route.getCost() > heaviest.getCost()) {
+                heaviest = route;
+            }
+            hubId = otherEnd(route, hubId);
+        }
+        return heaviest;
+    }
+
+    /**
+     * Cut property: after a tree route between two hubs left the tree, adds
+     * the cheapest network route crossing between the two resulting trees (if
+     * any). The trees of a minimum spanning forest are exactly the connected
+     * regions of the network, so every route leaving one side of the cut ends
+     * on the other side; only the smaller side is explored and scanned.
+     */
+    private void reconnect(int fromId, int toId) {
+        Set<Integer> side = smallerSide(fromId, toId);
+        if (side == null) {
+            return; // Still connected
+        }
+        ChargingRoute cheapest = null;
+        for (int hubId : side) {
+            for (ChargingRoute route : network.getIncidentRoutes(hubId)) {
+                if (!side.contains(otherEnd(route, hubId))
+                        && (cheapest == null || route.getCost() < cheapest.getCost())) {
+                    cheapest = route;
+                }
+            }
+        }
+        if (cheapest != null) {
+            link(cheapest);
+        }
+    }
+
+    /**
+     * Explores the trees of two hubs in lockstep and returns the one that is
+     * exhausted first, so the work is proportional to the smaller tree.
+     *
+     * @return Hub IDs of the smaller tree, or null if both hubs are in the
+     * same tree
+     */
+    private Set<Integer> smallerSide(int firstId, int secondId) {
+        Set<Integer> first = new HashSet<>();
+        Set<Integer> second = new HashSet<>();
+        Deque<Integer> firstStack = new ArrayDeque<>();
+        Deque<Integer> secondStack = new ArrayDeque<>();
+        first.add(firstId);
+        firstStack.push(firstId);
+        second.add(secondId);
+        secondStack.push(secondId);
+        while (true) {
+            if (firstStack.isEmpty()) {
+                return first;
+            }
+            if (secondStack.isEmpty()) {
+                return second;
+            }
+            if (!exploreOne(firstStack, first, secondId) || !exploreOne(secondStack, second, firstId)) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Expands one hub of a depth-first walk.
+     *
+     * @return False if the walk reached the given hub
+     */
+    private boolean exploreOne(Deque<Integer> stack, Set<Integer> visited, int stopId) {
+        int hubId = stack.pop();
+        for (ChargingRoute route : treeRoutesOf(hubId)) {
+            int nextId = otherEnd(route, hubId);
+            if (nextId == stopId) {
+                return false;
+            }
+            if (visited.add(nextId)) {
+                stack.push(nextId);
+            }
+        }
+        return true;
+    }
+
+    private List<ChargingRoute> treeRoutesOf(int hubId) {
+        List<ChargingRoute> routes = treeAdjacency.get(hubId);
+        return (routes == null) ? Collections.emptyList() : routes;
+    }
+
+    private void link(ChargingRoute route) {
+        treeEdges.add(route);
+        treeAdjacency.computeIfAbsent(route.getFromHub().getId(), id -> new ArrayList<>()).add(route);
+        treeAdjacency.computeIfAbsent(route.getToHub().getId(), id -> new ArrayList<>()).add(route);
+        totalCost += route.getCost();
+    }
+
+    private void unlink(ChargingRoute route) {
+        treeEdges.remove(route);
+        removeByIdentity(treeAdjacency.get(route.getFromHub().getId()), route);
+        removeByIdentity(treeAdjacency.get(route.getToHub().getId()), route);
+        totalCost -= route.getCost();
+    }
+
+    private static void removeByIdentity(List<ChargingRoute> routes, ChargingRoute route) {
+        for (int i = 0; i < routes.size(); i++) {
+            if (routes.get(i) == route) {
+                routes.remove(i);
+                return;
+            }
+        }
+    }
+
+    private static int otherEnd(ChargingRoute route, int hubId) {
+        int fromId = route.getFromHub().getId();
+        return (fromId == hubId) ? route.getToHub().getId() : fromId;
+    }
+
+    private void afterUpdate(String description) {
+        updateCount++;
+        version++;
+        if (consistencyCheck && !matchesRebuild()) {
+            throw new IllegalStateException("Incremental MST diverged from rebuild after " + description);
+        }
+    }
+}
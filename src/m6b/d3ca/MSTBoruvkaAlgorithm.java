@@ -0,0 +1,376 @@
+package m6b.d3ca;
+
+import ds.unionfind.ConcurrentUnionFind;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * MSTBoruvkaAlgorithm implements Boruvka's algorithm for finding a minimum
+ * spanning tree on all cores. Each round:
+ *
+ * 1. finds the cheapest route leaving every component, in parallel over
+ * partitions of the remaining routes (fork-join); the cheapest route per
+ * component is kept in an AtomicIntegerArray updated by compare-and-set
+ * 2. contracts components along those routes with a concurrent union-find
+ * 3. drops routes that now lie inside one component, in parallel
+ *
+ * Every round at least halves the number of components, so there are at most
+ * log2(V) rounds. Equal costs are ordered by route insertion order, the same
+ * tie-break as Kruskal's stable sort, so both engines select the same routes.
+ * On a disconnected network the result is a minimum spanning forest. Worker
+ * threads read routes from the network's frozen snapshot. By default the
+ * engine runs on the common fork-join pool; an engine built with a fixed
+ * parallelism owns its pool, reuses it for every computation and shuts it down
+ * in close().
+ *
+ * Author: Cullen Kelley Course: AIT-512 Data Structures and Algorithms
+ * Assignment: M6B-D3-CA Creative Assignment
+ */
+public class MSTBoruvkaAlgorithm implements MinimumSpanningTree, AutoCloseable {
+
+    /**
+     * Routes (or hubs) handled by one fork-join leaf task.
+     */
+    private static final int TASK_GRAIN = 1 << 12;
+
+    private ChargingNetwork network;
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private List<ChargingRoute> mstEdges;
+    private double totalCost;
+    private int componentCount;
+    private int rounds;
+    private long version;
+
+    /**
+     * Constructs MST algorithm running on the common fork-join pool.
+     *
+     * @param network The ChargingNetwork to analyze
+     */
+    public MSTBoruvkaAlgorithm(ChargingNetwork network) {
+        this(network, ForkJoinPool.commonPool(), false);
+    }
+
+    /**
+     * Constructs MST algorithm with a fixed number of worker threads, on a
+     * pool created once for this engine. Call close() when done with it.
+     *
+     * @param network The ChargingNetwork to analyze
+     * @param parallelism Number of worker threads (at least 1)
+     */
+    public MSTBoruvkaAlgorithm(ChargingNetwork network, int parallelism) {
+        this(network, newPool(parallelism), true);
+    }
+
+    /**
+     * Constructs MST algorithm running on an existing fork-join pool, which
+     * the caller keeps ownership of (it is never shut down by the engine).
+     *
+     * @param network The ChargingNetwork to analyze
+     * @param pool Pool that runs the parallel steps
+     */
+    public MSTBoruvkaAlgorithm(ChargingNetwork network, ForkJoinPool pool) {
+        this(network, pool, false);
+    }
+
+    private MSTBoruvkaAlgorithm(ChargingNetwork network, ForkJoinPool pool, boolean ownsPool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        this.network = network;
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+        this.mstEdges = new ArrayList<>();
+        this.totalCost = 0;
+        this.componentCount = 0;
+        this.rounds = 0;
+    }
+
+    private static ForkJoinPool newPool(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        return new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Computes the minimum spanning forest using Boruvka's algorithm.
+     */
+    public void computeMST() {
+        mstEdges.clear();
+        totalCost = 0;
+        rounds = 0;
+
+        // Dense hub and route indices; route index = insertion order
+        ChargingNetworkSnapshot snapshot = network.freeze();
+        int hubCount = snapshot.getHubCount();
+        int routeCount = snapshot.getRouteCount();
+        int[] live = new int[routeCount];
+        int liveCount = 0;
+        for (int e = 0; e < routeCount; e++) {
+            if (snapshot.routeFrom(e) != snapshot.routeTo(e)) {
+                live[liveCount++] = e; // Self-loops never join components
+            }
+        }
+
+        ConcurrentUnionFind components = new ConcurrentUnionFind(hubCount);
+        AtomicIntegerArray cheapest = new AtomicIntegerArray(hubCount);
+        boolean[] selected = new boolean[routeCount];
+        for (int v = 0; v < hubCount; v++) {
+            cheapest.set(v, -1);
+        }
+        while (liveCount > 0) {
+            rounds++;
+            int[] edges = live;
+
+            // Step 1: cheapest outgoing route of every component root
+            pool.invoke(new RangeTask(0, liveCount, (lo, hi) -> {
+                for (int i = lo; i < hi; i++) {
+                    int e = edges[i];
+                    int rootFrom = components.find(snapshot.routeFrom(e));
+                    int rootTo = components.find(snapshot.routeTo(e));
+                    if (rootFrom != rootTo) {
+                        offer(cheapest, rootFrom, e, snapshot);
+                        offer(cheapest, rootTo, e, snapshot);
+                    }
+                }
+            }));
+
+            // Step 2: contract along the chosen routes (and reset for next round)
+            pool.invoke(new RangeTask(0, hubCount, (lo, hi) -> {
+                for (int v = lo; v < hi; v++) {
+                    int e = cheapest.get(v);
+                    if (e != -1) {
+                        if (components.union(snapshot.routeFrom(e), snapshot.routeTo(e))) {
+                            selected[e] = true;
+                        }
+                        cheapest.set(v, -1);
+                    }
+                }
+            }));
+
+            // Step 3: keep only routes between different components
+            int[] remaining = new int[liveCount];
+            liveCount = compact(pool, edges, liveCount, remaining, snapshot, components);
+            live = remaining;
+        }
+
+        // Report in (cost, insertion) order, as Kruskal does
+        for (int e = 0; e < routeCount; e++) {
+            if (selected[e]) {
+                mstEdges.add(snapshot.route(e));
+                totalCost += snapshot.routeCost(e);
+            }
+        }
+        mstEdges.sort(null);
+        componentCount = components.count();
+        version++;
+    }
+
+    /**
+     * Records route e as the cheapest route of a component unless a cheaper
+     * (or equally cheap, earlier) route is already recorded.
+     */
+    private static void offer(AtomicIntegerArray cheapest, int root, int e, ChargingNetworkSnapshot snapshot) {
+        double cost = snapshot.routeCost(e);
+        while (true) {
+            int current = cheapest.get(root);
+            if (current != -1 && !(cost < snapshot.routeCost(current)
+                    || (cost == snapshot.routeCost(current) && e < current))) {
+                return;
+            }
+            if (cheapest.compareAndSet(root, current, e)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Copies the routes whose endpoints are in different components into
+     * target, preserving order: blocks are counted in parallel, offsets are
+     * prefix sums of the counts, then blocks are copied in parallel.
+     *
+     * @return Number of routes copied
+     */
+    private static int compact(ForkJoinPool pool, int[] source, int length, int[] target,
+            ChargingNetworkSnapshot snapshot, ConcurrentUnionFind components) {
+        int blockCount = (length + TASK_GRAIN - 1) / TASK_GRAIN;
+        int[] blockOffsets = new int[blockCount + 1];
+        pool.invoke(new RangeTask(0, blockCount, 1, (lo, hi) -> {
+            for (int b = lo; b < hi; b++) {
+                int kept = 0;
+                for (int i = b * TASK_GRAIN; i < Math.min(length, (b + 1) * TASK_GRAIN); i++) {
+                    int e = source[i];
+                    if (components.find(snapshot.routeFrom(e)) != components.find(snapshot.routeTo(e))) {
+                        kept++;
+                    }
+                }
+                blockOffsets[b + 1] = kept;
+            }
+        }));
+        for (int b = 0; b < blockCount; b++) {
+            blockOffsets[b + 1] += blockOffsets[b];
+        }
+        pool.invoke(new RangeTask(0, blockCount, 1, (lo, hi) -> {
+            for (int b = lo; b < hi; b++) {
+                int out = blockOffsets[b];
+                for (int i = b * TASK_GRAIN; i < Math.min(length, (b + 1) * TASK_GRAIN); i++) {
+                    int e = source[i];
+                    if (components.find(snapshot.routeFrom(e)) != components.find(snapshot.routeTo(e))) {
+                        target[out++] = e;
+                    }
+                }
+            }
+        }));
+        return blockOffsets[blockCount];
+    }
+
+    /**
+     * Fork-join task that splits an index range in halves until it is at most
+     * the grain size, then runs the body on the piece.
+     */
+    private static class RangeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Work on the half-open index range [lo, hi).
+         */
+        interface Body {
+
+            void run(int lo, int hi);
+        }
+
+        private final int lo;
+        private final int hi;
+        private final int grain;
+        private final Body body;
+
+        RangeTask(int lo, int hi, Body body) {
+            this(lo, hi, TASK_GRAIN, body);
+        }
+
+        RangeTask(int lo, int hi, int grain, Body body) {
+            this.lo = lo;
+            this.hi = hi;
+            this.grain = grain;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= grain) {
+                body.run(lo, hi);
+            } else {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new RangeTask(lo, mid, grain, body), new RangeTask(mid, hi, grain, body));
+            }
+        }
+    }
+
+    /**
+     * Shuts down the pool if the engine created it; an engine on the common
+     * pool or on a caller's pool is unaffected.
+     */
+    @Override
+    public void close() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Gets the MST edges found.
+     *
+     * @return List of edges in the MST (forest), in increasing cost order
+     */
+    @Override
+    public List<ChargingRoute> getMSTEdges() {
+        return new ArrayList<>(mstEdges);
+    }
+
+    /**
+     * Gets the total cost of the MST.
+     *
+     * @return Sum of all edge costs in MST
+     */
+    @Override
+    public double getTotalCost() {
+        return totalCost;
+    }
+
+    /**
+     * Gets the number of edges in the MST.
+     *
+     * @return Count of MST edges
+     */
+    @Override
+    public int getMSTEdgeCount() {
+        return mstEdges.size();
+    }
+
+    /**
+     * Gets the version of the computed tree.
+     *
+     * @return Number of times the tree has been (re)computed
+     */
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the number of trees in the spanning forest (1 if the network is
+     * connected).
+     *
+     * @return Count of connected regions
+     */
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    /**
+     * Gets the number of Boruvka rounds used by the last computation.
+     *
+     * @return Round count (at most log2 of the hub count)
+     */
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Gets the number of worker threads.
+     *
+     * @return Parallelism
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Displays the MST results.
+     */
+    @Override
+    public void displayMST() {
+        System.out.println("\n=== MINIMUM SPANNING TREE (Boruvka's Algorithm, " + getParallelism() + " threads) ===");
+        System.out.println("\nMST Edges (in increasing cost order):");
+
+        int edgeNumber = 1;
+        for (ChargingRoute edge : mstEdges) {
+            System.out.println("  " + edgeNumber + ". " + edge.getFromHub().getName()
+                    + " <--> " + edge.getToHub().getName()
+                    + " | Cost: $" + String.format("%.1f", edge.getCost()) + "K");
+            edgeNumber++;
+        }
+
+        System.out.println("\nTotal Hubs: " + network.getHubCount());
+        System.out.println("Connected Regions (trees in forest): " + componentCount);
+        System.out.println("Boruvka Rounds: " + rounds);
+        System.out.println("Total MST Edges: " + mstEdges.size());
+        System.out.println("Total Infrastructure Cost: $" + String.format("%.1f", totalCost) + "K");
+        System.out.println("====================================================\n");
+    }
+}
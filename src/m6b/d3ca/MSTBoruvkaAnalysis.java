@@ -0,0 +1,170 @@
+package m6b.d3ca;
+
+import ds.alg.analysis.Stopwatch;
+import ds.alg.analysis.TimeAnalysis;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * MSTBoruvkaAnalysis measures how parallel Boruvka scales with the number of
+ * worker threads on a large generated charging network, next to the single
+ * threaded Kruskal and eager Prim engines. Before timing, all engines are
+ * checked to produce the same total cost.
+ *
+ * Usage: MSTBoruvkaAnalysis [hubs] [maxThreads]
+ *
+ * Author: Cullen Kelley Course: AIT-512 Data Structures and Algorithms
+ * Assignment: M6B-D3-CA Creative Assignment
+ */
+public class MSTBoruvkaAnalysis {
+
+    /**
+     * Builds a network of random hubs over a Texas-sized area, each connected
+     * to its 6 nearest hubs with distance-based costs.
+     *
+     * @param numberOfHubs Hub count
+     * @param seed Random seed
+     * @return Generated network
+     */
+    public static ChargingNetwork generateNetwork(int numberOfHubs, long seed) {
+        Random random = new Random(seed);
+        ChargingNetwork network = new ChargingNetwork();
+        for (int id = 0; id < numberOfHubs; id++) {
+            network.addHub(new ChargingHub(id, "Hub " + id, "Generated",
+                    26.0 + random.nextDouble() * 10.0, -106.0 + random.nextDouble() * 12.0));
+        }
+        network.routeBuilder().nearestNeighbors(6).build();
+        return network;
+    }
+
+    public static TimeAnalysis meanTimeBoruvka(String name, int numberOfExecutions, ChargingNetwork network,
+            int threads) {
+        Stopwatch watch = new Stopwatch();
+        TimeAnalysis ta = new TimeAnalysis(name, numberOfExecutions);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            new MSTBoruvkaAlgorithm(network, pool).computeMST(); // Starts the workers before timing
+            for (int trial = 0; trial < numberOfExecutions; trial++) {
+                MSTBoruvkaAlgorithm mst = new MSTBoruvkaAlgorithm(network, pool);
+                watch.startWatch();
+                // tested code - start
+                mst.computeMST();
+                // tested code - end
+                long time = watch.elapsedTime();
+                ta.add(time);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return ta;
+    }
+
+    public static TimeAnalysis meanTimeKruskal(String name, int numberOfExecutions, ChargingNetwork network) {
+        Stopwatch watch = new Stopwatch();
+        TimeAnalysis ta = new TimeAnalysis(name, numberOfExecutions);
+        for (int trial = 0; trial < numberOfExecutions; trial++) {
+            MSTKruskalAlgorithm mst = new MSTKruskalAlgorithm(network);
+            watch.startWatch();
+            // tested code - start
+            mst.computeMST();
+            // tested code - end
+            long time = watch.elapsedTime();
+            ta.add(time);
+        }
+        return ta;
+    }
+
+    public static TimeAnalysis meanTimeEagerPrim(String name, int numberOfExecutions, ChargingNetwork network,
+            int startHubId) {
+        Stopwatch watch = new Stopwatch();
+        TimeAnalysis ta = new TimeAnalysis(name, numberOfExecutions);
+        for (int trial = 0; trial < numberOfExecutions; trial++) {
+            MSTPrimAlgorithm mst = new MSTPrimAlgorithm(network, MSTPrimAlgorithm.Strategy.EAGER);
+            watch.startWatch();
+            // tested code - start
+            mst.computeMST(startHubId);
+            // tested code - end
+            long time = watch.elapsedTime();
+            ta.add(time);
+        }
+        return ta;
+    }
+
+    /**
+     * Checks that Boruvka, Kruskal and eager Prim agree on the network.
+     *
+     * @param network The network to check
+     * @return True if all engines report the same edge count and total cost
+     */
+    public static boolean enginesAgree(ChargingNetwork network) {
+        MSTBoruvkaAlgorithm boruvka = new MSTBoruvkaAlgorithm(network);
+        boruvka.computeMST();
+        MSTKruskalAlgorithm kruskal = new MSTKruskalAlgorithm(network);
+        kruskal.computeMST();
+        MSTPrimAlgorithm prim = new MSTPrimAlgorithm(network, MSTPrimAlgorithm.Strategy.EAGER);
+        prim.computeMST(0);
+        double tolerance = 1e-6 * Math.max(1.0, kruskal.getTotalCost());
+        System.out.println(String.format("  Boruvka: %d edges, $%.1fK (%d rounds)", boruvka.getMSTEdgeCount(),
+                boruvka.getTotalCost(), boruvka.getRounds()));
+        System.out.println(String.format("  Kruskal: %d edges, $%.1fK", kruskal.getMSTEdgeCount(), kruskal.getTotalCost()));
+        System.out.println(String.format("  Prim:    %d edges, $%.1fK (tree of hub 0)", prim.getMSTEdgeCount(),
+                prim.getTotalCost()));
+        boolean forestMatch = boruvka.getMSTEdgeCount() == kruskal.getMSTEdgeCount()
+                && Math.abs(boruvka.getTotalCost() - kruskal.getTotalCost()) <= tolerance;
+        // Prim spans only the region of its start hub; compare when the network is connected
+        boolean primMatch = kruskal.getComponentCount() != 1
+                || Math.abs(prim.getTotalCost() - kruskal.getTotalCost()) <= tolerance;
+        return forestMatch && primMatch;
+    }
+
+    public static void printThreadScalingTable(int numberOfExecutions, ChargingNetwork network, int maxThreads) {
+        System.out.println("Mean execution time scaling table (ms)");
+        System.out.println("  - Method: MST of " + network.getHubCount() + " hubs, " + network.getRouteCount() + " routes");
+        System.out.println("  - Sample size for time estimation: " + numberOfExecutions);
+        System.out.println("|-----------------|--------|------|------|------------------|---------|");
+        System.out.println("|          Engine |   Mean |  Min |  Max |         CI 99.9% | Speedup |");
+        System.out.println("|-----------------|--------|------|------|------------------|---------|");
+        TimeAnalysis kruskal = meanTimeKruskal("Kruskal", numberOfExecutions, network);
+        printRow("Kruskal", kruskal, Double.NaN);
+        TimeAnalysis prim = meanTimeEagerPrim("Eager Prim", numberOfExecutions, network, 0);
+        printRow("Eager Prim", prim, Double.NaN);
+        double baseline = Double.NaN;
+        for (int threads = 1; threads <= maxThreads; threads++) {
+            TimeAnalysis ta = meanTimeBoruvka("Boruvka " + threads, numberOfExecutions, network, threads);
+            if (threads == 1) {
+                baseline = ta.getMeanTime();
+            }
+            printRow("Boruvka x" + threads, ta, baseline / ta.getMeanTime());
+        }
+        System.out.println("|-----------------|--------|------|------|------------------|---------|");
+    }
+
+    private static void printRow(String engine, TimeAnalysis ta, double speedup) {
+        String speedupText = Double.isNaN(speedup) ? "      -" : String.format("%6.2fx", speedup);
+        System.out.printf("| %15s | %6.1f | %4d | %4d | (%6.1f, %6.1f) | %s |\n", engine, ta.getMeanTime(),
+                ta.getMinTime(), ta.getMaxTime(), ta.getMinMean999Confidence(), ta.getMaxMean999Confidence(),
+                speedupText);
+    }
+
+    public static void main(String[] args) {
+        int numberOfHubs = (args.length > 0) ? Integer.parseInt(args[0]) : 200000;
+        int maxThreads = (args.length > 1) ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        String assignment = "M6B-D3-CA: Parallel Boruvka MST Scaling Analysis\n";
+        Date date = new Date();
+        String ran = "Date: " + date.toString();
+        String author = "Author: Cullen Kelley";
+        System.out.println(assignment + ran + "\n" + author + "\n");
+
+        ChargingNetwork network = generateNetwork(numberOfHubs, 42L);
+        System.out.println("=== Engine cross-check ===");
+        boolean agree = enginesAgree(network);
+        System.out.println("  Results match: " + (agree ? "YES" : "NO") + "\n");
+        if (!agree) {
+            return;
+        }
+
+        System.out.println("=== Thread scaling: 1.." + maxThreads + " threads ===");
+        printThreadScalingTable(10, network, maxThreads);
+    }
+}
@@ -0,0 +1,186 @@
+package m6b.d3ca;
+
+import ds.unionfind.UnionFind;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * MSTKruskalAlgorithm implements Kruskal's algorithm for finding a minimum
+ * spanning tree. Routes are sorted by cost and accepted in order unless they
+ * close a cycle, which is detected with a union-find over the dense hub
+ * indices of the network's frozen snapshot.
+ * On a disconnected network the result is a minimum spanning forest (one tree
+ * per connected region).
+ *
+ * Author: Cullen Kelley Course: AIT-512 Data Structures and Algorithms
+ * Assignment: M6B-D3-CA Creative Assignment
+ */
+public class MSTKruskalAlgorithm implements MinimumSpanningTree {
+
+    /**
+     * Route count from which the edge sort is done in parallel. Below this the
+     * fork-join overhead outweighs the gain.
+     */
+    private static final int PARALLEL_SORT_THRESHOLD = 1 << 13;
+
+    private ChargingNetwork network;
+    private List<ChargingRoute> mstEdges;
+    private double totalCost;
+    private int componentCount;
+    private long version;
+
+    /**
+     * Constructs MST algorithm with a charging network.
+     *
+     * @param network The ChargingNetwork to analyze
+     */
+    public MSTKruskalAlgorithm(ChargingNetwork network) {
+        this.network = network;
+        this.mstEdges = new ArrayList<>();
+        this.totalCost = 0;
+        this.componentCount = 0;
+    }
+
+    /**
+     * Computes the minimum spanning forest using Kruskal's algorithm.
+     */
+    public void computeMST() {
+        mstEdges.clear();
+        totalCost = 0;
+
+        ChargingNetworkSnapshot snapshot = network.freeze();
+        int hubCount = snapshot.getHubCount();
+
+        long[] order = sortedRouteOrder(snapshot);
+
+        UnionFind components = new UnionFind(hubCount);
+        for (long key : order) {
+            int e = (int) key;
+            // A forest on V hubs has at most V - 1 edges
+            if (mstEdges.size() == hubCount - 1) {
+                break;
+            }
+            if (components.union(snapshot.routeFrom(e), snapshot.routeTo(e))) {
+                mstEdges.add(snapshot.route(e));
+                totalCost += snapshot.routeCost(e);
+            }
+        }
+        componentCount = components.count();
+        version++;
+    }
+
+    /**
+     * Sorts the route indices by cost without boxing: each cost is replaced by
+     * its rank among the distinct costs, and the keys rank << 32 | index are
+     * sorted as primitives. Equal costs keep insertion order, as with a stable
+     * sort.
+     *
+     * @param snapshot The network snapshot
+     * @return Sorted keys; the route index is the low 32 bits of each key
+     */
+    private static long[] sortedRouteOrder(ChargingNetworkSnapshot snapshot) {
+        int routeCount = snapshot.getRouteCount();
+        boolean parallel = routeCount >= PARALLEL_SORT_THRESHOLD;
+        double[] costs = new double[routeCount];
+        for (int e = 0; e < routeCount; e++) {
+            costs[e] = snapshot.routeCost(e);
+        }
+        double[] distinct = costs.clone();
+        if (parallel) {
+            Arrays.parallelSort(distinct);
+        } else {
+            Arrays.sort(distinct);
+        }
+        int distinctCount = 0;
+        for (int i = 0; i < routeCount; i++) {
+            if (distinctCount == 0 || Double.compare(distinct[i], distinct[distinctCount - 1]) != 0) {
+                distinct[distinctCount++] = distinct[i];
+            }
+        }
+        long[] order = new long[routeCount];
+        for (int e = 0; e < routeCount; e++) {
+            long rank = Arrays.binarySearch(distinct, 0, distinctCount, costs[e]);
+            order[e] = (rank << 32) | e;
+        }
+        if (parallel) {
+            Arrays.parallelSort(order);
+        } else {
+            Arrays.sort(order);
+        }
+        return order;
+    }
+
+    /**
+     * Gets the MST edges found.
+     *
+     * @return List of edges in the MST (forest), in increasing cost order
+     */
+    @Override
+    public List<ChargingRoute> getMSTEdges() {
+        return new ArrayList<>(mstEdges);
+    }
+
+    /**
+     * Gets the total cost of the MST.
+     *
+     * @return Sum of all edge costs in MST
+     */
+    @Override
+    public double getTotalCost() {
+        return totalCost;
+    }
+
+    /**
+     * Gets the number of edges in the MST.
+     *
+     * @return Count of MST edges
+     */
+    @Override
+    public int getMSTEdgeCount() {
+        return mstEdges.size();
+    }
+
+    /**
+     * Gets the version of the computed tree.
+     *
+     * @return Number of times the tree has been (re)computed
+     */
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the number of trees in the spanning forest (1 if the network is
+     * connected).
+     *
+     * @return Count of connected regions
+     */
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    /**
+     * Displays the MST results.
+     */
+    @Override
+    public void displayMST() {
+        System.out.println("\n=== MINIMUM SPANNING TREE (Kruskal's Algorithm) ===");
+        System.out.println("\nMST Edges (in selection order):");
+
+        int edgeNumber = 1;
+        for (ChargingRoute edge : mstEdges) {
+            System.out.println("  " + edgeNumber + ". " + edge.getFromHub().getName()
+                    + " <--> " + edge.getToHub().getName()
+                    + " | Cost: $" + String.format("%.1f", edge.getCost()) + "K");
+            edgeNumber++;
+        }
+
+        System.out.println("\nTotal Hubs: " + network.getHubCount());
+        System.out.println("Connected Regions (trees in forest): " + componentCount);
+        System.out.println("Total MST Edges: " + mstEdges.size());
+        System.out.println("Total Infrastructure Cost: $" + String.format("%.1f", totalCost) + "K");
+        System.out.println("====================================================\n");
+    }
+}
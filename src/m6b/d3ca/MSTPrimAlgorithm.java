@@ -1,7 +1,8 @@
 package m6b.d3ca;
 
-import ds.bag.Bag;
+import ds.queue.IndexMinPriorityQueue;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.PriorityQueue;
@@ -9,32 +10,82 @@ import java.util.Set;
 
 /**
  * MSTPrimAlgorithm implements Prim's algorithm for finding minimum spanning
- * tree. Uses lazy implementation with priority queue.
+ * tree. Supports the lazy implementation (priority queue of edges) and the
+ * eager implementation (indexed priority queue of hubs), selected through
+ * {@link Strategy} so both can be run on the same network.
  *
  * Author: Cullen Kelley Course: AIT-512 Data Structures and Algorithms
  * Assignment: M6B-D3-CA Creative Assignment
  */
-public class MSTPrimAlgorithm {
+public class MSTPrimAlgorithm implements MinimumSpanningTree {
+
+    /**
+     * Priority queue strategy used by Prim's algorithm.
+     */
+    public enum Strategy {
+        /**
+         * Queue of candidate edges; stale edges are discarded when polled.
+         * The queue may grow to O(E) entries.
+         */
+        LAZY,
+        /**
+         * Indexed queue of hubs keyed by their cheapest known connecting edge,
+         * updated with decrease-key. The queue never exceeds V entries.
+         */
+        EAGER
+    }
 
     private ChargingNetwork network;
+    private Strategy strategy;
     private List<ChargingRoute> mstEdges;
     private double totalCost;
     private int startingHubId;
+    private long version;
 
     /**
-     * Constructs MST algorithm with a charging network.
+     * Constructs MST algorithm with a charging network using the lazy
+     * strategy.
      *
      * @param network The ChargingNetwork to analyze
      */
     public MSTPrimAlgorithm(ChargingNetwork network) {
+        this(network, Strategy.LAZY);
+    }
+
+    /**
+     * Constructs MST algorithm with a charging network and queue strategy.
+     *
+     * @param network The ChargingNetwork to analyze
+     * @param strategy Lazy or eager Prim
+     */
+    public MSTPrimAlgorithm(ChargingNetwork network, Strategy strategy) {
         this.network = network;
+        this.strategy = strategy;
         this.mstEdges = new ArrayList<>();
         this.totalCost = 0;
     }
 
     /**
-     * Computes the minimum spanning tree using Prim's algorithm (lazy
-     * implementation). Starts from specified hub.
+     * Gets the queue strategy used by computeMST.
+     *
+     * @return The current strategy
+     */
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Sets the queue strategy used by subsequent calls to computeMST.
+     *
+     * @param strategy Lazy or eager Prim
+     */
+    public void setStrategy(Strategy strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * Computes the minimum spanning tree using Prim's algorithm with the
+     * selected strategy. Starts from specified hub.
      *
      * @param startingHubId ID of starting hub
      */
@@ -43,6 +94,21 @@ public class MSTPrimAlgorithm {
         mstEdges.clear();
         totalCost = 0;
 
+        if (strategy == Strategy.EAGER) {
+            computeEagerMST(startingHubId);
+        } else {
+            computeLazyMST(startingHubId);
+        }
+        version++;
+    }
+
+    /**
+     * Lazy Prim: every edge leaving the tree goes on the queue, and edges
+     * whose endpoints are both already in the tree are skipped when polled.
+     *
+     * @param startingHubId ID of starting hub
+     */
+    private void computeLazyMST(int startingHubId) {
         Set<Integer> inMST = new HashSet<>();
         PriorityQueue<ChargingRoute> pq = new PriorityQueue<>();
 
@@ -81,41 +147,74 @@ public class MSTPrimAlgorithm {
     }
 
     /**
-     * Helper method to add edges from a hub to the priority queue. Only adds
-     * edges where the other endpoint is not in MST.
+     * Eager Prim: keeps, for every hub outside the tree, only the cheapest
+     * edge connecting it to the tree. Works on the network's frozen snapshot,
+     * so hubs are dense indices and the indexed priority queue works on
+     * primitive handles and keys.
      *
-     * @param hubId Hub to explore
-     * @param inMST Set of hubs already in MST
-     * @param pq Priority queue for edges
+     * @param startingHubId ID of starting hub
      */
-    private void addEdgesToQueue(int hubId, Set<Integer> inMST, PriorityQueue<ChargingRoute> pq) {
-        Bag<Integer> adjacentIds = network.getAdjacentHubs(hubId);
+    private void computeEagerMST(int startingHubId) {
+        ChargingNetworkSnapshot snapshot = network.freeze();
+        int hubCount = snapshot.getHubCount();
+        int start = snapshot.indexOf(startingHubId);
+        if (start == -1) {
+            return;
+        }
 
-        for (int adjacentId : adjacentIds) {
-            // Find route between these hubs
-            ChargingRoute route = findRoute(hubId, adjacentId);
-            if (route != null) {
-                pq.add(route);
+        int[] edgeTo = new int[hubCount];
+        double[] distTo = new double[hubCount];
+        boolean[] inMST = new boolean[hubCount];
+        Arrays.fill(edgeTo, -1);
+        Arrays.fill(distTo, Double.POSITIVE_INFINITY);
+
+        IndexMinPriorityQueue pq = new IndexMinPriorityQueue(hubCount);
+        distTo[start] = 0.0;
+        pq.insert(start, 0.0);
+
+        while (!pq.isEmpty()) {
+            int v = pq.delMin();
+            inMST[v] = true;
+            if (edgeTo[v] != -1) {
+                mstEdges.add(snapshot.route(edgeTo[v]));
+                totalCost += distTo[v];
+            }
+
+            for (int k = snapshot.incidenceStart(v); k < snapshot.incidenceEnd(v); k++) {
+                int w = snapshot.incidentNeighbor(k);
+                double cost = snapshot.incidentCost(k);
+                if (inMST[w] || cost >= distTo[w]) {
+                    continue;
+                }
+                edgeTo[w] = snapshot.incidentRoute(k);
+                distTo[w] = cost;
+                if (pq.contains(w)) {
+                    pq.decreaseKey(w, distTo[w]);
+                } else {
+                    pq.insert(w, distTo[w]);
+                }
             }
         }
     }
 
     /**
-     * Finds the route (edge) between two hubs.
+     * Helper method to add edges from a hub to the priority queue. Only adds
+     * edges where the other endpoint is not in MST. Walks the hub's incidence
+     * list directly, so each edge is touched a constant number of times and
+     * the whole computation is O(E log E).
      *
-     * @param hubId1 First hub ID
-     * @param hubId2 Second hub ID
-     * @return ChargingRoute if found, null otherwise
+     * @param hubId Hub to explore
+     * @param inMST Set of hubs already in MST
+     * @param pq Priority queue for edges
      */
-    private ChargingRoute findRoute(int hubId1, int hubId2) {
-        for (ChargingRoute route : network.getAllRoutes()) {
+    private void addEdgesToQueue(int hubId, Set<Integer> inMST, PriorityQueue<ChargingRoute> pq) {
+        for (ChargingRoute route : network.getIncidentRoutes(hubId)) {
             int fromId = route.getFromHub().getId();
-            int toId = route.getToHub().getId();
-            if ((fromId == hubId1 && toId == hubId2) || (fromId == hubId2 && toId == hubId1)) {
-                return route;
+            int otherId = (fromId == hubId) ? route.getToHub().getId() : fromId;
+            if (!inMST.contains(otherId)) {
+                pq.add(route);
             }
         }
-        return null;
     }
 
     /**
@@ -123,6 +222,7 @@ public class MSTPrimAlgorithm {
      *
      * @return List of edges in the MST
      */
+    @Override
     public List<ChargingRoute> getMSTEdges() {
         return new ArrayList<>(mstEdges);
     }
@@ -132,6 +232,7 @@ public class MSTPrimAlgorithm {
      *
      * @return Sum of all edge costs in MST
      */
+    @Override
     public double getTotalCost() {
         return totalCost;
     }
@@ -141,15 +242,27 @@ public class MSTPrimAlgorithm {
      *
      * @return Count of MST edges
      */
+    @Override
     public int getMSTEdgeCount() {
         return mstEdges.size();
     }
 
+    /**
+     * Gets the version of the computed tree.
+     *
+     * @return Number of times the tree has been (re)computed
+     */
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
     /**
      * Displays the MST results.
      */
+    @Override
     public void displayMST() {
-        System.out.println("\n=== MINIMUM SPANNING TREE (Prim's Algorithm) ===");
+        System.out.println("\n=== MINIMUM SPANNING TREE (Prim's Algorithm, " + strategy + ") ===");
         System.out.println("Starting Hub: " + network.getHub(startingHubId).getName() + " (ID:" + startingHubId + ")");
         System.out.println("\nMST Edges (in selection order):");
 
@@ -0,0 +1,48 @@
+package m6b.d3ca;
+
+import java.util.List;
+
+/**
+ * MinimumSpanningTree is the common result surface of the MST engines for a
+ * ChargingNetwork (Prim, Kruskal). Analysis and reporting code depends on this
+ * interface so any engine can be plugged in.
+ *
+ * Author: Cullen Kelley Course: AIT-512 Data Structures and Algorithms
+ * Assignment: M6B-D3-CA Creative Assignment
+ */
+public interface MinimumSpanningTree {
+
+    /**
+     * Gets the MST edges found.
+     *
+     * @return List of edges in the MST
+     */
+    public List<ChargingRoute> getMSTEdges();
+
+    /**
+     * Gets the total cost of the MST.
+     *
+     * @return Sum of all edge costs in MST
+     */
+    public double getTotalCost();
+
+    /**
+     * Gets the number of edges in the MST.
+     *
+     * @return Count of MST edges
+     */
+    public int getMSTEdgeCount();
+
+    /**
+     * Gets a version stamp that changes whenever the tree changes, so
+     * derived results (such as NetworkAnalyzer statistics) can be cached.
+     *
+     * @return Version stamp of the current tree
+     */
+    public long getVersion();
+
+    /**
+     * Displays the MST results.
+     */
+    public void displayMST();
+}
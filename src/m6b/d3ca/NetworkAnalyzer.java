@@ -1,8 +1,8 @@
 package m6b.d3ca;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
+import java.util.PriorityQueue;
 
 /**
  * NetworkAnalyzer - Analysis and Reporting Utility
@@ -16,143 +16,226 @@ import java.util.List;
  */
 public class NetworkAnalyzer {
 
+    /**
+     * Number of routes in the most expensive and cheapest lists.
+     */
+    public static final int TOP_K = 5;
+    /**
+     * Number of bins in the selected route cost histogram.
+     */
+    public static final int HISTOGRAM_BINS = 8;
+
     private ChargingNetwork network;
-    private MSTPrimAlgorithm mst;
+    private MinimumSpanningTree mst;
+    private NetworkReport report;
 
     /**
      * Constructs a NetworkAnalyzer with reference to a network and its MST.
      *
      * @param network The charging network to analyze
-     * @param mst The computed MST
+     * @param mst The computed MST (any engine: Prim or Kruskal)
      */
-    public NetworkAnalyzer(ChargingNetwork network, MSTPrimAlgorithm mst) {
+    public NetworkAnalyzer(ChargingNetwork network, MinimumSpanningTree mst) {
         this.network = network;
         this.mst = mst;
     }
 
+    /**
+     * Gets the statistics for the current network and MST. The report is
+     * cached and only recomputed after the network is modified or the MST is
+     * recomputed.
+     *
+     * @return Current report
+     */
+    public NetworkReport getReport() {
+        if (report == null || report.getNetworkVersion() != network.getModificationCount()
+                || report.getMSTVersion() != mst.getVersion()) {
+            report = computeReport();
+        }
+        return report;
+    }
+
+    /**
+     * Computes all statistics with one pass over the hubs of the network's
+     * frozen snapshot and one pass over the MST edges. The top and bottom routes are kept in heaps of TOP_K entries;
+     * equal costs are ordered by position in the MST edge list.
+     */
+    private NetworkReport computeReport() {
+        long networkVersion = network.getModificationCount();
+        long mstVersion = mst.getVersion();
+
+        // Hubs by increasing ID, with network degrees
+        ChargingNetworkSnapshot snapshot = network.freeze();
+        int hubCount = snapshot.getHubCount();
+        int[] hubIds = new int[hubCount];
+        int[] networkDegrees = new int[hubCount];
+        for (int v = 0; v < hubCount; v++) {
+            hubIds[v] = snapshot.hubId(v);
+            networkDegrees[v] = snapshot.degree(v);
+        }
+
+        // Single pass over the MST edges
+        List<ChargingRoute> edges = mst.getMSTEdges();
+        int edgeCount = edges.size();
+        double[] costs = new double[edgeCount];
+        int[] mstDegrees = new int[hubCount];
+        double totalCost = 0;
+        double minCost = Double.POSITIVE_INFINITY;
+        double maxCost = Double.NEGATIVE_INFINITY;
+        // Root of each heap is the entry that would be evicted first
+        PriorityQueue<Integer> mostExpensive = new PriorityQueue<>(TOP_K + 1,
+                (a, b) -> costs[a] != costs[b] ? Double.compare(costs[a], costs[b]) : Integer.compare(b, a));
+        PriorityQueue<Integer> cheapest = new PriorityQueue<>(TOP_K + 1,
+                (a, b) -> costs[a] != costs[b] ? Double.compare(costs[b], costs[a]) : Integer.compare(b, a));
+        for (int i = 0; i < edgeCount; i++) {
+            ChargingRoute edge = edges.get(i);
+            double cost = edge.getCost();
+            costs[i] = cost;
+            totalCost += cost;
+            minCost = Math.min(minCost, cost);
+            maxCost = Math.max(maxCost, cost);
+            mstDegrees[snapshot.indexOf(edge.getFromHub().getId())]++;
+            mstDegrees[snapshot.indexOf(edge.getToHub().getId())]++;
+            mostExpensive.add(i);
+            if (mostExpensive.size() > TOP_K) {
+                mostExpensive.poll();
+            }
+            cheapest.add(i);
+            if (cheapest.size() > TOP_K) {
+                cheapest.poll();
+            }
+        }
+
+        // Histogram of the selected route costs
+        int[] histogram = new int[HISTOGRAM_BINS];
+        double histogramMin = edgeCount == 0 ? 0.0 : minCost;
+        double binWidth = edgeCount == 0 ? 0.0 : (maxCost - minCost) / HISTOGRAM_BINS;
+        for (int i = 0; i < edgeCount; i++) {
+            int bin = binWidth == 0 ? 0 : (int) ((costs[i] - histogramMin) / binWidth);
+            histogram[Math.min(bin, HISTOGRAM_BINS - 1)]++;
+        }
+
+        return new NetworkReport(networkVersion, mstVersion, network.getRouteCount(), hubIds,
+                networkDegrees, mstDegrees, edgeCount, totalCost,
+                drainReversed(mostExpensive, edges), drainReversed(cheapest, edges),
+                histogramMin, binWidth, histogram);
+    }
+
+    /**
+     * Empties a bounded heap into a list, best entry first.
+     */
+    private static List<ChargingRoute> drainReversed(PriorityQueue<Integer> heap, List<ChargingRoute> edges) {
+        ChargingRoute[] routes = new ChargingRoute[heap.size()];
+        for (int i = routes.length - 1; i >= 0; i--) {
+            routes[i] = edges.get(heap.poll());
+        }
+        return Arrays.asList(routes);
+    }
+
     /**
      * Displays network analysis report.
      *
      * @return void
      */
     public void displayAnalysisReport() {
+        NetworkReport current = getReport();
         System.out.println("\n=== COMPREHENSIVE NETWORK ANALYSIS REPORT ===\n");
 
-        displayNetworkTopology();
+        displayNetworkTopology(current);
         System.out.println();
-        displayMSTAnalysis();
+        displayMSTAnalysis(current);
         System.out.println();
-        displayCostBreakdown();
+        displayCostBreakdown(current);
         System.out.println();
-        displayConnectivityMetrics();
+        displayConnectivityMetrics(current);
     }
 
     /**
      * Displays network topology information.
      */
-    private void displayNetworkTopology() {
+    private void displayNetworkTopology(NetworkReport current) {
         System.out.println("Network Topology:");
         System.out.println("-".repeat(50));
-        System.out.println("Total Hubs: " + network.getHubCount());
-        System.out.println("Total Routes: " + network.getRouteCount());
-
-        // Calculate average degree
-        int totalDegree = 0;
-        for (ChargingHub hub : getHubList()) {
-            int degree = network.getAdjacentHubs(hub.getId()).size();
-            totalDegree += degree;
-        }
-        double avgDegree = (double) totalDegree / network.getHubCount();
-        System.out.println("Average Hub Degree: " + String.format("%.2f", avgDegree));
-        System.out.println("Network Density: " + String.format("%.2f%%",
-                (100.0 * network.getRouteCount()) / (network.getHubCount() * (network.getHubCount() - 1) / 2)));
+        System.out.println("Total Hubs: " + current.getHubCount());
+        System.out.println("Total Routes: " + current.getRouteCount());
+        System.out.println("Average Hub Degree: " + String.format("%.2f", current.getAverageDegree()));
+        System.out.println("Network Density: " + String.format("%.2f%%", current.getDensityPercent()));
     }
 
     /**
      * Displays MST analysis.
      */
-    private void displayMSTAnalysis() {
+    private void displayMSTAnalysis(NetworkReport current) {
         System.out.println("Minimum Spanning Tree Analysis:");
         System.out.println("-".repeat(50));
-        System.out.println("Total Routes Considered: " + network.getRouteCount());
-        System.out.println("Routes Selected for MST: " + mst.getMSTEdgeCount());
-        System.out.println("Routes Eliminated: " + (network.getRouteCount() - mst.getMSTEdgeCount()));
-        System.out.println("Total Infrastructure Cost: $" + String.format("%.1f", mst.getTotalCost()) + "K");
-        System.out.println("MST is Connected: " + (mst.getMSTEdgeCount() == network.getHubCount() - 1 ? "YES" : "NO"));
+        System.out.println("Total Routes Considered: " + current.getRouteCount());
+        System.out.println("Routes Selected for MST: " + current.getMSTEdgeCount());
+        System.out.println("Routes Eliminated: " + current.getEliminatedRouteCount());
+        System.out.println("Total Infrastructure Cost: $" + String.format("%.1f", current.getTotalCost()) + "K");
+        System.out.println("MST is Connected: " + (current.isConnected() ? "YES" : "NO"));
     }
 
     /**
      * Displays cost breakdown analysis.
      */
-    private void displayCostBreakdown() {
+    private void displayCostBreakdown(NetworkReport current) {
         System.out.println("Cost Breakdown Analysis:");
         System.out.println("-".repeat(50));
 
-        List<ChargingRoute> mstEdges = mst.getMSTEdges();
-        Collections.sort(mstEdges, (r1, r2) -> Double.compare(r2.getCost(), r1.getCost()));
-
         System.out.println("Most Expensive Routes Selected:");
-        int count = Math.min(5, mstEdges.size());
-        for (int i = 0; i < count; i++) {
-            ChargingRoute route = mstEdges.get(i);
-            ChargingHub fromHub = network.getHub(route.getFromHub().getId());
-            ChargingHub toHub = network.getHub(route.getToHub().getId());
-            System.out.println("  " + (i + 1) + ". " + fromHub.getName() + " <-> "
-                    + toHub.getName() + ": $" + String.format("%.1f", route.getCost()) + "K");
-        }
+        displayRouteList(current.getMostExpensiveRoutes());
 
         System.out.println("\nMost Affordable Routes Selected:");
-        Collections.sort(mstEdges);
-        count = Math.min(5, mstEdges.size());
-        for (int i = 0; i < count; i++) {
-            ChargingRoute route = mstEdges.get(i);
-            ChargingHub fromHub = network.getHub(route.getFromHub().getId());
-            ChargingHub toHub = network.getHub(route.getToHub().getId());
-            System.out.println("  " + (i + 1) + ". " + fromHub.getName() + " <-> "
-                    + toHub.getName() + ": $" + String.format("%.1f", route.getCost()) + "K");
+        displayRouteList(current.getCheapestRoutes());
+    }
+
+    /**
+     * Displays a numbered list of routes with hub names and costs.
+     */
+    private void displayRouteList(List<ChargingRoute> routes) {
+        for (int i = 0; i < routes.size(); i++) {
+            ChargingRoute route = routes.get(i);
+            System.out.println("  " + (i + 1) + ". " + route.getFromHub().getName() + " <-> "
+                    + route.getToHub().getName() + ": $" + String.format("%.1f", route.getCost()) + "K");
         }
     }
 
     /**
      * Displays connectivity metrics.
      */
-    private void displayConnectivityMetrics() {
+    private void displayConnectivityMetrics(NetworkReport current) {
         System.out.println("Connectivity Metrics:");
         System.out.println("-".repeat(50));
 
-        List<ChargingHub> hubs = getHubList();
         System.out.println("Hub Connectivity in MST:");
-
-        // Calculate degree in MST for each hub
-        for (ChargingHub hub : hubs) {
-            int degree = 0;
-            for (ChargingRoute edge : mst.getMSTEdges()) {
-                if (edge.getFromHub().getId() == hub.getId()
-                        || edge.getToHub().getId() == hub.getId()) {
-                    degree++;
-                }
-            }
-            System.out.println("  " + hub.getName() + ": " + degree + " connection(s)");
+        int[] hubIds = current.getHubIds();
+        int[] mstDegrees = current.getMSTDegrees();
+        for (int i = 0; i < hubIds.length; i++) {
+            System.out.println("  " + network.getHub(hubIds[i]).getName() + ": " + mstDegrees[i] + " connection(s)");
         }
 
         System.out.println("\nAverage Infrastructure Connections per Hub: "
-                + String.format("%.2f", (2.0 * mst.getMSTEdgeCount()) / network.getHubCount()));
+                + String.format("%.2f", current.getAverageMSTDegree()));
     }
 
     /**
-     * Gets list of all hubs in network (helper method).
-     *
-     * @return List of ChargingHub objects
+     * Displays the distribution of selected route costs as a text histogram.
      */
-    private List<ChargingHub> getHubList() {
-        List<ChargingHub> hubs = new ArrayList<>();
-        for (int i = 0; i < network.getHubCount(); i++) {
-            ChargingHub hub = network.getHub(i);
-            if (hub != null) {
-                hubs.add(hub);
-            }
+    public void displayCostHistogram() {
+        NetworkReport current = getReport();
+        System.out.println("\n=== MST ROUTE COST DISTRIBUTION ===\n");
+        int[] counts = current.getHistogramCounts();
+        double width = current.getHistogramBinWidth();
+        int largest = 0;
+        for (int count : counts) {
+            largest = Math.max(largest, count);
+        }
+        for (int bin = 0; bin < counts.length; bin++) {
+            double low = current.getHistogramMin() + bin * width;
+            int barLength = largest == 0 ? 0 : (40 * counts[bin] + largest - 1) / largest;
+            System.out.println(String.format("  $%7.1fK - $%7.1fK | %4d | %s", low, low + width, counts[bin],
+                    "#".repeat(barLength)));
         }
-        return hubs;
     }
 
     /**
@@ -0,0 +1,230 @@
+package m6b.d3ca;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * NetworkReport is an immutable snapshot of the statistics NetworkAnalyzer
+ * computes for a charging network and its MST: per-hub degrees in the network
+ * and in the MST, the most expensive and cheapest selected routes, and a
+ * histogram of selected route costs. Per-hub arrays are parallel to
+ * getHubIds() (increasing hub ID). The report records the network
+ * modification count and MST version it was computed from.
+ *
+ * Author: Cullen Kelley Course: AIT-512 Data Structures and Algorithms
+ * Assignment: M6B-D3-CA Creative Assignment
+ */
+public class NetworkReport {
+
+    private final long networkVersion;
+    private final long mstVersion;
+    private final int routeCount;
+    private final int[] hubIds;
+    private final int[] networkDegrees;
+    private final int[] mstDegrees;
+    private final int mstEdgeCount;
+    private final double totalCost;
+    private final List<ChargingRoute> mostExpensiveRoutes;
+    private final List<ChargingRoute> cheapestRoutes;
+    private final double histogramMin;
+    private final double histogramBinWidth;
+    private final int[] histogramCounts;
+
+    /**
+     * Constructs a report; only NetworkAnalyzer creates reports. Arrays and
+     * lists are taken over, not copied.
+     */
+    NetworkReport(long networkVersion, long mstVersion, int routeCount, int[] hubIds,
+            int[] networkDegrees, int[] mstDegrees, int mstEdgeCount, double totalCost,
+            List<ChargingRoute> mostExpensiveRoutes, List<ChargingRoute> cheapestRoutes,
+            double histogramMin, double histogramBinWidth, int[] histogramCounts) {
+        this.networkVersion = networkVersion;
+        this.mstVersion = mstVersion;
+        this.routeCount = routeCount;
+        this.hubIds = hubIds;
+        this.networkDegrees = networkDegrees;
+        this.mstDegrees = mstDegrees;
+        this.mstEdgeCount = mstEdgeCount;
+        this.totalCost = totalCost;
+        this.mostExpensiveRoutes = Collections.unmodifiableList(mostExpensiveRoutes);
+        this.cheapestRoutes = Collections.unmodifiableList(cheapestRoutes);
+        this.histogramMin = histogramMin;
+        this.histogramBinWidth = histogramBinWidth;
+        this.histogramCounts = histogramCounts;
+    }
+
+    /**
+     * Gets the network modification count the report was computed from.
+     *
+     * @return Network version
+     */
+    public long getNetworkVersion() {
+        return networkVersion;
+    }
+
+    /**
+     * Gets the MST version the report was computed from.
+     *
+     * @return MST version
+     */
+    public long getMSTVersion() {
+        return mstVersion;
+    }
+
+    /**
+     * Gets the number of hubs.
+     *
+     * @return Hub count
+     */
+    public int getHubCount() {
+        return hubIds.length;
+    }
+
+    /**
+     * Gets the number of routes in the network.
+     *
+     * @return Route count
+     */
+    public int getRouteCount() {
+        return routeCount;
+    }
+
+    /**
+     * Gets the hub IDs in increasing order; per-hub arrays follow this order.
+     *
+     * @return Copy of the hub IDs
+     */
+    public int[] getHubIds() {
+        return hubIds.clone();
+    }
+
+    /**
+     * Gets the number of network routes at each hub.
+     *
+     * @return Copy of the network degrees, parallel to getHubIds()
+     */
+    public int[] getNetworkDegrees() {
+        return networkDegrees.clone();
+    }
+
+    /**
+     * Gets the number of MST routes at each hub.
+     *
+     * @return Copy of the MST degrees, parallel to getHubIds()
+     */
+    public int[] getMSTDegrees() {
+        return mstDegrees.clone();
+    }
+
+    /**
+     * Gets the average number of network routes per hub.
+     *
+     * @return Average degree
+     */
+    public double getAverageDegree() {
+        return hubIds.length == 0 ? 0.0 : (2.0 * routeCount) / hubIds.length;
+    }
+
+    /**
+     * Gets the average number of MST routes per hub.
+     *
+     * @return Average MST degree
+     */
+    public double getAverageMSTDegree() {
+        return hubIds.length == 0 ? 0.0 : (2.0 * mstEdgeCount) / hubIds.length;
+    }
+
+    /**
+     * Gets the routes as a percentage of all possible hub pairs.
+     *
+     * @return Density in percent
+     */
+    public double getDensityPercent() {
+        long hubCount = hubIds.length;
+        long possibleRoutes = hubCount * (hubCount - 1) / 2;
+        return possibleRoutes == 0 ? 0.0 : (100.0 * routeCount) / possibleRoutes;
+    }
+
+    /**
+     * Gets the number of routes selected for the MST.
+     *
+     * @return MST edge count
+     */
+    public int getMSTEdgeCount() {
+        return mstEdgeCount;
+    }
+
+    /**
+     * Gets the number of routes not selected for the MST.
+     *
+     * @return Eliminated route count
+     */
+    public int getEliminatedRouteCount() {
+        return routeCount - mstEdgeCount;
+    }
+
+    /**
+     * Gets the total cost of the MST.
+     *
+     * @return Total cost in thousands of dollars
+     */
+    public double getTotalCost() {
+        return totalCost;
+    }
+
+    /**
+     * Checks whether the MST spans every hub.
+     *
+     * @return True if the MST has V - 1 edges
+     */
+    public boolean isConnected() {
+        return mstEdgeCount == hubIds.length - 1;
+    }
+
+    /**
+     * Gets the most expensive selected routes, most expensive first.
+     *
+     * @return Unmodifiable list of at most NetworkAnalyzer.TOP_K routes
+     */
+    public List<ChargingRoute> getMostExpensiveRoutes() {
+        return mostExpensiveRoutes;
+    }
+
+    /**
+     * Gets the cheapest selected routes, cheapest first.
+     *
+     * @return Unmodifiable list of at most NetworkAnalyzer.TOP_K routes
+     */
+    public List<ChargingRoute> getCheapestRoutes() {
+        return cheapestRoutes;
+    }
+
+    /**
+     * Gets the lower bound of the first histogram bin.
+     *
+     * @return Lowest selected route cost
+     */
+    public double getHistogramMin() {
+        return histogramMin;
+    }
+
+    /**
+     * Gets the width of each histogram bin. Bin i covers
+     * [min + i * width, min + (i + 1) * width); the last bin also holds the
+     * maximum.
+     *
+     * @return Bin width (0 if all selected routes cost the same)
+     */
+    public double getHistogramBinWidth() {
+        return histogramBinWidth;
+    }
+
+    /**
+     * Gets the number of selected routes in each cost bin.
+     *
+     * @return Copy of the bin counts
+     */
+    public int[] getHistogramCounts() {
+        return histogramCounts.clone();
+    }
+}
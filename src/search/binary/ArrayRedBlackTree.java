@@ -0,0 +1,767 @@
+package search.binary;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+/**
+ * Left-leaning red-black tree whose nodes are indices into parallel arrays
+ *
+ * - Object[] values
+ * - int[] left, right, size
+ * - boolean[] red (color of the link from the parent)
+ *
+ * with the keys kept by the subclass in a primitive array of its own type
+ * (see {@link LongBinarySearchTree} and {@link IntBinarySearchTree}). The
+ * algorithms are those of {@link RedBlackBinarySearchTree}, so the height stays
+ * at most 2 lg n even when the keys arrive in sorted order (sequential station
+ * IDs or VINs). They read keys through keyAt() as longs, which orders int keys
+ * the same way, so one implementation serves both key types.
+ *
+ * The arrays grow by doubling; deleted nodes are kept on a free list (linked
+ * through left) and reused by later insertions. A tree is not thread-safe, but
+ * lookups do not modify it and may run concurrently.
+ *
+ * @param <Value> The generic type for the values
+ */
+abstract class ArrayRedBlackTree<Value> {
+
+    /**
+     * Index meaning "no node"
+     */
+    static final int NIL = -1;
+
+    private Object[] values;
+    private int[] left;
+    private int[] right;
+    private int[] size;
+    private boolean[] red;
+
+    private int rootNode = NIL;
+    /**
+     * Number of array slots in use (live or on the free list)
+     */
+    private int allocated;
+    /**
+     * First free node, or NIL
+     */
+    private int freeList = NIL;
+
+    /**
+     * Number of insertions and deletions so far, checked by the key iterators
+     */
+    private int modificationCount;
+
+    ArrayRedBlackTree(int initialCapacity) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + initialCapacity);
+        }
+        values = new Object[initialCapacity];
+        left = new int[initialCapacity];
+        right = new int[initialCapacity];
+        size = new int[initialCapacity];
+        red = new boolean[initialCapacity];
+    }
+
+    /**
+     * Returns the key of node x, widened to long.
+     */
+    abstract long keyAt(int x);
+
+    /**
+     * Stores a key (one of the subclass's key type) in node x.
+     */
+    abstract void setKey(int x, long key);
+
+    /**
+     * Grows the key array to the given capacity.
+     */
+    abstract void growKeys(int capacity);
+
+    /**
+     * Returns the bytes per node taken by a key.
+     */
+    abstract int keyBytes();
+
+    private boolean isRed(int x) {
+        return x != NIL && red[x];
+    }
+
+    private int size(int x) {
+        return (x == NIL) ? 0 : size[x];
+    }
+
+    /**
+     * Returns the number of keys in the tree.
+     */
+    public int size() {
+        return size(rootNode);
+    }
+
+    /**
+     * Returns true if the tree is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return rootNode == NIL;
+    }
+
+    /**
+     * Returns the number of bytes held by the node arrays, counting 4 bytes
+     * per value reference (compressed references); array headers and the
+     * values themselves are not included.
+     *
+     * @return Bytes
+     */
+    public long memoryBytes() {
+        return (long) values.length * (keyBytes() + 4 * Integer.BYTES + 1);
+    }
+
+    /**
+     * Takes a node from the free list or the end of the arrays.
+     */
+    private int newNode(long key, Value value) {
+        int x;
+        if (freeList != NIL) {
+            x = freeList;
+            freeList = left[x];
+        } else {
+            if (allocated == values.length) {
+                int capacity = 2 * values.length;
+                values = Arrays.copyOf(values, capacity);
+                left = Arrays.copyOf(left, capacity);
+                right = Arrays.copyOf(right, capacity);
+                size = Arrays.copyOf(size, capacity);
+                red = Arrays.copyOf(red, capacity);
+                growKeys(capacity);
+            }
+            x = allocated++;
+        }
+        setKey(x, key);
+        values[x] = value;
+        left[x] = NIL;
+        right[x] = NIL;
+        size[x] = 1;
+        red[x] = true;
+        return x;
+    }
+
+    /**
+     * Returns a node to the free list.
+     */
+    private void freeNode(int x) {
+        values[x] = null; // let the value be collected
+        left[x] = freeList;
+        freeList = x;
+    }
+
+    /**
+     * Finds the node holding the given key.
+     *
+     * @return The node, or NIL
+     */
+    final int find(long key) {
+        int x = rootNode;
+        while (x != NIL) {
+            long nodeKey = keyAt(x);
+            if (key < nodeKey) {
+                x = left[x];
+            } else if (key > nodeKey) {
+                x = right[x];
+            } else {
+                return x;
+            }
+        }
+        return NIL;
+    }
+
+    /**
+     * Returns the value of a node, or null for NIL.
+     */
+    @SuppressWarnings("unchecked")
+    final Value valueAt(int x) {
+        return (x == NIL) ? null : (Value) values[x];
+    }
+
+    /**
+     * Inserts a key-value pair. If the value is null, removes the key.
+     */
+    final void putKey(long key, Value value) {
+        if (value == null) {
+            deleteKey(key);
+            return;
+        }
+        int before = size();
+        rootNode = put(rootNode, key, value);
+        red[rootNode] = false;
+        if (size() != before) {
+            modificationCount++;
+        }
+    }
+
+    private int put(int h, long key, Value value) {
+        if (h == NIL) {
+            return newNode(key, value);
+        }
+        // put() may grow the arrays, so store the child after the call returns
+        long nodeKey = keyAt(h);
+        if (key < nodeKey) {
+            int child = put(left[h], key, value);
+            left[h] = child;
+        } else if (key > nodeKey) {
+            int child = put(right[h], key, value);
+            right[h] = child;
+        } else {
+            values[h] = value;
+        }
+        return balance(h);
+    }
+
+    /**
+     * Deletes the minimum key. If the tree is empty, throw an exception.
+     */
+    public void deleteMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Symbol table is empty - no minimum element");
+        }
+        if (!isRed(left[rootNode]) && !isRed(right[rootNode])) {
+            red[rootNode] = true;
+        }
+        rootNode = deleteMin(rootNode);
+        if (!isEmpty()) {
+            red[rootNode] = false;
+        }
+        modificationCount++;
+    }
+
+    private int deleteMin(int h) {
+        if (left[h] == NIL) {
+            freeNode(h);
+            return NIL;
+        }
+        if (!isRed(left[h]) && !isRed(left[left[h]])) {
+            h = moveRedLeft(h);
+        }
+        left[h] = deleteMin(left[h]);
+        return balance(h);
+    }
+
+    /**
+     * Deletes the maximum key. If the tree is empty, throw an exception.
+     */
+    public void deleteMax() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Symbol table underflow");
+        }
+        if (!isRed(left[rootNode]) && !isRed(right[rootNode])) {
+            red[rootNode] = true;
+        }
+        rootNode = deleteMax(rootNode);
+        if (!isEmpty()) {
+            red[rootNode] = false;
+        }
+        modificationCount++;
+    }
+
+    private int deleteMax(int h) {
+        if (isRed(left[h])) {
+            h = rotateRight(h);
+        }
+        if (right[h] == NIL) {
+            freeNode(h);
+            return NIL;
+        }
+        if (!isRed(right[h]) && !isRed(left[right[h]])) {
+            h = moveRedRight(h);
+        }
+        right[h] = deleteMax(right[h]);
+        return balance(h);
+    }
+
+    /**
+     * Deletes the key (and its associated value), if present.
+     */
+    final void deleteKey(long key) {
+        if (find(key) == NIL) {
+            return;
+        }
+        if (!isRed(left[rootNode]) && !isRed(right[rootNode])) {
+            red[rootNode] = true;
+        }
+        rootNode = delete(rootNode, key);
+        if (!isEmpty()) {
+            red[rootNode] = false;
+        }
+        modificationCount++;
+    }
+
+    /**
+     * Deletes a key from the subtree rooted at h; the key must be in it.
+     */
+    private int delete(int h, long key) {
+        if (key < keyAt(h)) {
+            if (!isRed(left[h]) && !isRed(left[left[h]])) {
+                h = moveRedLeft(h);
+            }
+            left[h] = delete(left[h], key);
+        } else {
+            if (isRed(left[h])) {
+                h = rotateRight(h);
+            }
+            if (key == keyAt(h) && right[h] == NIL) {
+                freeNode(h);
+                return NIL;
+            }
+            if (!isRed(right[h]) && !isRed(left[right[h]])) {
+                h = moveRedRight(h);
+            }
+            if (key == keyAt(h)) {
+                // take over the successor's key and value, then delete the successor
+                int successor = minNode(right[h]);
+                setKey(h, keyAt(successor));
+                values[h] = values[successor];
+                right[h] = deleteMin(right[h]);
+            } else {
+                right[h] = delete(right[h], key);
+            }
+        }
+        return balance(h);
+    }
+
+    /**
+     * Makes a left-leaning link lean to the right.
+     */
+    private int rotateRight(int h) {
+        int x = left[h];
+        left[h] = right[x];
+        right[x] = h;
+        red[x] = red[h];
+        red[h] = true;
+        size[x] = size[h];
+        size[h] = size(left[h]) + size(right[h]) + 1;
+        return x;
+    }
+
+    /**
+     * Makes a right-leaning link lean to the left.
+     */
+    private int rotateLeft(int h) {
+        int x = right[h];
+        right[h] = left[x];
+        left[x] = h;
+        red[x] = red[h];
+        red[h] = true;
+        size[x] = size[h];
+        size[h] = size(left[h]) + size(right[h]) + 1;
+        return x;
+    }
+
+    /**
+     * Flips the colors of a node and its two children.
+     */
+    private void flipColors(int h) {
+        red[h] = !red[h];
+        red[left[h]] = !red[left[h]];
+        red[right[h]] = !red[right[h]];
+    }
+
+    /**
+     * Assuming that h is red and both left[h] and left[left[h]] are black,
+     * make left[h] or one of its children red.
+     */
+    private int moveRedLeft(int h) {
+        flipColors(h);
+        if (isRed(left[right[h]])) {
+            right[h] = rotateRight(right[h]);
+            h = rotateLeft(h);
+            flipColors(h);
+        }
+        return h;
+    }
+
+    /**
+     * Assuming that h is red and both right[h] and left[right[h]] are black,
+     * make right[h] or one of its children red.
+     */
+    private int moveRedRight(int h) {
+        flipColors(h);
+        if (isRed(left[left[h]])) {
+            h = rotateRight(h);
+            flipColors(h);
+        }
+        return h;
+    }
+
+    /**
+     * Restores the red-black invariants of the subtree rooted at h.
+     */
+    private int balance(int h) {
+        if (isRed(right[h]) && !isRed(left[h])) {
+            h = rotateLeft(h);
+        }
+        if (isRed(left[h]) && isRed(left[left[h]])) {
+            h = rotateRight(h);
+        }
+        if (isRed(left[h]) && isRed(right[h])) {
+            flipColors(h);
+        }
+        size[h] = size(left[h]) + size(right[h]) + 1;
+        return h;
+    }
+
+    /**
+     * Returns the node with the smallest key in the subtree rooted at x.
+     */
+    private int minNode(int x) {
+        while (left[x] != NIL) {
+            x = left[x];
+        }
+        return x;
+    }
+
+    /**
+     * Returns the node with the smallest key.
+     */
+    final int minNode() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("calls min() with empty symbol table");
+        }
+        return minNode(rootNode);
+    }
+
+    /**
+     * Returns the node with the largest key.
+     */
+    final int maxNode() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("calls max() with empty symbol table");
+        }
+        int x = rootNode;
+        while (right[x] != NIL) {
+            x = right[x];
+        }
+        return x;
+    }
+
+    /**
+     * Returns the node with the largest key less than or equal to the given
+     * key.
+     */
+    final int floorNode(long key) {
+        if (isEmpty()) {
+            throw new NoSuchElementException("calls floor() with empty symbol table");
+        }
+        int best = NIL;
+        int x = rootNode;
+        while (x != NIL) {
+            long nodeKey = keyAt(x);
+            if (key == nodeKey) {
+                return x;
+            }
+            if (key < nodeKey) {
+                x = left[x];
+            } else {
+                best = x;
+                x = right[x];
+            }
+        }
+        if (best == NIL) {
+            throw new NoSuchElementException("argument to floor() is too small");
+        }
+        return best;
+    }
+
+    /**
+     * Returns the node with the smallest key greater than or equal to the
+     * given key.
+     */
+    final int ceilingNode(long key) {
+        if (isEmpty()) {
+            throw new NoSuchElementException("calls ceiling() with empty symbol table");
+        }
+        int best = NIL;
+        int x = rootNode;
+        while (x != NIL) {
+            long nodeKey = keyAt(x);
+            if (key == nodeKey) {
+                return x;
+            }
+            if (key > nodeKey) {
+                x = right[x];
+            } else {
+                best = x;
+                x = left[x];
+            }
+        }
+        if (best == NIL) {
+            throw new NoSuchElementException("argument to ceiling() is too large");
+        }
+        return best;
+    }
+
+    /**
+     * Returns the node holding the key of the given rank.
+     */
+    final int selectNode(int rank) {
+        if (rank < 0 || rank >= size()) {
+            throw new IllegalArgumentException("argument to select() is invalid: " + rank);
+        }
+        int x = rootNode;
+        while (true) {
+            int leftSize = size(left[x]);
+            if (leftSize > rank) {
+                x = left[x];
+            } else if (leftSize < rank) {
+                rank -= leftSize + 1;
+                x = right[x];
+            } else {
+                return x;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of keys less than the given key.
+     */
+    final int rankOf(long key) {
+        int rank = 0;
+        int x = rootNode;
+        while (x != NIL) {
+            long nodeKey = keyAt(x);
+            if (key < nodeKey) {
+                x = left[x];
+            } else if (key > nodeKey) {
+                rank += 1 + size(left[x]);
+                x = right[x];
+            } else {
+                return rank + size(left[x]);
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the number of keys in the range [lo, hi].
+     */
+    final int rangeSize(long lo, long hi) {
+        if (lo > hi) {
+            return 0;
+        }
+        return rankOf(hi) - rankOf(lo) + ((find(hi) != NIL) ? 1 : 0);
+    }
+
+    /**
+     * Returns the height of the tree (at most 2 lg n), computed by a
+     * level-order traversal on each call.
+     */
+    public int height() {
+        int levels = -1;
+        int[] level = new int[Math.max(1, size())];
+        int[] nextLevel = new int[level.length];
+        int count = 0;
+        if (rootNode != NIL) {
+            level[count++] = rootNode;
+        }
+        while (count > 0) {
+            levels++;
+            int nextCount = 0;
+            for (int i = 0; i < count; i++) {
+                int x = level[i];
+                if (left[x] != NIL) {
+                    nextLevel[nextCount++] = left[x];
+                }
+                if (right[x] != NIL) {
+                    nextLevel[nextCount++] = right[x];
+                }
+            }
+            int[] swap = level;
+            level = nextLevel;
+            nextLevel = swap;
+            count = nextCount;
+        }
+        return levels;
+    }
+
+    /**
+     * Returns the nodes in level order.
+     */
+    final int[] levelOrderNodes() {
+        int[] queue = new int[size()];
+        int head = 0;
+        int tail = 0;
+        if (rootNode != NIL) {
+            queue[tail++] = rootNode;
+        }
+        while (head < tail) {
+            int x = queue[head++];
+            if (left[x] != NIL) {
+                queue[tail++] = left[x];
+            }
+            if (right[x] != NIL) {
+                queue[tail++] = right[x];
+            }
+        }
+        return queue;
+    }
+
+    /**
+     * In-order walk over the nodes with keys in [lo, hi], ascending or
+     * descending, with an explicit stack of node indices as in
+     * BinarySearchTree. Fails with ConcurrentModificationException if keys are
+     * inserted or deleted during the walk.
+     */
+    final class NodeIterator {
+
+        private final long lo;
+        private final long hi;
+        private final boolean descending;
+        // the height of a red-black tree is at most 2 lg(n + 1)
+        private final int[] stack = new int[2 * (32 - Integer.numberOfLeadingZeros(size() + 1)) + 1];
+        private final int expectedModificationCount = modificationCount;
+        private int top;
+        private int next = NIL;
+
+        NodeIterator(long lo, long hi, boolean descending) {
+            this.lo = lo;
+            this.hi = hi;
+            this.descending = descending;
+            pushPath(rootNode);
+            advance();
+        }
+
+        private void pushPath(int x) {
+            while (x != NIL) {
+                if (descending) {
+                    if (hi < keyAt(x)) {
+                        x = left[x];
+                    } else {
+                        stack[top++] = x;
+                        x = right[x];
+                    }
+                } else {
+                    if (lo > keyAt(x)) {
+                        x = right[x];
+                    } else {
+                        stack[top++] = x;
+                        x = left[x];
+                    }
+                }
+            }
+        }
+
+        private void advance() {
+            if (top == 0) {
+                next = NIL;
+                return;
+            }
+            int x = stack[--top];
+            if (descending) {
+                if (lo > keyAt(x)) {
+                    next = NIL;
+                    return;
+                }
+                pushPath(left[x]);
+            } else {
+                if (hi < keyAt(x)) {
+                    next = NIL;
+                    return;
+                }
+                pushPath(right[x]);
+            }
+            next = x;
+        }
+
+        boolean hasNext() {
+            return next != NIL;
+        }
+
+        int nextNode() {
+            if (modificationCount != expectedModificationCount) {
+                throw new ConcurrentModificationException("Symbol table modified during iteration");
+            }
+            if (next == NIL) {
+                throw new NoSuchElementException("No more keys in range");
+            }
+            int x = next;
+            advance();
+            return x;
+        }
+    }
+
+    /**
+     * Returns a string representation of the tree, in key order.
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        NodeIterator iterator = new NodeIterator(Long.MIN_VALUE, Long.MAX_VALUE, false);
+        while (iterator.hasNext()) {
+            int x = iterator.nextNode();
+            if (text.length() > 0) {
+                text.append(' ');
+            }
+            text.append(keyAt(x)).append('=').append(values[x]);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Helper method to create a string representation of the tree in a
+     * hierarchical format.
+     */
+    private String toStringHT(String prefix, String leftPrefix, String val, String rightPrefix, int x) {
+        if (x == NIL) {
+            return "";
+        }
+        String result = "";
+        result += toStringHT(prefix + rightPrefix + " ", "| ", "+- ", "  ", right[x]);
+        result += prefix + val + keyAt(x) + "(" + values[x] + ")\n";
+        result += toStringHT(prefix + leftPrefix + " ", "  ", "+- ", "| ", left[x]);
+        return result;
+    }
+
+    /**
+     * Returns a string representation of the tree.
+     */
+    public String toStringHT() {
+        return toStringHT("", "", "", "", rootNode);
+    }
+
+    /**
+     * Checks the symmetric order, the subtree sizes and the red-black
+     * invariants (no red right links, no two red links in a row, the same
+     * number of black links on every path).
+     *
+     * @return true if the tree is a valid left-leaning red-black tree
+     */
+    boolean check() {
+        NodeIterator iterator = new NodeIterator(Long.MIN_VALUE, Long.MAX_VALUE, false);
+        int previous = NIL;
+        while (iterator.hasNext()) {
+            int x = iterator.nextNode();
+            if (previous != NIL && keyAt(previous) >= keyAt(x)) {
+                return false;
+            }
+            previous = x;
+        }
+        int black = 0;
+        for (int x = rootNode; x != NIL; x = left[x]) {
+            if (!red[x]) {
+                black++;
+            }
+        }
+        return !isRed(rootNode) && check(rootNode, black);
+    }
+
+    private boolean check(int x, int black) {
+        if (x == NIL) {
+            return black == 0;
+        }
+        if (size[x] != size(left[x]) + size(right[x]) + 1 || isRed(right[x]) || (red[x] && isRed(left[x]))) {
+            return false;
+        }
+        if (!red[x]) {
+            black--;
+        }
+        return check(left[x], black) && check(right[x], black);
+    }
+}
@@ -1,8 +1,13 @@
 package search.binary;
 
+import ds.stack.DynamicCapacityStack;
+import ds.stack.Stack;
 import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import search.symboltable.SymbolTable;
 
 /**
@@ -53,6 +58,20 @@ public class BinarySearchTree<Key extends Comparable<Key>, Value> implements Sym
 
     private Node rootNode;
 
+    /**
+     * Number of insertions and deletions so far, used by the key iterators to
+     * detect that the tree changed under them
+     */
+    private int modificationCount;
+
+    /**
+     * Cached height of the tree, kept up to date by put(); deletions may lower
+     * the height, so they only mark the cache stale and height() recomputes it
+     * on demand
+     */
+    private int height = -1;
+    private boolean heightStale;
+
     /**
      * Constructor for creating an empty binary search tree.
      */
@@ -90,34 +109,25 @@ public class BinarySearchTree<Key extends Comparable<Key>, Value> implements Sym
     }
 
     /**
-     * Retrieves the value associated with the given key in the subtree rooted
-     * at subtreeRoot.
+     * Finds the node holding the given key by walking down from the root.
      *
-     * @param subtreeRoot
-     * @param key
-     * @return
-     */
-    private Value get(Node subtreeRoot, Key key) {
-        // check if an empty subtree
-        if (subtreeRoot == null) // not found in an empty subtree
-        {
-            return null;
-        }
-        // compare the searched key with the root key
-        int cmp = key.compareTo(subtreeRoot.key);
-        // if the key is less than the key of the root node
-        if (cmp < 0) // search in the left subtree
-        {
-            return get(subtreeRoot.leftSubtree, key);
-        }// if the key is greater than the key of the root node
-        else if (cmp > 0) // search in the right subtree
-        {
-            return get(subtreeRoot.rightSubtree, key);
-        }// if the key is equal with the key of the root node
-        else // key found, return the associated value (not-null)
-        {
-            return subtreeRoot.value;
+     * @param key The searched key
+     * @return The node, or null if the key is not in the tree
+     */
+    private Node find(Key key) {
+        Node x = rootNode;
+        while (x != null) {
+            // compare the searched key with the key of the current node
+            int cmp = key.compareTo(x.key);
+            if (cmp < 0) { // continue in the left subtree
+                x = x.leftSubtree;
+            } else if (cmp > 0) { // continue in the right subtree
+                x = x.rightSubtree;
+            } else { // key found
+                return x;
+            }
         }
+        return null; // fell off the tree: not found
     }
 
     /**
@@ -128,7 +138,7 @@ public class BinarySearchTree<Key extends Comparable<Key>, Value> implements Sym
         if (key == null) {
             throw new IllegalArgumentException("Keys are not allowed to be null.");
         }
-        return get(key) != null;
+        return find(key) != null;
     }
 
     /**
@@ -139,47 +149,15 @@ public class BinarySearchTree<Key extends Comparable<Key>, Value> implements Sym
         if (key == null) {
             throw new IllegalArgumentException("Keys are not allowed to be null.");
         }
-        return get(rootNode, key);
-    }
-
-    /**
-     * Helper method to insert a key-value pair into the subtree rooted at
-     * treeRoot.
-     *
-     * @param treeRoot The root of the subtree
-     * @param key The key to insert
-     * @param value The value associated with the key
-     * @return The updated subtree root
-     */
-    private Node put(Node treeRoot, Key key, Value value) {
-        //I liked the comments from the assignment so I kep them for clarity when I review
-        if (treeRoot == null) //if the tree is empty create and return a single node tree with  this association.
-        {
-            return new Node(key, value);
-        }
-        // compare the key with the key in the root node of the tree
-        int cmp = key.compareTo(treeRoot.key);
-        // if the key is less than the key of the root node
-        if (cmp < 0) // put the association in the left subtree
-        {
-            treeRoot.leftSubtree = put(treeRoot.leftSubtree, key, value);
-        }// if the key is greater than the key of the root node
-        else if (cmp > 0) // put the association in the right subttree
-        {
-            treeRoot.rightSubtree = put(treeRoot.rightSubtree, key, value);
-        }// if the keys are equal (cmp ==0) 
-        else // update the value associated with the key (in the root node)
-        {
-            treeRoot.value = value;
-        }
-        // update the size of the tree
-        treeRoot.size = 1 + size(treeRoot.leftSubtree) + size(treeRoot.rightSubtree);
-        return treeRoot;
+        Node x = find(key);
+        return (x == null) ? null : x.value;
     }
 
     /**
      * Inserts a key-value pair into the binary search tree. If the value is
-     * null, removes the key from the tree.
+     * null, removes the key from the tree. The insertion is iterative: every
+     * node on the way down gains one node in its subtree, so the sizes are
+     * updated while descending (and restored if the key turns out to exist).
      */
     @Override
     public void put(Key key, Value value) {
@@ -193,22 +171,53 @@ public class BinarySearchTree<Key extends Comparable<Key>, Value> implements Sym
             return;
         }
 
-        rootNode = put(rootNode, key, value); // add the association key-value and update the tree
+        //if the tree is empty create a single node tree with this association.
+        if (rootNode == null) {
+            rootNode = new Node(key, value);
+            recordDepth(0);
+            modificationCount++;
+            return;
+        }
+        // assume the key is new: every node on the way down gains one node
+        Node x = rootNode;
+        int depth = 0;
+        while (true) {
+            x.size++;
+            depth++;
+            // compare the key with the key in the current node
+            int cmp = key.compareTo(x.key);
+            if (cmp < 0) { // put the association in the left subtree
+                if (x.leftSubtree == null) {
+                    x.leftSubtree = new Node(key, value);
+                    break;
+                }
+                x = x.leftSubtree;
+            } else if (cmp > 0) { // put the association in the right subtree
+                if (x.rightSubtree == null) {
+                    x.rightSubtree = new Node(key, value);
+                    break;
+                }
+                x = x.rightSubtree;
+            } else { // the key exists: update the value and undo the size increments
+                x.value = value;
+                for (Node y = rootNode; y != x; y = (key.compareTo(y.key) < 0) ? y.leftSubtree : y.rightSubtree) {
+                    y.size--;
+                }
+                x.size--;
+                return;
+            }
+        }
+        recordDepth(depth);
+        modificationCount++;
     }
 
     /**
-     * Deletes the minimum key in the subtree rooted at x.
-     *
-     * @param x
-     * @return
+     * Updates the cached height after a node was added at the given depth.
      */
-    private Node deleteMin(Node x) {
-        if (x.leftSubtree == null) {
-            return x.rightSubtree;
+    private void recordDepth(int depth) {
+        if (!heightStale && depth > height) {
+            height = depth;
         }
-        x.leftSubtree = deleteMin(x.leftSubtree);
-        x.size = size(x.leftSubtree) + size(x.rightSubtree) + 1;
-        return x;
     }
 
     /**
@@ -221,7 +230,16 @@ public class BinarySearchTree<Key extends Comparable<Key>, Value> implements Sym
         if (isEmpty()) {
             throw new NoSuchElementException("Symbol table is empty - no minimum element");
         }
-        rootNode = deleteMin(rootNode);
+        Node parent = null;
+        Node x = rootNode;
+        while (x.leftSubtree != null) {
+            x.size--;
+            parent = x;
+            x = x.leftSubtree;
+        }
+        replaceChild(parent, x, x.rightSubtree);
+        heightStale = true;
+        modificationCount++;
     }
 
     /**
@@ -234,71 +252,84 @@ public class BinarySearchTree<Key extends Comparable<Key>, Value> implements Sym
         if (isEmpty()) {
             throw new NoSuchElementException("Symbol table underflow");
         }
-        rootNode = deleteMax(rootNode);
-        assert check();
-    }
-
-    /**
-     * Deletes the maximum key in the subtree rooted at x.
-     *
-     * @param x
-     * @return
-     */
-    private Node deleteMax(Node x) {
-        if (x.rightSubtree == null) {
-            return x.leftSubtree;
+        Node parent = null;
+        Node x = rootNode;
+        while (x.rightSubtree != null) {
+            x.size--;
+            parent = x;
+            x = x.rightSubtree;
         }
-        x.rightSubtree = deleteMax(x.rightSubtree);
-        x.size = size(x.leftSubtree) + size(x.rightSubtree) + 1;
-        return x;
+        replaceChild(parent, x, x.leftSubtree);
+        heightStale = true;
+        modificationCount++;
+        assert check();
     }
 
     /**
      * Deletes the key (and its associated value) from the binary search tree.
+     * Uses Hibbard deletion: a node with two children is replaced by its
+     * successor (the minimum of its right subtree).
      */
     @Override
     public void delete(Key key) {
         if (key == null) {
             throw new IllegalArgumentException("calls delete() with a null key");
         }
-        rootNode = delete(rootNode, key);
+        if (find(key) == null) {
+            return;
+        }
+        // the key is in the tree: every node above it loses one node in its subtree
+        Node parent = null;
+        Node x = rootNode;
+        int cmp;
+        while ((cmp = key.compareTo(x.key)) != 0) {
+            x.size--;
+            parent = x;
+            x = (cmp < 0) ? x.leftSubtree : x.rightSubtree;
+        }
+
+        Node replacement;
+        if (x.rightSubtree == null) {
+            replacement = x.leftSubtree;
+        } else if (x.leftSubtree == null) {
+            replacement = x.rightSubtree;
+        } else {
+            // detach the successor from the right subtree
+            Node successorParent = null;
+            Node successor = x.rightSubtree;
+            while (successor.leftSubtree != null) {
+                successor.size--;
+                successorParent = successor;
+                successor = successor.leftSubtree;
+            }
+            if (successorParent != null) {
+                successorParent.leftSubtree = successor.rightSubtree;
+                successor.rightSubtree = x.rightSubtree;
+            }
+            successor.leftSubtree = x.leftSubtree;
+            successor.size = x.size - 1;
+            replacement = successor;
+        }
+        replaceChild(parent, x, replacement);
+        heightStale = true;
+        modificationCount++;
         assert check();
     }
 
     /**
-     * Helper method to delete a key from the subtree rooted at x.
-     *
-     * @param x The root of the subtree
-     * @param key The key to delete
-     * @return The updated subtree root
+     * Replaces the child x of parent (or the root, if parent is null) by
+     * replacement.
      */
-    private Node delete(Node x, Key key) {
-        if (x == null) {
-            return null;
-        }
-
-        int cmp = key.compareTo(x.key);
-        if (cmp < 0) {
-            x.leftSubtree = delete(x.leftSubtree, key);
-        } else if (cmp > 0) {
-            x.rightSubtree = delete(x.rightSubtree, key);
+    private void replaceChild(Node parent, Node x, Node replacement) {
+        if (parent == null) {
+            rootNode = replacement;
+        } else if (parent.leftSubtree == x) {
+            parent.leftSubtree = replacement;
         } else {
-            if (x.rightSubtree == null) {
-                return x.leftSubtree;
-            }
-            if (x.leftSubtree == null) {
-                return x.rightSubtree;
-            }
-            Node t = x;
-            x = min(t.rightSubtree);
-            x.rightSubtree = deleteMin(t.rightSubtree);
-            x.leftSubtree = t.leftSubtree;
+            parent.rightSubtree = replacement;
         }
-        x.size = size(x.leftSubtree) + size(x.rightSubtree) + 1;
-        return x;
     }
 
-    // hope
     /**
      * Returns the minimum key in the binary search tree.
      */
@@ -306,22 +337,11 @@ public class BinarySearchTree<Key extends Comparable<Key>, Value> implements Sym
         if (isEmpty()) {
             throw new NoSuchElementException("calls min() with empty symbol table");
         }
-        return min(rootNode).key;
-    }
-
-    /**
-     * Helper method to find the node with the minimum key in the subtree rooted
-     * at x.
-     *
-     * @param x The root of the subtree
-     * @return The node with the minimum key
-     */
-    private Node min(Node x) {
-        if (x.leftSubtree == null) {
-            return x;
-        } else {
-            return min(x.leftSubtree);
+        Node x = rootNode;
+        while (x.leftSubtree != null) {
+            x = x.leftSubtree;
         }
+        return x.key;
     }
 
     /**
@@ -331,26 +351,16 @@ public class BinarySearchTree<Key extends Comparable<Key>, Value> implements Sym
         if (isEmpty()) {
             throw new NoSuchElementException("calls max() with empty symbol table");
         }
-        return max(rootNode).key;
-    }
-
-    /**
-     * Helper method to find the node with the maximum key in the subtree rooted
-     * at x.
-     *
-     * @param x The root of the subtree
-     * @return The node with the maximum key
-     */
-    private Node max(Node x) {
-        if (x.rightSubtree == null) {
-            return x;
-        } else {
-            return max(x.rightSubtree);
+        Node x = rootNode;
+        while (x.rightSubtree != null) {
+            x = x.rightSubtree;
         }
+        return x.key;
     }
 
     /**
-     * Returns the largest key less than or equal to the given key.
+     * Returns the largest key less than or equal to the given key. The last
+     * node where the search turned right is the best candidate so far.
      */
     public Key floor(Key key) {
         if (key == null) {
@@ -359,43 +369,30 @@ public class BinarySearchTree<Key extends Comparable<Key>, Value> implements Sym
         if (isEmpty()) {
             throw new NoSuchElementException("calls floor() with empty symbol table");
         }
-        Node x = floor(rootNode, key);
-        if (x == null) {
-            throw new NoSuchElementException("argument to floor() is too small");
-        } else {
-            return x.key;
-        }
-    }
-
-    /**
-     * Helper method to find the node with the largest key less than or equal to
-     * the given key in the subtree rooted at x.
-     *
-     * @param x The root of the subtree
-     * @param key The key to compare
-     * @return The node with the largest key less than or equal to the given key
-     */
-    private Node floor(Node x, Key key) {
-        if (x == null) {
-            return null;
-        }
-        int cmp = key.compareTo(x.key);
-        if (cmp == 0) {
-            return x;
-        }
-        if (cmp < 0) {
-            return floor(x.leftSubtree, key);
+        Node best = null;
+        Node x = rootNode;
+        while (x != null) {
+            int cmp = key.compareTo(x.key);
+            if (cmp == 0) {
+                return x.key;
+            }
+            if (cmp < 0) {
+                x = x.leftSubtree;
+            } else {
+                best = x;
+                x = x.rightSubtree;
+            }
         }
-        Node t = floor(x.rightSubtree, key);
-        if (t != null) {
-            return t;
+        if (best == null) {
+            throw new NoSuchElementException("argument to floor() is too small");
         } else {
-            return x;
+            return best.key;
         }
     }
 
     /**
-     * Returns the smallest key greater than or equal to the given key.
+     * Returns the smallest key greater than or equal to the given key. The last
+     * node where the search turned left is the best candidate so far.
      */
     public Key ceiling(Key key) {
         if (key == null) {
@@ -404,40 +401,25 @@ public class BinarySearchTree<Key extends Comparable<Key>, Value> implements Sym
         if (isEmpty()) {
             throw new NoSuchElementException("calls ceiling() with empty symbol table");
         }
-        Node x = ceiling(rootNode, key);
-        if (x == null) {
-            throw new NoSuchElementException("argument to floor() is too large");
-        } else {
-            return x.key;
-        }
-    }
-
-    /**
-     * Helper method to find the node with the smallest key greater than or
-     * equal to the given key in the subtree rooted at x.
-     *
-     * @param x The root of the subtree
-     * @param key The key to compare
-     * @return The node with the smallest key greater than or equal to the given
-     * key
-     */
-    private Node ceiling(Node x, Key key) {
-        if (x == null) {
-            return null;
-        }
-        int cmp = key.compareTo(x.key);
-        if (cmp == 0) {
-            return x;
-        }
-        if (cmp < 0) {
-            Node t = ceiling(x.leftSubtree, key);
-            if (t != null) {
-                return t;
+        Node best = null;
+        Node x = rootNode;
+        while (x != null) {
+            int cmp = key.compareTo(x.key);
+            if (cmp == 0) {
+                return x.key;
+            }
+            if (cmp > 0) {
+                x = x.rightSubtree;
             } else {
-                return x;
+                best = x;
+                x = x.leftSubtree;
             }
         }
-        return ceiling(x.rightSubtree, key);
+        if (best == null) {
+            throw new NoSuchElementException("argument to floor() is too large");
+        } else {
+            return best.key;
+        }
     }
 
     /**
@@ -447,27 +429,17 @@ public class BinarySearchTree<Key extends Comparable<Key>, Value> implements Sym
         if (rank < 0 || rank >= size()) {
             throw new IllegalArgumentException("argument to select() is invalid: " + rank);
         }
-        return select(rootNode, rank);
-    }
-
-    /**
-     * Helper method to find the key of rank rank in the subtree rooted at x.
-     *
-     * @param x The root of the subtree
-     * @param rank The rank to find
-     * @return The key of rank rank
-     */
-    private Key select(Node x, int rank) {
-        if (x == null) {
-            return null;
-        }
-        int leftSize = size(x.leftSubtree);
-        if (leftSize > rank) {
-            return select(x.leftSubtree, rank);
-        } else if (leftSize < rank) {
-            return select(x.rightSubtree, rank - leftSize - 1);
-        } else {
-            return x.key;
+        Node x = rootNode;
+        while (true) {
+            int leftSize = size(x.leftSubtree);
+            if (leftSize > rank) {
+                x = x.leftSubtree;
+            } else if (leftSize < rank) {
+                rank -= leftSize + 1;
+                x = x.rightSubtree;
+            } else {
+                return x.key;
+            }
         }
     }
 
@@ -478,29 +450,20 @@ public class BinarySearchTree<Key extends Comparable<Key>, Value> implements Sym
         if (key == null) {
             throw new IllegalArgumentException("argument to rank() is null");
         }
-        return rank(key, rootNode);
-    }
-
-    /**
-     * Helper method to compute the number of keys less than the given key in
-     * the subtree rooted at x.
-     *
-     * @param key The key to compare
-     * @param x The root of the subtree
-     * @return The number of keys less than the given key
-     */
-    private int rank(Key key, Node x) {
-        if (x == null) {
-            return 0;
-        }
-        int cmp = key.compareTo(x.key);
-        if (cmp < 0) {
-            return rank(key, x.leftSubtree);
-        } else if (cmp > 0) {
-            return 1 + size(x.leftSubtree) + rank(key, x.rightSubtree);
-        } else {
-            return size(x.leftSubtree);
+        int rank = 0;
+        Node x = rootNode;
+        while (x != null) {
+            int cmp = key.compareTo(x.key);
+            if (cmp < 0) {
+                x = x.leftSubtree;
+            } else if (cmp > 0) {
+                rank += 1 + size(x.leftSubtree);
+                x = x.rightSubtree;
+            } else {
+                return rank + size(x.leftSubtree);
+            }
         }
+        return rank;
     }
 
     /**
@@ -544,20 +507,24 @@ public class BinarySearchTree<Key extends Comparable<Key>, Value> implements Sym
     }
 
     /**
-     * Returns an iterable collection of all keys in the symbol table.
+     * Returns all keys of the symbol table in ascending order. The keys are
+     * produced lazily while iterating (see {@link #keys(Comparable, Comparable)}).
      *
      * @return an iterable collection of keys
      */
     @Override
     public Iterable<Key> keys() {
-        if (isEmpty()) {
-            return new ArrayList<>(); // Use diamond operator with proper generics not return new ArrayList();
-        }
-        return keys(min(), max());
+        return new KeyRange(null, null, false);
     }
 
     /**
-     * Returns all keys in the given range [lo, hi].
+     * Returns all keys in the given range [lo, hi] in ascending order. Nothing
+     * is copied: each iterator walks the tree with an explicit stack of at most
+     * height() + 1 nodes and goes only as far as the caller pulls, so reading
+     * the first k keys of the range costs O(height + k). The iterable's
+     * spliterator knows the range size, so the keys can feed a Stream
+     * directly. Iterators fail with ConcurrentModificationException if keys
+     * are inserted or deleted while iterating.
      *
      * @param lo The lower bound key
      * @param hi The upper bound key
@@ -570,44 +537,196 @@ public class BinarySearchTree<Key extends Comparable<Key>, Value> implements Sym
         if (hi == null) {
             throw new IllegalArgumentException("second argument to keys() is null");
         }
+        return new KeyRange(lo, hi, false);
+    }
 
-        ArrayList<Key> queue = new ArrayList<>(); // instead of ArrayList<Key>(); you can use <> instad!
-        keys(rootNode, queue, lo, hi);
-        return queue;
+    /**
+     * Returns all keys of the symbol table in descending order, produced
+     * lazily.
+     *
+     * @return an iterable collection of keys, largest first
+     */
+    public Iterable<Key> descendingKeys() {
+        return new KeyRange(null, null, true);
     }
 
     /**
-     * Helper method to collect keys in the given range [lo, hi] from the
-     * subtree rooted at x.
+     * Returns all keys in the given range [lo, hi] in descending order,
+     * produced lazily like {@link #keys(Comparable, Comparable)}.
      *
-     * @param x The root of the subtree
-     * @param queue The collection to store the keys
      * @param lo The lower bound key
      * @param hi The upper bound key
+     * @return An iterable collection of keys in the specified range, largest
+     * first
      */
-    private void keys(Node x, ArrayList<Key> queue, Key lo, Key hi) {
-        if (x == null) {
-            return;
-        }
-        int cmplo = lo.compareTo(x.key);
-        int cmphi = hi.compareTo(x.key);
-        if (cmplo < 0) {
-            keys(x.leftSubtree, queue, lo, hi);
-        }
-        if (cmplo <= 0 && cmphi >= 0) {
-            queue.add(x.key);
+    public Iterable<Key> descendingKeys(Key lo, Key hi) {
+        if (lo == null) {
+            throw new IllegalArgumentException("first argument to descendingKeys() is null");
         }
-        if (cmphi > 0) {
-            keys(x.rightSubtree, queue, lo, hi);
+        if (hi == null) {
+            throw new IllegalArgumentException("second argument to descendingKeys() is null");
         }
+        return new KeyRange(lo, hi, true);
     }
 
     /**
-     * Returns an iterator over the keys in the binary search tree.
+     * Returns an iterator over the keys in the binary search tree, in
+     * ascending order.
      */
     @Override
     public Iterator<Key> iterator() {
-        return keys().iterator();
+        return new KeyIterator(null, null, false);
+    }
+
+    /**
+     * Returns a spliterator over the keys in ascending order.
+     */
+    @Override
+    public Spliterator<Key> spliterator() {
+        return keys().spliterator();
+    }
+
+    /**
+     * A range of keys [lo, hi] (a null bound is open) that is iterated lazily.
+     */
+    private class KeyRange implements Iterable<Key> {
+
+        private final Key lo;
+        private final Key hi;
+        private final boolean descending;
+
+        KeyRange(Key lo, Key hi, boolean descending) {
+            this.lo = lo;
+            this.hi = hi;
+            this.descending = descending;
+        }
+
+        @Override
+        public Iterator<Key> iterator() {
+            return new KeyIterator(lo, hi, descending);
+        }
+
+        /**
+         * Spliterator sized with rank() (O(height)); SORTED only when
+         * ascending, since descending order is not the natural order.
+         */
+        @Override
+        public Spliterator<Key> spliterator() {
+            int count;
+            if (lo == null || hi == null) {
+                count = size();
+            } else {
+                count = size(lo, hi);
+            }
+            int characteristics = Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL;
+            if (!descending) {
+                characteristics |= Spliterator.SORTED;
+            }
+            return Spliterators.spliterator(iterator(), count, characteristics);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder("[");
+            for (Key key : this) {
+                if (text.length() > 1) {
+                    text.append(", ");
+                }
+                text.append(key);
+            }
+            return text.append("]").toString();
+        }
+    }
+
+    /**
+     * In-order iterator with an explicit stack. The stack holds the nodes on
+     * the path to the next key whose keys are still to be returned; subtrees
+     * entirely outside the range are never pushed.
+     */
+    private class KeyIterator implements Iterator<Key> {
+
+        private final Key lo;
+        private final Key hi;
+        private final boolean descending;
+        private final Stack<Node> stack = new DynamicCapacityStack<>();
+        private final int expectedModificationCount = modificationCount;
+        private Node next;
+
+        KeyIterator(Key lo, Key hi, boolean descending) {
+            this.lo = lo;
+            this.hi = hi;
+            this.descending = descending;
+            pushPath(rootNode);
+            advance();
+        }
+
+        /**
+         * Pushes the nodes from x down towards the first key in iteration
+         * order, skipping nodes before the start of the range.
+         */
+        private void pushPath(Node x) {
+            while (x != null) {
+                if (descending) {
+                    if (hi != null && hi.compareTo(x.key) < 0) {
+                        x = x.leftSubtree;
+                    } else {
+                        stack.push(x);
+                        x = x.rightSubtree;
+                    }
+                } else {
+                    if (lo != null && lo.compareTo(x.key) > 0) {
+                        x = x.rightSubtree;
+                    } else {
+                        stack.push(x);
+                        x = x.leftSubtree;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Pops the next node, or sets next to null once the stack is empty or
+         * the end of the range is passed.
+         */
+        private void advance() {
+            if (stack.isEmpty()) {
+                next = null;
+                return;
+            }
+            Node x = stack.pop();
+            if (descending) {
+                if (lo != null && lo.compareTo(x.key) > 0) {
+                    next = null;
+                    return;
+                }
+                pushPath(x.leftSubtree);
+            } else {
+                if (hi != null && hi.compareTo(x.key) < 0) {
+                    next = null;
+                    return;
+                }
+                pushPath(x.rightSubtree);
+            }
+            next = x;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Key next() {
+            if (modificationCount != expectedModificationCount) {
+                throw new ConcurrentModificationException("Symbol table modified during iteration");
+            }
+            if (next == null) {
+                throw new NoSuchElementException("No more keys in range");
+            }
+            Key key = next.key;
+            advance();
+            return key;
+        }
     }
 
     /**
@@ -636,23 +755,46 @@ public class BinarySearchTree<Key extends Comparable<Key>, Value> implements Sym
     }
 
     /**
-     * Returns the height of the binary search tree.
+     * Returns the height of the binary search tree. The height is cached:
+     * O(1) after insertions, and recomputed once (level by level, O(n)) after
+     * deletions.
      */
     public int height() {
-        return height(rootNode);
+        if (heightStale) {
+            height = computeHeight();
+            heightStale = false;
+        }
+        return height;
     }
 
     /**
-     * Helper method to compute the height of the subtree rooted at x.
+     * Computes the height by a level-order traversal, one level at a time.
      *
-     * @param x The root of the subtree
-     * @return The height of the subtree
-     */
-    private int height(Node x) {
-        if (x == null) {
-            return -1;
+     * @return The height of the tree, -1 if empty
+     */
+    private int computeHeight() {
+        int levels = -1;
+        ArrayList<Node> level = new ArrayList<>();
+        ArrayList<Node> nextLevel = new ArrayList<>();
+        if (rootNode != null) {
+            level.add(rootNode);
+        }
+        while (!level.isEmpty()) {
+            levels++;
+            for (Node x : level) {
+                if (x.leftSubtree != null) {
+                    nextLevel.add(x.leftSubtree);
+                }
+                if (x.rightSubtree != null) {
+                    nextLevel.add(x.rightSubtree);
+                }
+            }
+            ArrayList<Node> swap = level;
+            level = nextLevel;
+            nextLevel = swap;
+            nextLevel.clear();
         }
-        return 1 + Math.max(height(x.leftSubtree), height(x.rightSubtree));
+        return levels;
     }
 
     /**
@@ -690,44 +832,55 @@ public class BinarySearchTree<Key extends Comparable<Key>, Value> implements Sym
         return isBST() && isSizeConsistent() && isRankConsistent();
     }
 
-    private boolean isBST() {
-        return isBST(rootNode, null, null);
-    }
-
     /**
-     * Helper method to check if the subtree rooted at x is a binary search tree
-     * within the given min and max bounds.
+     * Checks that the keys are in symmetric order: an in-order walk must see
+     * strictly increasing keys.
      *
-     * @param x The root of the subtree
-     * @param min The minimum key bound
-     * @param max The maximum key bound
-     * @return true if the subtree is a binary search tree, false otherwise
+     * @return true if the tree is a binary search tree, false otherwise
      */
-    private boolean isBST(Node x, Key min, Key max) {
-        if (x == null) {
-            return true;
-        }
-        if (min != null && x.key.compareTo(min) <= 0) {
-            return false;
-        }
-        if (max != null && x.key.compareTo(max) >= 0) {
-            return false;
+    private boolean isBST() {
+        Stack<Node> stack = new DynamicCapacityStack<>();
+        Key previous = null;
+        Node x = rootNode;
+        while (x != null || !stack.isEmpty()) {
+            while (x != null) {
+                stack.push(x);
+                x = x.leftSubtree;
+            }
+            x = stack.pop();
+            if (previous != null && x.key.compareTo(previous) <= 0) {
+                return false;
+            }
+            previous = x.key;
+            x = x.rightSubtree;
         }
-        return isBST(x.leftSubtree, min, x.key) && isBST(x.rightSubtree, x.key, max);
+        return true;
     }
 
+    /**
+     * Checks the subtree size of every node, visiting the nodes with an
+     * explicit stack.
+     *
+     * @return true if all sizes are consistent, false otherwise
+     */
     private boolean isSizeConsistent() {
-        return isSizeConsistent(rootNode);
-    }
-
-    private boolean isSizeConsistent(Node x) {
-        if (x == null) {
-            return true;
+        Stack<Node> stack = new DynamicCapacityStack<>();
+        if (rootNode != null) {
+            stack.push(rootNode);
         }
-        if (x.size != size(x.leftSubtree) + size(x.rightSubtree) + 1) {
-            return false;
+        while (!stack.isEmpty()) {
+            Node x = stack.pop();
+            if (x.size != size(x.leftSubtree) + size(x.rightSubtree) + 1) {
+                return false;
+            }
+            if (x.leftSubtree != null) {
+                stack.push(x.leftSubtree);
+            }
+            if (x.rightSubtree != null) {
+                stack.push(x.rightSubtree);
+            }
         }
-        return isSizeConsistent(x.leftSubtree) && isSizeConsistent(x.rightSubtree);
+        return true;
     }
 
     /**
@@ -0,0 +1,350 @@
+package search.binary;
+
+import java.util.Date;
+import java.util.Random;
+
+import ds.alg.analysis.Stopwatch;
+import ds.alg.analysis.TimeAnalysis;
+import search.symboltable.SymbolTable;
+
+/**
+ * BinarySearchTreeAnalysis contrasts the unbalanced BinarySearchTree with the
+ * RedBlackBinarySearchTree: the time to put N keys and then get each of them
+ * once, for keys inserted in sorted order (as timestamps or sequential VIN
+ * batches arrive) and in random order, together with the height each tree
+ * ends up with. The unbalanced tree degrades to a linked list on sorted input;
+ * its recursive put used to overflow the call stack there, which is reported
+ * instead of a time.
+ *
+ * The second part compares the iterative BinarySearchTree operations (and its
+ * cached height) with the recursive versions they replaced, kept here as
+ * RecursiveTree.
+ */
+public class BinarySearchTreeAnalysis {
+
+    /**
+     * Generates the keys 0..n-1, either in increasing or in random order.
+     *
+     * @param n Number of keys
+     * @param sorted True for increasing order
+     * @param seed Random seed used when shuffling
+     * @return The keys
+     */
+    public static Integer[] generateKeys(int n, boolean sorted, long seed) {
+        Integer[] keys = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = i;
+        }
+        if (!sorted) {
+            Random random = new Random(seed);
+            for (int i = n - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                Integer swap = keys[i];
+                keys[i] = keys[j];
+                keys[j] = swap;
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * The recursive get, put, floor, rank, select and height of
+     * BinarySearchTree before they were made iterative, as a baseline.
+     */
+    private static class RecursiveTree<Key extends Comparable<Key>, Value> {
+
+        private class Node {
+
+            private final Key key;
+            private Value value;
+            private Node leftSubtree;
+            private Node rightSubtree;
+            private int size = 1;
+
+            Node(Key key, Value value) {
+                this.key = key;
+                this.value = value;
+            }
+        }
+
+        private Node rootNode;
+
+        private int size(Node x) {
+            return (x == null) ? 0 : x.size;
+        }
+
+        Value get(Key key) {
+            return get(rootNode, key);
+        }
+
+        private Value get(Node x, Key key) {
+            if (x == null) {
+                return null;
+            }
+            int cmp = key.compareTo(x.key);
+            if (cmp < 0) {
+                return get(x.leftSubtree, key);
+            } else if (cmp > 0) {
+                return get(x.rightSubtree, key);
+            }
+            return x.value;
+        }
+
+        void put(Key key, Value value) {
+            rootNode = put(rootNode, key, value);
+        }
+
+        private Node put(Node x, Key key, Value value) {
+            if (x == null) {
+                return new Node(key, value);
+            }
+            int cmp = key.compareTo(x.key);
+            if (cmp < 0) {
+                x.leftSubtree = put(x.leftSubtree, key, value);
+            } else if (cmp > 0) {
+                x.rightSubtree = put(x.rightSubtree, key, value);
+            } else {
+                x.value = value;
+            }
+            x.size = 1 + size(x.leftSubtree) + size(x.rightSubtree);
+            return x;
+        }
+
+        Key floor(Key key) {
+            Node x = floor(rootNode, key);
+            return (x == null) ? null : x.key;
+        }
+
+        private Node floor(Node x, Key key) {
+            if (x == null) {
+                return null;
+            }
+            int cmp = key.compareTo(x.key);
+            if (cmp == 0) {
+                return x;
+            }
+            if (cmp < 0) {
+                return floor(x.leftSubtree, key);
+            }
+            Node t = floor(x.rightSubtree, key);
+            return (t != null) ? t : x;
+        }
+
+        int rank(Key key) {
+            return rank(key, rootNode);
+        }
+
+        private int rank(Key key, Node x) {
+            if (x == null) {
+                return 0;
+            }
+            int cmp = key.compareTo(x.key);
+            if (cmp < 0) {
+                return rank(key, x.leftSubtree);
+            } else if (cmp > 0) {
+                return 1 + size(x.leftSubtree) + rank(key, x.rightSubtree);
+            }
+            return size(x.leftSubtree);
+        }
+
+        Key select(int rank) {
+            return select(rootNode, rank);
+        }
+
+        private Key select(Node x, int rank) {
+            if (x == null) {
+                return null;
+            }
+            int leftSize = size(x.leftSubtree);
+            if (leftSize > rank) {
+                return select(x.leftSubtree, rank);
+            } else if (leftSize < rank) {
+                return select(x.rightSubtree, rank - leftSize - 1);
+            }
+            return x.key;
+        }
+
+        int height() {
+            return height(rootNode);
+        }
+
+        private int height(Node x) {
+            if (x == null) {
+                return -1;
+            }
+            return 1 + Math.max(height(x.leftSubtree), height(x.rightSubtree));
+        }
+    }
+
+    private static final String[] OPERATIONS = {"put", "get", "floor", "rank", "select", "height"};
+    private static long checksum;   // Keeps the timed loops from being optimized away
+
+    /**
+     * Times one operation, applied once per key (height: once per 100 keys),
+     * on a tree holding the keys; put times building that tree.
+     */
+    public static TimeAnalysis meanTimeOperation(String name, int numberOfExecutions, Integer[] keys,
+            String operation, boolean recursive) {
+        Stopwatch watch = new Stopwatch();
+        TimeAnalysis ta = new TimeAnalysis(name, numberOfExecutions);
+        for (int trial = 0; trial < numberOfExecutions; trial++) {
+            RecursiveTree<Integer, Integer> baseline = new RecursiveTree<>();
+            BinarySearchTree<Integer, Integer> tree = new BinarySearchTree<>();
+            boolean timePut = operation.equals("put");
+            if (timePut) {
+                watch.startWatch();
+            }
+            for (Integer key : keys) {
+                if (recursive) {
+                    baseline.put(key, key);
+                } else {
+                    tree.put(key, key);
+                }
+            }
+            if (!timePut) {
+                watch.startWatch();
+            }
+            // tested code - start
+            for (int i = 0; i < keys.length; i++) {
+                Integer key = keys[i];
+                switch (operation) {
+                    case "get":
+                        checksum += recursive ? baseline.get(key) : tree.get(key);
+                        break;
+                    case "floor":
+                        checksum += recursive ? baseline.floor(key) : tree.floor(key);
+                        break;
+                    case "rank":
+                        checksum += recursive ? baseline.rank(key) : tree.rank(key);
+                        break;
+                    case "select":
+                        checksum += recursive ? baseline.select(i) : tree.select(i);
+                        break;
+                    case "height":
+                        if (i % 100 == 0) {
+                            checksum += recursive ? baseline.height() : tree.height();
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+            // tested code - end
+            long time = watch.elapsedTime();
+            ta.add(time);
+        }
+        return ta;
+    }
+
+    public static void printIterativeComparisonTable(int numberOfExecutions, int numberOfKeys, boolean sorted) {
+        Integer[] keys = generateKeys(numberOfKeys, sorted, 42L);
+        System.out.println("Mean execution time table (ms): iterative vs recursive BinarySearchTree");
+        System.out.println("  - Method: N = " + numberOfKeys + " " + (sorted ? "sorted" : "random")
+                + " Integer keys; each operation once per key (height once per 100 keys)");
+        System.out.println("  - Sample size for time estimation: " + numberOfExecutions);
+        System.out.println("|-----------|-----------|--------|------|------|------------------|");
+        System.out.println("| Operation |      Impl |   Mean |  Min |  Max |         CI 99.9% |");
+        System.out.println("|-----------|-----------|--------|------|------|------------------|");
+        for (String operation : OPERATIONS) {
+            for (boolean recursive : new boolean[]{true, false}) {
+                String impl = recursive ? "recursive" : "iterative";
+                TimeAnalysis ta = meanTimeOperation(operation + " " + impl, numberOfExecutions, keys, operation,
+                        recursive);
+                System.out.printf("| %9s | %9s | %6.1f | %4d | %4d | (%6.1f, %6.1f) |\n", operation, impl,
+                        ta.getMeanTime(), ta.getMinTime(), ta.getMaxTime(), ta.getMinMean999Confidence(),
+                        ta.getMaxMean999Confidence());
+            }
+        }
+        System.out.println("|-----------|-----------|--------|------|------|------------------|");
+    }
+
+    private static SymbolTable<Integer, Integer> newTree(boolean redBlack) {
+        if (redBlack) {
+            return new RedBlackBinarySearchTree<>();
+        }
+        return new BinarySearchTree<>();
+    }
+
+    private static int height(SymbolTable<Integer, Integer> tree) {
+        if (tree instanceof RedBlackBinarySearchTree) {
+            return ((RedBlackBinarySearchTree<Integer, Integer>) tree).height();
+        }
+        return ((BinarySearchTree<Integer, Integer>) tree).height();
+    }
+
+    public static TimeAnalysis meanTime(String name, int numberOfExecutions, int numberOfKeys, boolean sorted,
+            boolean redBlack, int[] height) {
+        Stopwatch watch = new Stopwatch();
+        TimeAnalysis ta = new TimeAnalysis(name, numberOfExecutions);
+        for (int trial = 0; trial < numberOfExecutions; trial++) {
+            Integer[] keys = generateKeys(numberOfKeys, sorted, trial);
+            SymbolTable<Integer, Integer> tree = newTree(redBlack);
+            watch.startWatch();
+            // tested code - start
+            for (Integer key : keys) {
+                tree.put(key, key);
+            }
+            for (Integer key : keys) {
+                tree.get(key);
+            }
+            // tested code - end
+            long time = watch.elapsedTime();
+            ta.add(time);
+            height[0] = height(tree);
+        }
+        return ta;
+    }
+
+    public static void printMeanExecutionTimeGrowthTable(int numberOfExecutions, int minKeys, int keyIncrement,
+            int maxKeys, boolean sorted) {
+        System.out.println("Mean execution time growth table (ms)");
+        System.out.println("  - Method: put N " + (sorted ? "sorted" : "random") + " Integer keys, then get each once");
+        System.out.println("  - Sample size for time estimation: " + numberOfExecutions);
+        System.out.println("|-----------|-----------|--------|------|------|------------------|--------|");
+        System.out.println("|      Tree |         N |   Mean |  Min |  Max |         CI 99.9% | Height |");
+        System.out.println("|-----------|-----------|--------|------|------|------------------|--------|");
+        for (int n = minKeys; n <= maxKeys; n += keyIncrement) {
+            printRow("BST", numberOfExecutions, n, sorted, false);
+            printRow("Red-black", numberOfExecutions, n, sorted, true);
+        }
+        System.out.println("|-----------|-----------|--------|------|------|------------------|--------|");
+    }
+
+    private static void printRow(String tree, int numberOfExecutions, int n, boolean sorted, boolean redBlack) {
+        int[] height = new int[1];
+        try {
+            TimeAnalysis ta = meanTime(tree + " " + n, numberOfExecutions, n, sorted, redBlack, height);
+            System.out.printf("| %9s | %9d | %6.1f | %4d | %4d | (%6.1f, %6.1f) | %6d |\n", tree, n, ta.getMeanTime(),
+                    ta.getMinTime(), ta.getMaxTime(), ta.getMinMean999Confidence(), ta.getMaxMean999Confidence(),
+                    height[0]);
+        } catch (StackOverflowError e) {
+            System.out.printf("| %9s | %9d | %42s | %6s |\n", tree, n, "StackOverflowError", "-");
+        }
+    }
+
+    public static void main(String[] args) {
+        String assignment = "Binary Search Tree vs Red-Black Tree Analysis\n";
+        Date date = new Date();
+        String ran = "Date: " + date.toString();
+        String author = "Author: Cullen Kelley";
+        System.out.println(assignment + ran + "\n" + author + "\n");
+
+        System.out.println("=== RUN 1: Sorted keys (1,000-10,000) ===");
+        printMeanExecutionTimeGrowthTable(10, 1000, 3000, 10000, true);
+        System.out.println();
+        System.out.println("=== RUN 2: Random keys (1,000-10,000) ===");
+        printMeanExecutionTimeGrowthTable(10, 1000, 3000, 10000, false);
+        System.out.println();
+        System.out.println("=== RUN 3: Sorted keys (10,000-40,000) ===");
+        printMeanExecutionTimeGrowthTable(3, 10000, 10000, 40000, true);
+        System.out.println();
+        System.out.println("=== RUN 4: Random keys (100,000-400,000) ===");
+        printMeanExecutionTimeGrowthTable(10, 100000, 100000, 400000, false);
+        System.out.println();
+        System.out.println("=== RUN 5: Iterative vs recursive, random keys ===");
+        printIterativeComparisonTable(10, 200000, false);
+        System.out.println();
+        System.out.println("=== RUN 6: Iterative vs recursive, sorted keys (degenerate tree) ===");
+        printIterativeComparisonTable(5, 5000, true);
+    }
+}
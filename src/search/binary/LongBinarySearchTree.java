@@ -0,0 +1,223 @@
+package search.binary;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Implementation of an ordered symbol table specialized for long keys. It has
+ * the ordered API of {@link BinarySearchTree}, balanced as a left-leaning
+ * red-black tree (see {@link ArrayRedBlackTree}), so every operation takes
+ * O(log n) even for keys inserted in sorted order. The nodes are not objects:
+ * a node is an index into parallel arrays, the keys are kept in a long[], so
+ * keys are never boxed, comparisons are primitive, and a node takes about 25
+ * bytes (plus its value) instead of a Node object, a Long and their headers.
+ *
+ * @param <Value> The generic type for the values
+ */
+public class LongBinarySearchTree<Value> extends ArrayRedBlackTree<Value> {
+
+    private long[] keys;
+
+    /**
+     * Constructor for creating an empty tree.
+     */
+    public LongBinarySearchTree() {
+        this(16);
+    }
+
+    /**
+     * Constructor for creating an empty tree with room for a number of keys
+     * before the arrays grow.
+     *
+     * @param initialCapacity Expected number of keys
+     */
+    public LongBinarySearchTree(int initialCapacity) {
+        super(initialCapacity);
+        keys = new long[initialCapacity];
+    }
+
+    @Override
+    long keyAt(int x) {
+        return keys[x];
+    }
+
+    @Override
+    void setKey(int x, long key) {
+        keys[x] = key;
+    }
+
+    @Override
+    void growKeys(int capacity) {
+        keys = Arrays.copyOf(keys, capacity);
+    }
+
+    @Override
+    int keyBytes() {
+        return Long.BYTES;
+    }
+
+    /**
+     * Checks if the tree contains the given key.
+     */
+    public boolean contains(long key) {
+        return find(key) != NIL;
+    }
+
+    /**
+     * Retrieves the value associated with the given key.
+     *
+     * @return The value, or null if the key is not in the tree
+     */
+    public Value get(long key) {
+        return valueAt(find(key));
+    }
+
+    /**
+     * Inserts a key-value pair into the tree. If the value is null, removes
+     * the key from the tree.
+     */
+    public void put(long key, Value value) {
+        putKey(key, value);
+    }
+
+    /**
+     * Deletes the key (and its associated value) from the tree.
+     */
+    public void delete(long key) {
+        deleteKey(key);
+    }
+
+    /**
+     * Returns the minimum key.
+     */
+    public long min() {
+        return keys[minNode()];
+    }
+
+    /**
+     * Returns the maximum key.
+     */
+    public long max() {
+        return keys[maxNode()];
+    }
+
+    /**
+     * Returns the largest key less than or equal to the given key.
+     */
+    public long floor(long key) {
+        return keys[floorNode(key)];
+    }
+
+    /**
+     * Returns the smallest key greater than or equal to the given key.
+     */
+    public long ceiling(long key) {
+        return keys[ceilingNode(key)];
+    }
+
+    /**
+     * Returns the key of rank rank.
+     */
+    public long select(int rank) {
+        return keys[selectNode(rank)];
+    }
+
+    /**
+     * Returns the number of keys less than the given key.
+     */
+    public int rank(long key) {
+        return rankOf(key);
+    }
+
+    /**
+     * Returns the number of keys in the range [lo, hi].
+     */
+    public int size(long lo, long hi) {
+        return rangeSize(lo, hi);
+    }
+
+    /**
+     * Returns all keys in ascending order, produced lazily.
+     *
+     * @return A sorted stream of the keys
+     */
+    public LongStream keys() {
+        if (isEmpty()) {
+            return LongStream.empty();
+        }
+        return keys(Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Returns all keys in the given range [lo, hi] in ascending order. Like
+     * BinarySearchTree.keys(lo, hi), the keys are produced lazily by an
+     * in-order walk with an explicit stack, so taking the first k keys costs
+     * O(log n + k). The stream fails with ConcurrentModificationException if
+     * keys are inserted or deleted while it is consumed.
+     *
+     * @param lo The lower bound key
+     * @param hi The upper bound key
+     * @return A sorted, sized stream of the keys in the range
+     */
+    public LongStream keys(long lo, long hi) {
+        return stream(lo, hi, false);
+    }
+
+    /**
+     * Returns all keys in the given range [lo, hi] in descending order,
+     * produced lazily.
+     *
+     * @param lo The lower bound key
+     * @param hi The upper bound key
+     * @return A sized stream of the keys in the range, largest first
+     */
+    public LongStream descendingKeys(long lo, long hi) {
+        return stream(lo, hi, true);
+    }
+
+    private LongStream stream(long lo, long hi, boolean descending) {
+        int characteristics = Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL;
+        if (!descending) {
+            characteristics |= Spliterator.SORTED;
+        }
+        return StreamSupport.longStream(Spliterators.spliterator(new KeyIterator(lo, hi, descending),
+                size(lo, hi), characteristics), false);
+    }
+
+    private class KeyIterator implements PrimitiveIterator.OfLong {
+
+        private final NodeIterator nodes;
+
+        KeyIterator(long lo, long hi, boolean descending) {
+            nodes = new NodeIterator(lo, hi, descending);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nodes.hasNext();
+        }
+
+        @Override
+        public long nextLong() {
+            return keys[nodes.nextNode()];
+        }
+    }
+
+    /**
+     * Returns the keys in level-order traversal.
+     *
+     * @return The keys in level-order
+     */
+    public long[] levelOrder() {
+        int[] nodes = levelOrderNodes();
+        long[] order = new long[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            order[i] = keys[nodes[i]];
+        }
+        return order;
+    }
+}
@@ -0,0 +1,823 @@
+package search.binary;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import search.symboltable.SymbolTable;
+
+/**
+ * Implementation of a left-leaning red-black binary search tree for symbol
+ * ordering. It has the same ordered API as {@link BinarySearchTree}, but every
+ * insertion and deletion rebalances the tree (rotations and color flips, so
+ * that each node corresponds to a 2-3 tree node), which keeps the height at
+ * most 2 lg n. All operations, including floor, ceiling, select, rank and
+ * range queries, are therefore O(log n) even when the keys arrive in sorted
+ * order, and the recursion depth stays logarithmic.
+ *
+ * @param <Key> The generic type for the keys, must implement Comparable
+ * @param <Value> The generic type for the values
+ */
+public class RedBlackBinarySearchTree<Key extends Comparable<Key>, Value> implements SymbolTable<Key, Value> {
+
+    private static final boolean RED = true;
+    private static final boolean BLACK = false;
+
+    /**
+     * Inner class that represents a node in the red-black tree.
+     */
+    private class Node {
+
+        /**
+         * The key for the node, must be not null
+         */
+        private final Key key;
+        /**
+         * The value associated with the key, must be not null
+         */
+        private Value value;
+
+        private Node leftSubtree;
+        private Node rightSubtree;
+
+        /**
+         * Color of the link from the parent to this node
+         */
+        private boolean color;
+
+        /**
+         * Size of the subtree rooted at this node
+         */
+        private int size;
+
+        /**
+         * Constructor for creating a new node in the red-black tree.
+         *
+         * @param key - The key for the node
+         * @param value - The associated value
+         * @param color - The color of the parent link
+         */
+        public Node(Key key, Value value, boolean color) {
+            this.key = key;
+            this.value = value;
+            this.color = color;
+            this.size = 1;
+        }
+    }
+
+    private Node rootNode;
+
+    /**
+     * Constructor for creating an empty red-black tree.
+     */
+    public RedBlackBinarySearchTree() {
+        rootNode = null;
+    }
+
+    /**
+     * Returns true if the link to the node is red (null links are black).
+     */
+    private boolean isRed(Node x) {
+        if (x == null) {
+            return false;
+        }
+        return x.color == RED;
+    }
+
+    /**
+     * Returns the size of the subtree rooted at the given node.
+     */
+    private int size(Node subtree) {
+        if (subtree == null) {
+            return 0;
+        }
+        return subtree.size;
+    }
+
+    /**
+     * Returns the size of the red-black tree.
+     */
+    @Override
+    public int size() {
+        return size(rootNode);
+    }
+
+    /**
+     * Returns true if the red-black tree is empty, false otherwise.
+     */
+    @Override
+    public boolean isEmpty() {
+        return rootNode == null;
+    }
+
+    /**
+     * Retrieves the value associated with the given key. The search is the
+     * same as in an unbalanced tree (colors are ignored) and is done in a loop.
+     */
+    @Override
+    public Value get(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Keys are not allowed to be null.");
+        }
+        Node x = rootNode;
+        while (x != null) {
+            int cmp = key.compareTo(x.key);
+            if (cmp < 0) {
+                x = x.leftSubtree;
+            } else if (cmp > 0) {
+                x = x.rightSubtree;
+            } else {
+                return x.value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks if the red-black tree contains the given key.
+     */
+    @Override
+    public boolean contains(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Keys are not allowed to be null.");
+        }
+        return get(key) != null;
+    }
+
+    /**
+     * Inserts a key-value pair into the red-black tree. If the value is null,
+     * removes the key from the tree.
+     */
+    @Override
+    public void put(Key key, Value value) {
+        if (key == null) {
+            throw new IllegalArgumentException("Keys are not allowed to be null.");
+        }
+        if (value == null) {
+            delete(key);
+            return;
+        }
+        rootNode = put(rootNode, key, value);
+        rootNode.color = BLACK;
+    }
+
+    /**
+     * Helper method to insert a key-value pair into the subtree rooted at h.
+     * The new node is attached with a red link, then the tree is repaired on
+     * the way back up.
+     *
+     * @param h The root of the subtree
+     * @param key The key to insert
+     * @param value The value associated with the key
+     * @return The updated subtree root
+     */
+    private Node put(Node h, Key key, Value value) {
+        if (h == null) {
+            return new Node(key, value, RED);
+        }
+        int cmp = key.compareTo(h.key);
+        if (cmp < 0) {
+            h.leftSubtree = put(h.leftSubtree, key, value);
+        } else if (cmp > 0) {
+            h.rightSubtree = put(h.rightSubtree, key, value);
+        } else {
+            h.value = value;
+        }
+
+        // fix-up any right-leaning links
+        if (isRed(h.rightSubtree) && !isRed(h.leftSubtree)) {
+            h = rotateLeft(h);
+        }
+        if (isRed(h.leftSubtree) && isRed(h.leftSubtree.leftSubtree)) {
+            h = rotateRight(h);
+        }
+        if (isRed(h.leftSubtree) && isRed(h.rightSubtree)) {
+            flipColors(h);
+        }
+        h.size = size(h.leftSubtree) + size(h.rightSubtree) + 1;
+        return h;
+    }
+
+    /**
+     * Deletes the minimum key in the red-black tree. If the tree is empty,
+     * throw an exception.
+     */
+    public void deleteMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Symbol table is empty - no minimum element");
+        }
+        // if both children of root are black, set root to red
+        if (!isRed(rootNode.leftSubtree) && !isRed(rootNode.rightSubtree)) {
+            rootNode.color = RED;
+        }
+        rootNode = deleteMin(rootNode);
+        if (!isEmpty()) {
+            rootNode.color = BLACK;
+        }
+        assert check();
+    }
+
+    /**
+     * Deletes the minimum key in the subtree rooted at h.
+     */
+    private Node deleteMin(Node h) {
+        if (h.leftSubtree == null) {
+            return null;
+        }
+        if (!isRed(h.leftSubtree) && !isRed(h.leftSubtree.leftSubtree)) {
+            h = moveRedLeft(h);
+        }
+        h.leftSubtree = deleteMin(h.leftSubtree);
+        return balance(h);
+    }
+
+    /**
+     * Deletes the maximum key in the red-black tree. If the tree is empty,
+     * throw an exception.
+     */
+    public void deleteMax() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Symbol table underflow");
+        }
+        // if both children of root are black, set root to red
+        if (!isRed(rootNode.leftSubtree) && !isRed(rootNode.rightSubtree)) {
+            rootNode.color = RED;
+        }
+        rootNode = deleteMax(rootNode);
+        if (!isEmpty()) {
+            rootNode.color = BLACK;
+        }
+        assert check();
+    }
+
+    /**
+     * Deletes the maximum key in the subtree rooted at h.
+     */
+    private Node deleteMax(Node h) {
+        if (isRed(h.leftSubtree)) {
+            h = rotateRight(h);
+        }
+        if (h.rightSubtree == null) {
+            return null;
+        }
+        if (!isRed(h.rightSubtree) && !isRed(h.rightSubtree.leftSubtree)) {
+            h = moveRedRight(h);
+        }
+        h.rightSubtree = deleteMax(h.rightSubtree);
+        return balance(h);
+    }
+
+    /**
+     * Deletes the key (and its associated value) from the red-black tree.
+     */
+    @Override
+    public void delete(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("calls delete() with a null key");
+        }
+        if (!contains(key)) {
+            return;
+        }
+        // if both children of root are black, set root to red
+        if (!isRed(rootNode.leftSubtree) && !isRed(rootNode.rightSubtree)) {
+            rootNode.color = RED;
+        }
+        rootNode = delete(rootNode, key);
+        if (!isEmpty()) {
+            rootNode.color = BLACK;
+        }
+        assert check();
+    }
+
+    /**
+     * Helper method to delete a key from the subtree rooted at h. The key must
+     * be in the subtree.
+     *
+     * @param h The root of the subtree
+     * @param key The key to delete
+     * @return The updated subtree root
+     */
+    private Node delete(Node h, Key key) {
+        if (key.compareTo(h.key) < 0) {
+            if (!isRed(h.leftSubtree) && !isRed(h.leftSubtree.leftSubtree)) {
+                h = moveRedLeft(h);
+            }
+            h.leftSubtree = delete(h.leftSubtree, key);
+        } else {
+            if (isRed(h.leftSubtree)) {
+                h = rotateRight(h);
+            }
+            if (key.compareTo(h.key) == 0 && (h.rightSubtree == null)) {
+                return null;
+            }
+            if (!isRed(h.rightSubtree) && !isRed(h.rightSubtree.leftSubtree)) {
+                h = moveRedRight(h);
+            }
+            if (key.compareTo(h.key) == 0) {
+                // replace h by its successor, then delete the successor
+                Node successor = min(h.rightSubtree);
+                Node replacement = new Node(successor.key, successor.value, h.color);
+                replacement.leftSubtree = h.leftSubtree;
+                replacement.rightSubtree = deleteMin(h.rightSubtree);
+                h = replacement;
+            } else {
+                h.rightSubtree = delete(h.rightSubtree, key);
+            }
+        }
+        return balance(h);
+    }
+
+    /**
+     * Makes a left-leaning link lean to the right.
+     */
+    private Node rotateRight(Node h) {
+        Node x = h.leftSubtree;
+        h.leftSubtree = x.rightSubtree;
+        x.rightSubtree = h;
+        x.color = h.color;
+        h.color = RED;
+        x.size = h.size;
+        h.size = size(h.leftSubtree) + size(h.rightSubtree) + 1;
+        return x;
+    }
+
+    /**
+     * Makes a right-leaning link lean to the left.
+     */
+    private Node rotateLeft(Node h) {
+        Node x = h.rightSubtree;
+        h.rightSubtree = x.leftSubtree;
+        x.leftSubtree = h;
+        x.color = h.color;
+        h.color = RED;
+        x.size = h.size;
+        h.size = size(h.leftSubtree) + size(h.rightSubtree) + 1;
+        return x;
+    }
+
+    /**
+     * Flips the colors of a node and its two children.
+     */
+    private void flipColors(Node h) {
+        h.color = !h.color;
+        h.leftSubtree.color = !h.leftSubtree.color;
+        h.rightSubtree.color = !h.rightSubtree.color;
+    }
+
+    /**
+     * Assuming that h is red and both h.left and h.left.left are black, make
+     * h.left or one of its children red.
+     */
+    private Node moveRedLeft(Node h) {
+        flipColors(h);
+        if (isRed(h.rightSubtree.leftSubtree)) {
+            h.rightSubtree = rotateRight(h.rightSubtree);
+            h = rotateLeft(h);
+            flipColors(h);
+        }
+        return h;
+    }
+
+    /**
+     * Assuming that h is red and both h.right and h.right.left are black, make
+     * h.right or one of its children red.
+     */
+    private Node moveRedRight(Node h) {
+        flipColors(h);
+        if (isRed(h.leftSubtree.leftSubtree)) {
+            h = rotateRight(h);
+            flipColors(h);
+        }
+        return h;
+    }
+
+    /**
+     * Restores the red-black invariants of the subtree rooted at h.
+     */
+    private Node balance(Node h) {
+        if (isRed(h.rightSubtree) && !isRed(h.leftSubtree)) {
+            h = rotateLeft(h);
+        }
+        if (isRed(h.leftSubtree) && isRed(h.leftSubtree.leftSubtree)) {
+            h = rotateRight(h);
+        }
+        if (isRed(h.leftSubtree) && isRed(h.rightSubtree)) {
+            flipColors(h);
+        }
+        h.size = size(h.leftSubtree) + size(h.rightSubtree) + 1;
+        return h;
+    }
+
+    /**
+     * Returns the minimum key in the red-black tree.
+     */
+    public Key min() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("calls min() with empty symbol table");
+        }
+        return min(rootNode).key;
+    }
+
+    /**
+     * Helper method to find the node with the minimum key in the subtree rooted
+     * at x.
+     */
+    private Node min(Node x) {
+        while (x.leftSubtree != null) {
+            x = x.leftSubtree;
+        }
+        return x;
+    }
+
+    /**
+     * Returns the maximum key in the red-black tree.
+     */
+    public Key max() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("calls max() with empty symbol table");
+        }
+        Node x = rootNode;
+        while (x.rightSubtree != null) {
+            x = x.rightSubtree;
+        }
+        return x.key;
+    }
+
+    /**
+     * Returns the largest key less than or equal to the given key.
+     */
+    public Key floor(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to floor() is null");
+        }
+        if (isEmpty()) {
+            throw new NoSuchElementException("calls floor() with empty symbol table");
+        }
+        Node best = null;
+        Node x = rootNode;
+        while (x != null) {
+            int cmp = key.compareTo(x.key);
+            if (cmp == 0) {
+                return x.key;
+            }
+            if (cmp < 0) {
+                x = x.leftSubtree;
+            } else {
+                best = x;
+                x = x.rightSubtree;
+            }
+        }
+        if (best == null) {
+            throw new NoSuchElementException("argument to floor() is too small");
+        }
+        return best.key;
+    }
+
+    /**
+     * Returns the smallest key greater than or equal to the given key.
+     */
+    public Key ceiling(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to ceiling() is null");
+        }
+        if (isEmpty()) {
+            throw new NoSuchElementException("calls ceiling() with empty symbol table");
+        }
+        Node best = null;
+        Node x = rootNode;
+        while (x != null) {
+            int cmp = key.compareTo(x.key);
+            if (cmp == 0) {
+                return x.key;
+            }
+            if (cmp > 0) {
+                x = x.rightSubtree;
+            } else {
+                best = x;
+                x = x.leftSubtree;
+            }
+        }
+        if (best == null) {
+            throw new NoSuchElementException("argument to ceiling() is too large");
+        }
+        return best.key;
+    }
+
+    /**
+     * Returns the key of rank rank.
+     */
+    public Key select(int rank) {
+        if (rank < 0 || rank >= size()) {
+            throw new IllegalArgumentException("argument to select() is invalid: " + rank);
+        }
+        Node x = rootNode;
+        while (true) {
+            int leftSize = size(x.leftSubtree);
+            if (leftSize > rank) {
+                x = x.leftSubtree;
+            } else if (leftSize < rank) {
+                rank -= leftSize + 1;
+                x = x.rightSubtree;
+            } else {
+                return x.key;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of keys less than the given key.
+     */
+    public int rank(Key key) {
+        if (key == null) {
+            throw new IllegalArgumentException("argument to rank() is null");
+        }
+        int rank = 0;
+        Node x = rootNode;
+        while (x != null) {
+            int cmp = key.compareTo(x.key);
+            if (cmp < 0) {
+                x = x.leftSubtree;
+            } else if (cmp > 0) {
+                rank += 1 + size(x.leftSubtree);
+                x = x.rightSubtree;
+            } else {
+                return rank + size(x.leftSubtree);
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Returns a string representation of the red-black tree.
+     */
+    private String toString(Node x) {
+        if (x == null) {
+            return "";
+        }
+        return "(" + toString(x.leftSubtree) + ") " + x.key.toString() + "=" + x.value.toString() + " (" + toString(x.rightSubtree) + ")";
+    }
+
+    /**
+     * Returns a string representation of the red-black tree.
+     */
+    @Override
+    public String toString() {
+        return toString(rootNode);
+    }
+
+    /**
+     * Helper method to create a string representation of the red-black tree in
+     * a hierarchical format. Nodes reached by a red link are marked with *.
+     */
+    private String toStringHT(String prefix, String left, String val, String right, Node x) {
+        if (x == null) {
+            return "";
+        }
+        String result = "";
+        result += toStringHT(prefix + right + " ", "| ", "+- ", "  ", x.rightSubtree);
+        result += prefix + val + (isRed(x) ? "*" : "") + x.key + "(" + x.value + ")\n";
+        result += toStringHT(prefix + left + " ", "  ", "+- ", "| ", x.leftSubtree);
+        return result;
+    }
+
+    /**
+     * Returns a string representation of the red-black tree.
+     */
+    public String toStringHT() {
+        return toStringHT("", "", "", "", rootNode);
+    }
+
+    /**
+     * Returns an iterable collection of all keys in the symbol table.
+     *
+     * @return an iterable collection of keys
+     */
+    @Override
+    public Iterable<Key> keys() {
+        if (isEmpty()) {
+            return new ArrayList<>();
+        }
+        return keys(min(), max());
+    }
+
+    /**
+     * Returns all keys in the given range [lo, hi].
+     *
+     * @param lo The lower bound key
+     * @param hi The upper bound key
+     * @return An iterable collection of keys in the specified range
+     */
+    public Iterable<Key> keys(Key lo, Key hi) {
+        if (lo == null) {
+            throw new IllegalArgumentException("first argument to keys() is null");
+        }
+        if (hi == null) {
+            throw new IllegalArgumentException("second argument to keys() is null");
+        }
+        ArrayList<Key> queue = new ArrayList<>();
+        keys(rootNode, queue, lo, hi);
+        return queue;
+    }
+
+    /**
+     * Helper method to collect keys in the given range [lo, hi] from the
+     * subtree rooted at x.
+     */
+    private void keys(Node x, ArrayList<Key> queue, Key lo, Key hi) {
+        if (x == null) {
+            return;
+        }
+        int cmplo = lo.compareTo(x.key);
+        int cmphi = hi.compareTo(x.key);
+        if (cmplo < 0) {
+            keys(x.leftSubtree, queue, lo, hi);
+        }
+        if (cmplo <= 0 && cmphi >= 0) {
+            queue.add(x.key);
+        }
+        if (cmphi > 0) {
+            keys(x.rightSubtree, queue, lo, hi);
+        }
+    }
+
+    /**
+     * Returns an iterator over the keys in the red-black tree.
+     */
+    @Override
+    public Iterator<Key> iterator() {
+        return keys().iterator();
+    }
+
+    /**
+     * Returns the number of keys in the range [lo, hi].
+     *
+     * @param lo The lower bound key
+     * @param hi The upper bound key
+     * @return The number of keys in the specified range
+     */
+    public int size(Key lo, Key hi) {
+        if (lo == null) {
+            throw new IllegalArgumentException("first argument to size() is null");
+        }
+        if (hi == null) {
+            throw new IllegalArgumentException("second argument to size() is null");
+        }
+        if (lo.compareTo(hi) > 0) {
+            return 0;
+        }
+        if (contains(hi)) {
+            return rank(hi) - rank(lo) + 1;
+        } else {
+            return rank(hi) - rank(lo);
+        }
+    }
+
+    /**
+     * Returns the height of the red-black tree (at most 2 lg n).
+     */
+    public int height() {
+        return height(rootNode);
+    }
+
+    /**
+     * Helper method to compute the height of the subtree rooted at x.
+     */
+    private int height(Node x) {
+        if (x == null) {
+            return -1;
+        }
+        return 1 + Math.max(height(x.leftSubtree), height(x.rightSubtree));
+    }
+
+    /**
+     * Returns the keys in level-order traversal.
+     *
+     * @return An iterable collection of keys in level-order
+     */
+    public Iterable<Key> levelOrder() {
+        ArrayList<Key> keys = new ArrayList<>();
+        ArrayList<Node> queue = new ArrayList<>();
+        queue.add(rootNode);
+        for (int head = 0; head < queue.size(); head++) {
+            Node x = queue.get(head);
+            if (x == null) {
+                continue;
+            }
+            keys.add(x.key);
+            queue.add(x.leftSubtree);
+            queue.add(x.rightSubtree);
+        }
+        return keys;
+    }
+
+// sanity check
+    private boolean check() {
+        if (!isBST()) {
+            System.out.println("Not in symmetric order");
+        }
+        if (!isSizeConsistent()) {
+            System.out.println("Subtree counts not consistent");
+        }
+        if (!isRankConsistent()) {
+            System.out.println("Ranks not consistent");
+        }
+        if (!is23()) {
+            System.out.println("Not a 2-3 tree");
+        }
+        if (!isBalanced()) {
+            System.out.println("Not balanced");
+        }
+        return isBST() && isSizeConsistent() && isRankConsistent() && is23() && isBalanced();
+    }
+
+    private boolean isBST() {
+        return isBST(rootNode, null, null);
+    }
+
+    private boolean isBST(Node x, Key min, Key max) {
+        if (x == null) {
+            return true;
+        }
+        if (min != null && x.key.compareTo(min) <= 0) {
+            return false;
+        }
+        if (max != null && x.key.compareTo(max) >= 0) {
+            return false;
+        }
+        return isBST(x.leftSubtree, min, x.key) && isBST(x.rightSubtree, x.key, max);
+    }
+
+    private boolean isSizeConsistent() {
+        return isSizeConsistent(rootNode);
+    }
+
+    private boolean isSizeConsistent(Node x) {
+        if (x == null) {
+            return true;
+        }
+        if (x.size != size(x.leftSubtree) + size(x.rightSubtree) + 1) {
+            return false;
+        }
+        return isSizeConsistent(x.leftSubtree) && isSizeConsistent(x.rightSubtree);
+    }
+
+    private boolean isRankConsistent() {
+        for (int i = 0; i < size(); i++) {
+            if (i != rank(select(i))) {
+                return false;
+            }
+        }
+        for (Key key : keys()) {
+            if (key.compareTo(select(rank(key))) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks that there are no red right links and no two red links in a row.
+     */
+    private boolean is23() {
+        return is23(rootNode);
+    }
+
+    private boolean is23(Node x) {
+        if (x == null) {
+            return true;
+        }
+        if (isRed(x.rightSubtree)) {
+            return false;
+        }
+        if (x != rootNode && isRed(x) && isRed(x.leftSubtree)) {
+            return false;
+        }
+        return is23(x.leftSubtree) && is23(x.rightSubtree);
+    }
+
+    /**
+     * Checks that every path from the root to a null link has the same number
+     * of black links.
+     */
+    private boolean isBalanced() {
+        int black = 0;
+        Node x = rootNode;
+        while (x != null) {
+            if (!isRed(x)) {
+                black++;
+            }
+            x = x.leftSubtree;
+        }
+        return isBalanced(rootNode, black);
+    }
+
+    private boolean isBalanced(Node x, int black) {
+        if (x == null) {
+            return black == 0;
+        }
+        if (!isRed(x)) {
+            black--;
+        }
+        return isBalanced(x.leftSubtree, black) && isBalanced(x.rightSubtree, black);
+    }
+
+}
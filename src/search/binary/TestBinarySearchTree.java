@@ -15,6 +15,15 @@ public class TestBinarySearchTree {
             bst.put(name.substring(i, i + 1).toLowerCase(), i);
         }
         System.out.println(bst.toStringHT());
+
+        // Range iteration is lazy: stop after the first keys without copying the range
+        System.out.println("keys(c, l): " + bst.keys("c", "l"));
+        System.out.println("descendingKeys(c, l): " + bst.descendingKeys("c", "l"));
+        System.out.print("First 3 keys: ");
+        java.util.stream.StreamSupport.stream(bst.keys().spliterator(), false)
+                .limit(3)
+                .forEach(key -> System.out.print("'" + key + "' "));
+        System.out.println();
     }
 
 }
@@ -0,0 +1,107 @@
+package search.binary;
+
+import ds.alg.analysis.Stopwatch;
+import java.util.Random;
+
+public class TestPrimitiveBinarySearchTrees {
+
+    /**
+     * Exercises the ordered API of IntBinarySearchTree on a small tree.
+     */
+    public static void testIntBinarySearchTree() {
+        System.out.println("=== IntBinarySearchTree ===");
+        IntBinarySearchTree<String> tree = new IntBinarySearchTree<>();
+        int[] stationIds = {50, 20, 80, 10, 30, 70, 90, 60};
+        for (int id : stationIds) {
+            tree.put(id, "Station " + id);
+        }
+        System.out.println(tree.toStringHT());
+        System.out.println("size: " + tree.size() + ", min: " + tree.min() + ", max: " + tree.max()
+                + ", height: " + tree.height());
+        System.out.println("get(30): " + tree.get(30) + ", contains(40): " + tree.contains(40));
+        System.out.println("floor(45): " + tree.floor(45) + ", ceiling(45): " + tree.ceiling(45));
+        System.out.println("rank(60): " + tree.rank(60) + ", select(3): " + tree.select(3));
+        System.out.println("keys(25, 75): " + java.util.Arrays.toString(tree.keys(25, 75).toArray())
+                + ", size(25, 75): " + tree.size(25, 75));
+        System.out.println("descendingKeys(25, 75): "
+                + java.util.Arrays.toString(tree.descendingKeys(25, 75).toArray()));
+        tree.deleteMin();
+        tree.deleteMax();
+        tree.delete(50);
+        System.out.println("After deleteMin, deleteMax, delete(50): " + tree);
+        System.out.println("levelOrder: " + java.util.Arrays.toString(tree.levelOrder()));
+        System.out.println();
+    }
+
+    /**
+     * Inserts sequential station IDs (sorted input, the worst case for an
+     * unbalanced tree), then deletes every other one, checking that the height
+     * stays within 2 lg n and the red-black invariants hold.
+     *
+     * @param n Number of keys
+     */
+    public static void testSortedInput(int n) {
+        System.out.println("=== LongBinarySearchTree: " + n + " sequential keys ===");
+        LongBinarySearchTree<String> tree = new LongBinarySearchTree<>();
+        Stopwatch watch = new Stopwatch();
+        for (long id = 0; id < n; id++) {
+            tree.put(id, "VIN");
+        }
+        long putTime = watch.elapsedTime();
+        int bound = 2 * (32 - Integer.numberOfLeadingZeros(n));
+        System.out.println("put: " + putTime + " ms, height " + tree.height() + " (bound " + bound + ")"
+                + ", valid: " + tree.check());
+        for (long id = 0; id < n; id += 2) {
+            tree.delete(id);
+        }
+        System.out.println("after deleting even keys: size " + tree.size() + ", height " + tree.height()
+                + ", min " + tree.min() + ", select(10) " + tree.select(10) + ", valid: " + tree.check());
+        System.out.println();
+    }
+
+    /**
+     * Compares the heap used by a LongBinarySearchTree and a
+     * BinarySearchTree<Long, String> holding the same random keys.
+     *
+     * @param n Number of keys
+     */
+    public static void testLongBinarySearchTreeMemory(int n) {
+        System.out.println("=== LongBinarySearchTree vs BinarySearchTree<Long, String>: " + n + " keys ===");
+        Runtime runtime = Runtime.getRuntime();
+        String value = "VIN";
+
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+        LongBinarySearchTree<String> primitive = new LongBinarySearchTree<>();
+        Random random = new Random(1);
+        for (int i = 0; i < n; i++) {
+            primitive.put(random.nextLong(), value);
+        }
+        System.gc();
+        long afterPrimitive = runtime.totalMemory() - runtime.freeMemory();
+
+        BinarySearchTree<Long, String> boxed = new BinarySearchTree<>();
+        random = new Random(1);
+        for (int i = 0; i < n; i++) {
+            boxed.put(random.nextLong(), value);
+        }
+        System.gc();
+        long afterBoxed = runtime.totalMemory() - runtime.freeMemory();
+
+        System.out.printf("LongBinarySearchTree: %.1f MB (node arrays %.1f MB), height %d%n",
+                (afterPrimitive - before) / 1e6, primitive.memoryBytes() / 1e6, primitive.height());
+        System.out.printf("BinarySearchTree:     %.1f MB, height %d%n", (afterBoxed - afterPrimitive) / 1e6,
+                boxed.height());
+        long probe = primitive.select(n / 2);
+        System.out.println("select(n/2) agrees: " + (probe == boxed.select(n / 2))
+                + ", rank agrees: " + (primitive.rank(probe) == boxed.rank(probe)));
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Primitive-key Binary Search Trees\nAuthor: Cullen Kelley\nDate: " + java.time.LocalDate.now());
+        testIntBinarySearchTree();
+        testSortedInput(1000000);
+        testLongBinarySearchTreeMemory(1000000);
+    }
+
+}
@@ -0,0 +1,47 @@
+package search.binary;
+
+public class TestRedBlackBinarySearchTree {
+
+    /**
+     * Main method to test the RedBlackBinarySearchTree implementation. Builds
+     * the same tree as TestBinarySearchTree, then inserts sorted keys into
+     * both trees to compare their heights and exercises the ordered
+     * operations.
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        System.out.println("Red-Black Binary Search Tree\nAuthor: Cullen Kelley\nDate: " + java.time.LocalDate.now());
+        String name = "Cullen Kelley";
+        RedBlackBinarySearchTree<String, Integer> rbt = new RedBlackBinarySearchTree<String, Integer>();
+        for (int i = 0; i < name.length(); i++) {
+            rbt.put(name.substring(i, i + 1).toLowerCase(), i);
+        }
+        System.out.println(rbt.toStringHT());
+
+        int n = 1000;
+        BinarySearchTree<Integer, Integer> bst = new BinarySearchTree<Integer, Integer>();
+        RedBlackBinarySearchTree<Integer, Integer> sorted = new RedBlackBinarySearchTree<Integer, Integer>();
+        for (int i = 0; i < n; i++) {
+            bst.put(2 * i, i);
+            sorted.put(2 * i, i);
+        }
+        System.out.println("Insert " + n + " sorted keys 0, 2, 4, ...");
+        System.out.println("BinarySearchTree height: " + bst.height());
+        System.out.println("RedBlackBinarySearchTree height: " + sorted.height());
+        System.out.println("floor(501): " + sorted.floor(501) + ", ceiling(501): " + sorted.ceiling(501));
+        System.out.println("select(250): " + sorted.select(250) + ", rank(500): " + sorted.rank(500));
+        System.out.println("size(100, 199): " + sorted.size(100, 199) + ", keys(100, 110): " + sorted.keys(100, 110));
+
+        sorted.deleteMin();
+        sorted.deleteMax();
+        for (int i = 0; i < n; i += 3) {
+            sorted.delete(2 * i);
+        }
+        System.out.println("After deleteMin, deleteMax and deleting every third key:");
+        System.out.println("size: " + sorted.size() + ", min: " + sorted.min() + ", max: " + sorted.max()
+                + ", height: " + sorted.height());
+        System.out.println("contains(6): " + sorted.contains(6) + ", get(8): " + sorted.get(8));
+    }
+
+}
@@ -0,0 +1,330 @@
+package search.symboltable;
+
+import java.util.Iterator;
+
+/**
+ * An implementation of a symbol table using open addressing with linear
+ * probing: keys and values are stored in two parallel arrays, and a key that
+ * collides goes into the next free slot after its hash position. A lookup
+ * scans from the hash position to the first empty slot.
+ *
+ * The table size is a power of two and is doubled when the fill ratio
+ * (size / slots) would exceed the maximum load factor, and halved when it
+ * drops below an eighth of it. Keeping the table at most half full (the
+ * default) keeps the clusters short, so put, get and delete take constant
+ * expected time without any per-entry node objects. Deletion re-inserts the
+ * rest of the cluster so that no search stops early. Keys must implement
+ * hashCode() consistently with equals().
+ *
+ * @param <Key> The generic type for the keys
+ * @param <Value> The generic type for the values
+ */
+public class LinearProbingHashSymbolTable<Key, Value> implements SymbolTable<Key, Value> {
+
+    /**
+     * Default maximum fill ratio
+     */
+    public static final double DEFAULT_LOAD_FACTOR = 0.5;
+    private static final int MINIMUM_SLOTS = 16;
+
+    /**
+     * The maximum fraction of occupied slots, in (0, 1)
+     */
+    private final double loadFactor;
+    /**
+     * Keys by slot, null for an empty slot; the length is a power of two
+     */
+    private Key[] keys;
+    /**
+     * Values by slot, parallel to keys
+     */
+    private Value[] values;
+    /**
+     * The number of key-value associations in the symbol table
+     */
+    private int numberOfAssociations;
+
+    /**
+     * Constructor that initializes an empty symbol table with the default load
+     * factor.
+     */
+    public LinearProbingHashSymbolTable() {
+        this(MINIMUM_SLOTS / 2, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructor that initializes an empty symbol table.
+     *
+     * @param initialCapacity - The number of keys expected, to avoid resizing
+     * @param loadFactor - The maximum fill ratio, strictly between 0 and 1
+     */
+    public LinearProbingHashSymbolTable(int initialCapacity, double loadFactor) {
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("Load factor must be between 0 and 1: " + loadFactor);
+        }
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity must be non-negative: " + initialCapacity);
+        }
+        this.loadFactor = loadFactor;
+        allocate(slotCountFor(initialCapacity, loadFactor));
+    }
+
+    /**
+     * Returns the smallest power of two of at least MINIMUM_SLOTS slots that
+     * holds capacity keys within the load factor.
+     */
+    private static int slotCountFor(int capacity, double loadFactor) {
+        int count = MINIMUM_SLOTS;
+        while (count < (1 << 30) && count * loadFactor < capacity) {
+            count <<= 1;
+        }
+        return count;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int count) {
+        keys = (Key[]) new Object[count];
+        values = (Value[]) new Object[count];
+    }
+
+    /**
+     * Returns the home slot of a key: the hash code with its high bits folded
+     * into the low bits.
+     */
+    private int slotOf(Key key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (keys.length - 1);
+    }
+
+    /**
+     * Return the size of the symbol table (the number of associations
+     * key-value).
+     *
+     * @return the number of key-value pairs in the symbol table
+     */
+    public int size() {
+        return numberOfAssociations;
+    }
+
+    /**
+     * Check if the symbol table is empty.
+     *
+     * @return true if the symbol table has no association
+     */
+    public boolean isEmpty() {
+        return numberOfAssociations == 0;
+    }
+
+    /**
+     * Returns the number of slots currently allocated.
+     *
+     * @return the slot count
+     */
+    public int slotCount() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the slot holding a key, or the empty slot that ends its probe
+     * sequence.
+     *
+     * @param key - The key searched
+     * @return a slot index; keys[slot] is either key or null
+     */
+    private int probe(Key key) {
+        int mask = keys.length - 1;
+        int slot = slotOf(key);
+        while (keys[slot] != null && !keys[slot].equals(key)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Re-inserts every association into a new pair of arrays.
+     *
+     * @param count - The new number of slots (a power of two)
+     */
+    private void resize(int count) {
+        Key[] oldKeys = keys;
+        Value[] oldValues = values;
+        allocate(count);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = probe(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Put a key-value pair in the symbol table. If the key already exists
+     * replace the current value. If the value is null, removes the pair from
+     * the symbol table.
+     *
+     * @param key - The Key for which the value is added
+     * @param value - The Value added
+     * @throws NullPointerException for a null key
+     */
+    public void put(Key key, Value value) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        if (value == null) {
+            delete(key);
+            return;
+        }
+        int slot = probe(key);
+        if (keys[slot] != null) {
+            values[slot] = value;
+            return;
+        }
+        if (numberOfAssociations + 1 > loadFactor * keys.length && keys.length < (1 << 30)) {
+            resize(2 * keys.length);
+            slot = probe(key);
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        numberOfAssociations++;
+    }
+
+    /**
+     * Get the value associated with the given key.
+     *
+     * @param key - The key to search for
+     * @return the value associated with the key, null if key is not found
+     * @throws NullPointerException for a null key
+     */
+    public Value get(Key key) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        return values[probe(key)];
+    }
+
+    /**
+     * Delete a key-value pair from the symbol table, if present. The keys
+     * after it in the same cluster are re-inserted, since their probe
+     * sequences may have passed through the freed slot.
+     *
+     * @param key - The key to delete
+     * @throws NullPointerException for a null key
+     */
+    public void delete(Key key) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        int slot = probe(key);
+        if (keys[slot] == null) {
+            return;
+        }
+        int mask = keys.length - 1;
+        keys[slot] = null;
+        values[slot] = null;
+        slot = (slot + 1) & mask;
+        while (keys[slot] != null) {
+            Key movedKey = keys[slot];
+            Value movedValue = values[slot];
+            keys[slot] = null;
+            values[slot] = null;
+            int target = probe(movedKey);
+            keys[target] = movedKey;
+            values[target] = movedValue;
+            slot = (slot + 1) & mask;
+        }
+        numberOfAssociations--;
+        if (keys.length > MINIMUM_SLOTS && numberOfAssociations < loadFactor * keys.length / 8) {
+            resize(keys.length / 2);
+        }
+    }
+
+    /**
+     * Check if the symbol table contains the given key.
+     *
+     * @param key - The key to search for
+     * @return true if the key is in the symbol table, false otherwise
+     * @throws NullPointerException for a null key
+     */
+    public boolean contains(Key key) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        return keys[probe(key)] != null;
+    }
+
+    /**
+     * Returns an iterator over the keys in the symbol table, in slot order.
+     *
+     * @return an iterator over the keys
+     */
+    public Iterator<Key> iterator() {
+        return new KeyIterator();
+    }
+
+    /**
+     * Inner class that implements the Iterator interface for keys.
+     */
+    private class KeyIterator implements Iterator<Key> {
+
+        private int slot;
+
+        public KeyIterator() {
+            slot = -1;
+            advance();
+        }
+
+        private void advance() {
+            do {
+                slot++;
+            } while (slot < keys.length && keys[slot] == null);
+        }
+
+        public boolean hasNext() {
+            return slot < keys.length;
+        }
+
+        public Key next() {
+            if (!hasNext()) {
+                throw new java.util.NoSuchElementException();
+            }
+            Key key = keys[slot];
+            advance();
+            return key;
+        }
+    }
+
+    /**
+     * Returns an iterable collection of all keys in the symbol table.
+     *
+     * @return an iterable collection of keys
+     */
+    public Iterable<Key> keys() {
+        return this;
+    }
+
+    /**
+     * Returns a string representation of the symbol table.
+     *
+     * @return a string representation showing all key-value pairs
+     */
+    @Override
+    public String toString() {
+        if (isEmpty()) {
+            return "{}";
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                if (sb.length() > 1) {
+                    sb.append(", ");
+                }
+                sb.append(keys[i]).append("=").append(values[i]);
+            }
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+
+}
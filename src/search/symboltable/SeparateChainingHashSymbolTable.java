@@ -0,0 +1,343 @@
+package search.symboltable;
+
+import java.util.Iterator;
+
+/**
+ * An implementation of a symbol table using a hash table with separate
+ * chaining: an array of buckets, each an unsorted linked list of associations
+ * (as in UnsortedLinkedListSymbolTable) holding the keys that hash to it.
+ *
+ * The number of buckets is a power of two and is doubled when the average
+ * chain length (size / buckets) would exceed the maximum load factor, and
+ * halved when it drops below an eighth of it, so chains stay short and put,
+ * get and delete take constant expected time. Keys must implement hashCode()
+ * consistently with equals().
+ *
+ * @param <Key> The generic type for the keys
+ * @param <Value> The generic type for the values
+ */
+public class SeparateChainingHashSymbolTable<Key, Value> implements SymbolTable<Key, Value> {
+
+    /**
+     * Default maximum average chain length
+     */
+    public static final double DEFAULT_LOAD_FACTOR = 1.0;
+    private static final int MINIMUM_BUCKETS = 16;
+
+    /**
+     * Nested class that represents a key-value pair node in a chain.
+     */
+    private static class Association<K, V> {
+
+        private final K key;
+        private V value;
+        private Association<K, V> nextAssociation;
+
+        public Association(K key, V value, Association<K, V> nextAssociation) {
+            this.key = key;
+            this.value = value;
+            this.nextAssociation = nextAssociation;
+        }
+    }
+
+    /**
+     * The maximum average number of associations per bucket
+     */
+    private final double loadFactor;
+    /**
+     * First association of each chain; the length is a power of two
+     */
+    private Association<Key, Value>[] buckets;
+    /**
+     * The number of key-value associations in the symbol table
+     */
+    private int numberOfAssociations;
+
+    /**
+     * Constructor that initializes an empty symbol table with the default load
+     * factor.
+     */
+    public SeparateChainingHashSymbolTable() {
+        this(MINIMUM_BUCKETS, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructor that initializes an empty symbol table.
+     *
+     * @param initialCapacity - The number of keys expected, to avoid resizing
+     * @param loadFactor - The maximum average chain length, must be positive
+     */
+    public SeparateChainingHashSymbolTable(int initialCapacity, double loadFactor) {
+        if (!(loadFactor > 0)) {
+            throw new IllegalArgumentException("Load factor must be positive: " + loadFactor);
+        }
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity must be non-negative: " + initialCapacity);
+        }
+        this.loadFactor = loadFactor;
+        this.buckets = newBuckets(bucketCountFor(initialCapacity, loadFactor));
+    }
+
+    /**
+     * Returns the smallest power of two of at least MINIMUM_BUCKETS buckets
+     * that holds capacity keys within the load factor.
+     */
+    private static int bucketCountFor(int capacity, double loadFactor) {
+        int count = MINIMUM_BUCKETS;
+        while (count < (1 << 30) && count * loadFactor < capacity) {
+            count <<= 1;
+        }
+        return count;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Association<Key, Value>[] newBuckets(int count) {
+        return (Association<Key, Value>[]) new Association<?, ?>[count];
+    }
+
+    /**
+     * Returns the bucket of a key: the hash code with its high bits folded into
+     * the low bits (the bucket count is a power of two, so only the low bits
+     * are used).
+     */
+    private int bucketOf(Key key, int bucketCount) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (bucketCount - 1);
+    }
+
+    /**
+     * Return the size of the symbol table (the number of associations
+     * key-value).
+     *
+     * @return the number of key-value pairs in the symbol table
+     */
+    public int size() {
+        return numberOfAssociations;
+    }
+
+    /**
+     * Check if the symbol table is empty.
+     *
+     * @return true if the symbol table has no association
+     */
+    public boolean isEmpty() {
+        return numberOfAssociations == 0;
+    }
+
+    /**
+     * Returns the number of buckets currently allocated.
+     *
+     * @return the bucket count
+     */
+    public int bucketCount() {
+        return buckets.length;
+    }
+
+    /**
+     * Returns the association for a provided key by scanning its chain.
+     *
+     * @param key - The key searched
+     * @return association node for the key, if any, null otherwise
+     */
+    private Association<Key, Value> getAssociation(Key key) {
+        Association<Key, Value> node = buckets[bucketOf(key, buckets.length)];
+        while (node != null) {
+            if (node.key.equals(key)) {
+                return node;
+            }
+            node = node.nextAssociation;
+        }
+        return null;
+    }
+
+    /**
+     * Moves every association into a new bucket array.
+     *
+     * @param count - The new number of buckets (a power of two)
+     */
+    private void resize(int count) {
+        Association<Key, Value>[] resized = newBuckets(count);
+        for (Association<Key, Value> head : buckets) {
+            Association<Key, Value> node = head;
+            while (node != null) {
+                Association<Key, Value> next = node.nextAssociation;
+                int b = bucketOf(node.key, count);
+                node.nextAssociation = resized[b];
+                resized[b] = node;
+                node = next;
+            }
+        }
+        buckets = resized;
+    }
+
+    /**
+     * Put a key-value pair in the symbol table. If the key already exists
+     * replace the current value. If the value is null, removes the pair from
+     * the symbol table.
+     *
+     * @param key - The Key for which the value is added
+     * @param value - The Value added
+     * @throws NullPointerException for a null key
+     */
+    public void put(Key key, Value value) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        if (value == null) {
+            delete(key);
+            return;
+        }
+        Association<Key, Value> a = getAssociation(key);
+        if (a != null) {
+            a.value = value;
+            return;
+        }
+        if (numberOfAssociations + 1 > loadFactor * buckets.length && buckets.length < (1 << 30)) {
+            resize(2 * buckets.length);
+        }
+        int b = bucketOf(key, buckets.length);
+        buckets[b] = new Association<>(key, value, buckets[b]);
+        numberOfAssociations++;
+    }
+
+    /**
+     * Get the value associated with the given key.
+     *
+     * @param key - The key to search for
+     * @return the value associated with the key, null if key is not found
+     * @throws NullPointerException for a null key
+     */
+    public Value get(Key key) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        Association<Key, Value> a = getAssociation(key);
+        if (a != null) {
+            return a.value;
+        }
+        return null;
+    }
+
+    /**
+     * Delete a key-value pair from the symbol table, if present.
+     *
+     * @param key - The key to delete
+     * @throws NullPointerException for a null key
+     */
+    public void delete(Key key) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        int b = bucketOf(key, buckets.length);
+        Association<Key, Value> previous = null;
+        Association<Key, Value> current = buckets[b];
+        while (current != null && !current.key.equals(key)) {
+            previous = current;
+            current = current.nextAssociation;
+        }
+        if (current == null) {
+            return;
+        }
+        if (previous == null) {
+            buckets[b] = current.nextAssociation;
+        } else {
+            previous.nextAssociation = current.nextAssociation;
+        }
+        numberOfAssociations--;
+        if (buckets.length > MINIMUM_BUCKETS && numberOfAssociations < loadFactor * buckets.length / 8) {
+            resize(buckets.length / 2);
+        }
+    }
+
+    /**
+     * Check if the symbol table contains the given key.
+     *
+     * @param key - The key to search for
+     * @return true if the key is in the symbol table, false otherwise
+     * @throws NullPointerException for a null key
+     */
+    public boolean contains(Key key) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        return getAssociation(key) != null;
+    }
+
+    /**
+     * Returns an iterator over the keys in the symbol table, bucket by bucket.
+     *
+     * @return an iterator over the keys
+     */
+    public Iterator<Key> iterator() {
+        return new KeyIterator();
+    }
+
+    /**
+     * Inner class that implements the Iterator interface for keys.
+     */
+    private class KeyIterator implements Iterator<Key> {
+
+        private int bucket;
+        private Association<Key, Value> current;
+
+        public KeyIterator() {
+            bucket = -1;
+            advanceBucket();
+        }
+
+        private void advanceBucket() {
+            current = null;
+            while (current == null && ++bucket < buckets.length) {
+                current = buckets[bucket];
+            }
+        }
+
+        public boolean hasNext() {
+            return current != null;
+        }
+
+        public Key next() {
+            if (!hasNext()) {
+                throw new java.util.NoSuchElementException();
+            }
+            Key key = current.key;
+            current = current.nextAssociation;
+            if (current == null) {
+                advanceBucket();
+            }
+            return key;
+        }
+    }
+
+    /**
+     * Returns an iterable collection of all keys in the symbol table.
+     *
+     * @return an iterable collection of keys
+     */
+    public Iterable<Key> keys() {
+        return this;
+    }
+
+    /**
+     * Returns a string representation of the symbol table.
+     *
+     * @return a string representation showing all key-value pairs
+     */
+    @Override
+    public String toString() {
+        if (isEmpty()) {
+            return "{}";
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        for (Key key : this) {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(key).append("=").append(get(key));
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+
+}
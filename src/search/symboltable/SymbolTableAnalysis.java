@@ -0,0 +1,171 @@
+package search.symboltable;
+
+import java.util.Date;
+import java.util.Random;
+
+import ds.alg.analysis.Stopwatch;
+import ds.alg.analysis.TimeAnalysis;
+
+/**
+ * SymbolTableAnalysis compares the unordered symbol tables: the
+ * UnsortedLinkedListSymbolTable (a linear scan per operation, O(n)) with the
+ * SeparateChainingHashSymbolTable and the LinearProbingHashSymbolTable
+ * (constant expected time). Each trial puts N distinct random Integer keys,
+ * then gets each key once and looks up N absent keys. A second table shows
+ * how the load factor of each hash table trades memory for speed.
+ */
+public class SymbolTableAnalysis {
+
+    /**
+     * Symbol table implementations under test.
+     */
+    public enum Implementation {
+        LINKED_LIST("Linked list"),
+        SEPARATE_CHAINING("Chaining"),
+        LINEAR_PROBING("Probing");
+
+        private final String label;
+
+        Implementation(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private static long checksum;   // Keeps the timed lookups from being optimized away
+
+    /**
+     * Generates n distinct keys in random order: the even numbers 0..2n-2,
+     * shuffled (odd numbers are then guaranteed misses).
+     *
+     * @param n Number of keys
+     * @param seed Random seed
+     * @return The keys
+     */
+    public static Integer[] generateKeys(int n, long seed) {
+        Integer[] keys = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = 2 * i;
+        }
+        Random random = new Random(seed);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Integer swap = keys[i];
+            keys[i] = keys[j];
+            keys[j] = swap;
+        }
+        return keys;
+    }
+
+    private static SymbolTable<Integer, Integer> newTable(Implementation implementation, double loadFactor) {
+        switch (implementation) {
+            case SEPARATE_CHAINING:
+                return new SeparateChainingHashSymbolTable<>(0, loadFactor);
+            case LINEAR_PROBING:
+                return new LinearProbingHashSymbolTable<>(0, loadFactor);
+            default:
+                return new UnsortedLinkedListSymbolTable<>();
+        }
+    }
+
+    public static TimeAnalysis meanTime(String name, int numberOfExecutions, int numberOfKeys,
+            Implementation implementation, double loadFactor) {
+        Stopwatch watch = new Stopwatch();
+        TimeAnalysis ta = new TimeAnalysis(name, numberOfExecutions);
+        for (int trial = 0; trial < numberOfExecutions; trial++) {
+            Integer[] keys = generateKeys(numberOfKeys, trial);
+            Integer[] misses = new Integer[numberOfKeys];
+            for (int i = 0; i < numberOfKeys; i++) {
+                misses[i] = keys[i] + 1;
+            }
+            SymbolTable<Integer, Integer> table = newTable(implementation, loadFactor);
+            watch.startWatch();
+            // tested code - start
+            for (Integer key : keys) {
+                table.put(key, key);
+            }
+            for (Integer key : keys) {
+                checksum += table.get(key);
+            }
+            for (Integer key : misses) {
+                if (table.contains(key)) {
+                    checksum++;
+                }
+            }
+            // tested code - end
+            long time = watch.elapsedTime();
+            ta.add(time);
+        }
+        return ta;
+    }
+
+    public static void printMeanExecutionTimeGrowthTable(int numberOfExecutions, int[] sizes,
+            Implementation[] implementations) {
+        System.out.println("Mean execution time growth table (ms)");
+        System.out.println("  - Method: put N random Integer keys, get each once, look up N absent keys");
+        System.out.println("  - Default load factors: chaining " + SeparateChainingHashSymbolTable.DEFAULT_LOAD_FACTOR
+                + ", probing " + LinearProbingHashSymbolTable.DEFAULT_LOAD_FACTOR);
+        System.out.println("  - Sample size for time estimation: " + numberOfExecutions);
+        System.out.println("|-------------|-----------|--------|------|------|------------------|");
+        System.out.println("|       Table |         N |   Mean |  Min |  Max |         CI 99.9% |");
+        System.out.println("|-------------|-----------|--------|------|------|------------------|");
+        for (int n : sizes) {
+            for (Implementation implementation : implementations) {
+                double loadFactor = (implementation == Implementation.LINEAR_PROBING)
+                        ? LinearProbingHashSymbolTable.DEFAULT_LOAD_FACTOR
+                        : SeparateChainingHashSymbolTable.DEFAULT_LOAD_FACTOR;
+                TimeAnalysis ta = meanTime(implementation.getLabel() + " " + n, numberOfExecutions, n,
+                        implementation, loadFactor);
+                printRow(implementation.getLabel(), String.format("%9d", n), ta);
+            }
+        }
+        System.out.println("|-------------|-----------|--------|------|------|------------------|");
+    }
+
+    public static void printLoadFactorTable(int numberOfExecutions, int numberOfKeys) {
+        System.out.println("Mean execution time by load factor (ms)");
+        System.out.println("  - Method: put " + numberOfKeys + " random Integer keys, get each once, look up "
+                + numberOfKeys + " absent keys");
+        System.out.println("  - Sample size for time estimation: " + numberOfExecutions);
+        System.out.println("|-------------|-----------|--------|------|------|------------------|");
+        System.out.println("|       Table |    Load f |   Mean |  Min |  Max |         CI 99.9% |");
+        System.out.println("|-------------|-----------|--------|------|------|------------------|");
+        for (double loadFactor : new double[]{0.5, 1.0, 2.0, 4.0, 8.0}) {
+            TimeAnalysis ta = meanTime("Chaining " + loadFactor, numberOfExecutions, numberOfKeys,
+                    Implementation.SEPARATE_CHAINING, loadFactor);
+            printRow(Implementation.SEPARATE_CHAINING.getLabel(), String.format("%9.2f", loadFactor), ta);
+        }
+        for (double loadFactor : new double[]{0.25, 0.5, 0.75, 0.9}) {
+            TimeAnalysis ta = meanTime("Probing " + loadFactor, numberOfExecutions, numberOfKeys,
+                    Implementation.LINEAR_PROBING, loadFactor);
+            printRow(Implementation.LINEAR_PROBING.getLabel(), String.format("%9.2f", loadFactor), ta);
+        }
+        System.out.println("|-------------|-----------|--------|------|------|------------------|");
+    }
+
+    private static void printRow(String table, String parameter, TimeAnalysis ta) {
+        System.out.printf("| %11s | %s | %6.1f | %4d | %4d | (%6.1f, %6.1f) |\n", table, parameter, ta.getMeanTime(),
+                ta.getMinTime(), ta.getMaxTime(), ta.getMinMean999Confidence(), ta.getMaxMean999Confidence());
+    }
+
+    public static void main(String[] args) {
+        String assignment = "Hash Symbol Tables vs Unsorted Linked List Symbol Table Analysis\n";
+        Date date = new Date();
+        String ran = "Date: " + date.toString();
+        String author = "Author: Cullen Kelley";
+        System.out.println(assignment + ran + "\n" + author + "\n");
+
+        System.out.println("=== RUN 1: All tables (1,000-10,000 keys) ===");
+        printMeanExecutionTimeGrowthTable(10, new int[]{1000, 2500, 5000, 10000}, Implementation.values());
+        System.out.println();
+        System.out.println("=== RUN 2: Hash tables (100,000-1,000,000 keys) ===");
+        printMeanExecutionTimeGrowthTable(10, new int[]{100000, 250000, 500000, 1000000},
+                new Implementation[]{Implementation.SEPARATE_CHAINING, Implementation.LINEAR_PROBING});
+        System.out.println();
+        System.out.println("=== RUN 3: Load factors (1,000,000 keys) ===");
+        printLoadFactorTable(10, 1000000);
+    }
+}
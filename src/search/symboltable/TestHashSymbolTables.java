@@ -0,0 +1,92 @@
+package search.symboltable;
+
+/**
+ * Test class for the SeparateChainingHashSymbolTable and
+ * LinearProbingHashSymbolTable implementations. Both tables run the same
+ * operations as TestUnsortedLinkedListSymbolTable, then grow past several
+ * resizes and shrink back.
+ */
+public class TestHashSymbolTables {
+
+    /**
+     * Helper method to print test operation results in a consistent format.
+     *
+     * @param operationNumber The operation number
+     * @param description Description of the operation
+     * @param symbolTable The symbol table to display
+     * @param additionalInfo Any additional information to display
+     */
+    private static void testReport(int operationNumber, String description,
+            SymbolTable<String, Integer> symbolTable, String additionalInfo) {
+        System.out.println("Operation " + operationNumber + " - " + description + ":");
+        if (additionalInfo != null && !additionalInfo.isEmpty()) {
+            System.out.println(additionalInfo);
+        }
+        System.out.println("Symbol table: " + symbolTable);
+        System.out.println("size(): " + symbolTable.size() + ", isEmpty(): " + symbolTable.isEmpty());
+        System.out.println();
+    }
+
+    /**
+     * Runs the basic operations on a symbol table.
+     *
+     * @param name The implementation name
+     * @param symbolTable An empty symbol table
+     */
+    private static void testOperations(String name, SymbolTable<String, Integer> symbolTable) {
+        System.out.println("=== Testing " + name + " ===\n");
+
+        testReport(1, "Check if empty", symbolTable, null);
+
+        symbolTable.put("apple", 5);
+        symbolTable.put("banana", 3);
+        symbolTable.put("cherry", 8);
+        testReport(2, "Put 'apple' = 5, 'banana' = 3, 'cherry' = 8", symbolTable, null);
+
+        testReport(3, "Get 'banana'", symbolTable, "get('banana'): " + symbolTable.get("banana"));
+
+        testReport(4, "Check if 'apple' exists", symbolTable, "contains('apple'): " + symbolTable.contains("apple"));
+
+        symbolTable.put("apple", 10);
+        testReport(5, "Update 'apple' = 10", symbolTable, null);
+
+        testReport(6, "Get 'orange' (doesn't exist)", symbolTable, "get('orange'): " + symbolTable.get("orange"));
+
+        symbolTable.delete("banana");
+        testReport(7, "Delete 'banana'", symbolTable, null);
+
+        symbolTable.put("cherry", null);
+        testReport(8, "Delete 'cherry' using put(key, null)", symbolTable, null);
+
+        // Operation 9: grow well past the initial capacity, then delete everything
+        int n = 100000;
+        for (int i = 0; i < n; i++) {
+            symbolTable.put("station-" + i, i);
+        }
+        boolean allFound = true;
+        for (int i = 0; i < n; i++) {
+            allFound &= symbolTable.get("station-" + i) == i;
+        }
+        int count = 0;
+        for (String key : symbolTable.keys()) {
+            count++;
+        }
+        for (int i = 0; i < n; i++) {
+            symbolTable.delete("station-" + i);
+        }
+        testReport(9, "Put, get and delete " + n + " keys", symbolTable,
+                "all found: " + allFound + ", keys iterated: " + count);
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Hash Symbol Tables - Testing | Author: Cullen Kelley");
+        System.out.println("Date: " + java.time.LocalDate.now());
+
+        testOperations("SeparateChainingHashSymbolTable", new SeparateChainingHashSymbolTable<>());
+        testOperations("LinearProbingHashSymbolTable", new LinearProbingHashSymbolTable<>());
+        testOperations("LinearProbingHashSymbolTable (load factor 0.9)", new LinearProbingHashSymbolTable<>(0, 0.9));
+
+        System.out.println("\n=== Test Complete ===");
+    }
+
+}